@@ -0,0 +1,55 @@
+package org.openapitools.openapidiff.benchmarks;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import java.util.concurrent.TimeUnit;
+import org.openapitools.openapidiff.benchmarks.SyntheticSpecs.Shape;
+import org.openapitools.openapidiff.core.OpenApiCompare;
+import org.openapitools.openapidiff.core.compare.OpenApiDiffOptions;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * End to end comparison of already parsed specifications, excluding rendering, diffing the paths
+ * sequentially and on the common fork join pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompareBenchmark {
+
+  @Param({"100", "1000", "5000"})
+  public int paths;
+
+  @Param({"false", "true"})
+  public boolean parallel;
+
+  private OpenAPI oldSpec;
+  private OpenAPI newSpec;
+  private OpenApiDiffOptions options;
+
+  @Setup(Level.Trial)
+  public void createSpecs() {
+    oldSpec = SyntheticSpecs.spec(Shape.FLAT, paths / 2, paths, false);
+    newSpec = SyntheticSpecs.spec(Shape.FLAT, paths / 2, paths, true);
+    options = new OpenApiDiffOptions().setParallel(parallel);
+  }
+
+  @Benchmark
+  public ChangedOpenApi fromSpecifications() {
+    return OpenApiCompare.fromSpecifications(oldSpec, newSpec, options);
+  }
+}
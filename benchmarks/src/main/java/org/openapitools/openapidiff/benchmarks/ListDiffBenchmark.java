@@ -0,0 +1,114 @@
+package org.openapitools.openapidiff.benchmarks;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openapitools.openapidiff.core.compare.ListDiff;
+import org.openapitools.openapidiff.core.compare.OpenApiDiff;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.model.schema.ChangedEnum;
+import org.openapitools.openapidiff.core.model.schema.ChangedRequired;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Enum and required list comparison for lists of an increasing number of values, such as country or
+ * currency codes. On the right side a hundredth of the values is removed and as many are added.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListDiffBenchmark {
+
+  @Param({"100", "1000", "5000", "20000"})
+  public int values;
+
+  private List<String> oldValues;
+  private List<String> newValues;
+  private OpenAPI oldSpec;
+  private OpenAPI newSpec;
+
+  @Setup(Level.Trial)
+  public void createLists() {
+    oldValues = values(0);
+    newValues = values(Math.max(1, values / 100));
+    oldSpec = spec(oldValues);
+    newSpec = spec(newValues);
+  }
+
+  @Benchmark
+  public ChangedEnum<String> diffEnum() {
+    return ListDiff.diff(new ChangedEnum<>(oldValues, newValues, null));
+  }
+
+  @Benchmark
+  public ChangedRequired diffRequired() {
+    return ListDiff.diff(new ChangedRequired(oldValues, newValues, null));
+  }
+
+  @Benchmark
+  public ChangedOpenApi compareSpecs() {
+    return OpenApiDiff.compare(oldSpec, newSpec);
+  }
+
+  /** @param offset index of the first value, shifts which values exist on one side only */
+  private List<String> values(int offset) {
+    List<String> list = new ArrayList<>(values);
+    for (int i = offset; i < values + offset; i++) {
+      list.add(String.format("V%06d", i));
+    }
+    return list;
+  }
+
+  /** A response schema with an enum property and the values as required properties. */
+  private static OpenAPI spec(List<String> values) {
+    Schema<Object> schema = new ObjectSchema().required(new ArrayList<>(values));
+    schema.addProperties("code", new StringSchema()._enum(new ArrayList<>(values)));
+    Operation operation =
+        new Operation()
+            .responses(
+                new ApiResponses()
+                    .addApiResponse(
+                        "200",
+                        new ApiResponse()
+                            .description("codes")
+                            .content(
+                                new Content()
+                                    .addMediaType(
+                                        "application/json",
+                                        new MediaType()
+                                            .schema(
+                                                new Schema<>()
+                                                    .$ref("#/components/schemas/Codes"))))));
+    return new OpenAPI()
+        .info(new Info().title("codes").version("1.0"))
+        .paths(new Paths().addPathItem("/codes", new PathItem().get(operation)))
+        .components(new Components().addSchemas("Codes", schema));
+  }
+}
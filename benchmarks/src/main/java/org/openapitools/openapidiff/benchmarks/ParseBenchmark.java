@@ -0,0 +1,48 @@
+package org.openapitools.openapidiff.benchmarks;
+
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.core.util.Yaml;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import java.util.concurrent.TimeUnit;
+import org.openapitools.openapidiff.benchmarks.SyntheticSpecs.Shape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Parsing of a YAML specification with the options used by {@code OpenApiCompare}. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseBenchmark {
+
+  @Param({"100", "1000"})
+  public int paths;
+
+  private final OpenAPIParser parser = new OpenAPIParser();
+  private final ParseOptions options = new ParseOptions();
+  private String content;
+
+  @Setup(Level.Trial)
+  public void writeSpec() throws Exception {
+    options.setResolve(true);
+    content = Yaml.pretty(SyntheticSpecs.spec(Shape.ALL_OF, paths / 2, paths, false));
+  }
+
+  @Benchmark
+  public OpenAPI parse() {
+    return parser.readContents(content, null, options).getOpenAPI();
+  }
+}
@@ -0,0 +1,68 @@
+package org.openapitools.openapidiff.benchmarks;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.info.Info;
+import java.util.concurrent.TimeUnit;
+import org.openapitools.openapidiff.core.compare.OpenApiDiff;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Path matching cost for specifications with an increasing number of paths. Path items have no
+ * operations, so the time is spent pairing left and right urls. Every other path is templated and
+ * renames its parameter on the right side, a tenth of the paths exist on one side only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PathsDiffBenchmark {
+
+  @Param({"100", "1000", "5000", "20000"})
+  public int paths;
+
+  private OpenAPI oldSpec;
+  private OpenAPI newSpec;
+
+  @Setup(Level.Trial)
+  public void createSpecs() {
+    oldSpec = spec("id", 0);
+    newSpec = spec("key", paths / 10);
+  }
+
+  @Benchmark
+  public ChangedOpenApi matchPaths() {
+    return OpenApiDiff.compare(oldSpec, newSpec);
+  }
+
+  /**
+   * @param parameter name of the path parameter
+   * @param offset index of the first path, shifts which paths exist on one side only
+   */
+  private OpenAPI spec(String parameter, int offset) {
+    Paths specPaths = new Paths();
+    for (int i = offset; i < paths + offset; i++) {
+      String url =
+          i % 2 == 0
+              ? "/resources" + i + "/{" + parameter + "}/items"
+              : "/resources" + i + "/items";
+      specPaths.addPathItem(url, new PathItem());
+    }
+    return new OpenAPI().info(new Info().title("paths").version("1.0")).paths(specPaths);
+  }
+}
@@ -0,0 +1,113 @@
+package org.openapitools.openapidiff.benchmarks;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+import org.openapitools.openapidiff.benchmarks.SyntheticSpecs.Shape;
+import org.openapitools.openapidiff.core.compare.OpenApiDiff;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.output.CompactJsonRender;
+import org.openapitools.openapidiff.core.output.ConsoleRender;
+import org.openapitools.openapidiff.core.output.HtmlRender;
+import org.openapitools.openapidiff.core.output.JsonRender;
+import org.openapitools.openapidiff.core.output.MarkdownRender;
+import org.openapitools.openapidiff.core.output.Render;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Rendering of a comparison result by each {@link Render} implementation, into a string and
+ * streamed into a writer. Run with {@code -prof gc} to compare their allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RenderBenchmark {
+
+  @Param({"console", "markdown", "html", "json", "json-compact"})
+  public String format;
+
+  @Param({"100", "1000"})
+  public int paths;
+
+  private ChangedOpenApi diff;
+  private Render render;
+
+  @Setup(Level.Trial)
+  public void createDiff() {
+    diff =
+        OpenApiDiff.compare(
+            SyntheticSpecs.spec(Shape.FLAT, paths / 2, paths, false),
+            SyntheticSpecs.spec(Shape.FLAT, paths / 2, paths, true));
+    switch (format) {
+      case "console":
+        render = new ConsoleRender();
+        break;
+      case "markdown":
+        render = new MarkdownRender();
+        break;
+      case "html":
+        render = new HtmlRender();
+        break;
+      case "json":
+        render = new JsonRender();
+        break;
+      case "json-compact":
+        render = new CompactJsonRender();
+        break;
+      default:
+        throw new IllegalArgumentException("unknown format " + format);
+    }
+  }
+
+  @Benchmark
+  public String render() {
+    return render.render(diff);
+  }
+
+  @Benchmark
+  public void renderToWriter(Blackhole blackhole) throws IOException {
+    render.render(diff, new BlackholeWriter(blackhole));
+  }
+
+  /** Consumes the written characters without keeping them. */
+  private static final class BlackholeWriter extends Writer {
+    private final Blackhole blackhole;
+
+    BlackholeWriter(Blackhole blackhole) {
+      this.blackhole = blackhole;
+    }
+
+    @Override
+    public void write(char[] buffer, int offset, int length) {
+      blackhole.consume(buffer);
+      blackhole.consume(length);
+    }
+
+    @Override
+    public void write(String str, int offset, int length) {
+      blackhole.consume(str);
+      blackhole.consume(length);
+    }
+
+    @Override
+    public void flush() {}
+
+    @Override
+    public void close() {}
+  }
+}
@@ -0,0 +1,51 @@
+package org.openapitools.openapidiff.benchmarks;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import java.util.concurrent.TimeUnit;
+import org.openapitools.openapidiff.benchmarks.SyntheticSpecs.Shape;
+import org.openapitools.openapidiff.core.compare.OpenApiDiff;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Schema diffing for recursive, allOf-heavy and oneOf-heavy models. Each path references one group
+ * of ten schemas, so the time is dominated by the schemas rather than the paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SchemaDiffBenchmark {
+  @Param({"RECURSIVE", "ALL_OF", "ONE_OF"})
+  public String shape;
+
+  @Param({"100", "1000"})
+  public int schemas;
+
+  private OpenAPI oldSpec;
+  private OpenAPI newSpec;
+
+  @Setup(Level.Trial)
+  public void createSpecs() {
+    oldSpec = SyntheticSpecs.spec(Shape.valueOf(shape), schemas, schemas / 10, false);
+    newSpec = SyntheticSpecs.spec(Shape.valueOf(shape), schemas, schemas / 10, true);
+  }
+
+  @Benchmark
+  public ChangedOpenApi diffSchemas() {
+    return OpenApiDiff.compare(oldSpec, newSpec);
+  }
+}
@@ -0,0 +1,87 @@
+package org.openapitools.openapidiff.benchmarks;
+
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openapitools.openapidiff.core.compare.OpenApiDiff;
+import org.openapitools.openapidiff.core.compare.SchemaDiffResultFactories;
+import org.openapitools.openapidiff.core.compare.schemadiffresult.ArraySchemaDiffResult;
+import org.openapitools.openapidiff.core.compare.schemadiffresult.ComposedSchemaDiffResult;
+import org.openapitools.openapidiff.core.compare.schemadiffresult.SchemaDiffResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Creation of the {@link SchemaDiffResult} comparing one schema pair, done for every schema pair
+ * compared. {@code factory} is the registered factory lookup, {@code reflection} the reflective
+ * constructor call it replaced. {@code StringSchema} has no result of its own and falls back to the
+ * one of {@code Schema}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SchemaDiffResultBenchmark {
+  private static final Map<Class<? extends Schema>, Class<? extends SchemaDiffResult>> classMap =
+      new LinkedHashMap<>();
+
+  static {
+    classMap.put(Schema.class, SchemaDiffResult.class);
+    classMap.put(ArraySchema.class, ArraySchemaDiffResult.class);
+    classMap.put(ComposedSchema.class, ComposedSchemaDiffResult.class);
+  }
+
+  @Param({"Schema", "ArraySchema", "ComposedSchema", "StringSchema"})
+  public String schemaType;
+
+  private Class<? extends Schema> type;
+  private SchemaDiffResultFactories factories;
+
+  @Setup(Level.Trial)
+  public void resolveType() {
+    switch (schemaType) {
+      case "ArraySchema":
+        type = ArraySchema.class;
+        break;
+      case "ComposedSchema":
+        type = ComposedSchema.class;
+        break;
+      case "StringSchema":
+        type = StringSchema.class;
+        break;
+      default:
+        type = Schema.class;
+    }
+    factories = SchemaDiffResultFactories.shared();
+  }
+
+  @Benchmark
+  public SchemaDiffResult factory() {
+    return factories.create(type, null);
+  }
+
+  @Benchmark
+  public SchemaDiffResult reflection() throws ReflectiveOperationException {
+    Class<? extends SchemaDiffResult> resultClass = classMap.get(type);
+    if (resultClass == null) {
+      resultClass = classMap.get(Schema.class);
+    }
+    return resultClass.getConstructor(OpenApiDiff.class).newInstance((OpenApiDiff) null);
+  }
+}
@@ -0,0 +1,112 @@
+package org.openapitools.openapidiff.benchmarks;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import io.swagger.v3.oas.models.security.OAuthFlow;
+import io.swagger.v3.oas.models.security.OAuthFlows;
+import io.swagger.v3.oas.models.security.Scopes;
+import io.swagger.v3.oas.models.security.SecurityRequirement;
+import io.swagger.v3.oas.models.security.SecurityScheme;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openapitools.openapidiff.core.compare.OpenApiDiff;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Security requirement matching for specifications with an increasing number of operations. Three
+ * global requirements apply to most operations, every tenth operation declares its own, and on the
+ * right side these also require one more scope.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityDiffBenchmark {
+
+  @Param({"100", "1000", "5000"})
+  public int operations;
+
+  private OpenAPI oldSpec;
+  private OpenAPI newSpec;
+
+  @Setup(Level.Trial)
+  public void createSpecs() {
+    // the first comparison moves the global requirements onto the operations, which compares the
+    // same as before
+    oldSpec = spec(false);
+    newSpec = spec(true);
+  }
+
+  @Benchmark
+  public ChangedOpenApi diffSecurity() {
+    return OpenApiDiff.compare(oldSpec, newSpec);
+  }
+
+  private OpenAPI spec(boolean extraScope) {
+    Paths paths = new Paths();
+    for (int i = 0; i < operations; i++) {
+      Operation operation =
+          new Operation()
+              .responses(
+                  new ApiResponses().addApiResponse("200", new ApiResponse().description("ok")));
+      if (i % 10 == 0) {
+        SecurityRequirement own =
+            new SecurityRequirement()
+                .addList(
+                    "oauth", extraScope ? Arrays.asList("read", "write") : Arrays.asList("read"));
+        operation.addSecurityItem(own).addSecurityItem(new SecurityRequirement().addList("key"));
+      }
+      paths.addPathItem("/resources" + i, new PathItem().get(operation));
+    }
+    Components components =
+        new Components()
+            .addSecuritySchemes(
+                "oauth",
+                new SecurityScheme()
+                    .type(SecurityScheme.Type.OAUTH2)
+                    .flows(
+                        new OAuthFlows()
+                            .clientCredentials(
+                                new OAuthFlow()
+                                    .tokenUrl("https://example.com/token")
+                                    .scopes(
+                                        new Scopes()
+                                            .addString("read", "read")
+                                            .addString("write", "write")))))
+            .addSecuritySchemes(
+                "key",
+                new SecurityScheme()
+                    .type(SecurityScheme.Type.APIKEY)
+                    .in(SecurityScheme.In.HEADER)
+                    .name("X-Key"))
+            .addSecuritySchemes(
+                "basic", new SecurityScheme().type(SecurityScheme.Type.HTTP).scheme("basic"));
+    return new OpenAPI()
+        .info(new Info().title("security").version("1.0"))
+        .paths(paths)
+        .components(components)
+        .addSecurityItem(new SecurityRequirement().addList("oauth", "read"))
+        .addSecurityItem(new SecurityRequirement().addList("key"))
+        .addSecurityItem(new SecurityRequirement().addList("basic"));
+  }
+}
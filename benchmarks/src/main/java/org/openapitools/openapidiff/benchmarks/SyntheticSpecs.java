@@ -0,0 +1,55 @@
+package org.openapitools.openapidiff.benchmarks;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.openapitools.openapidiff.core.SpecGenerator;
+
+/**
+ * Builds old and new specifications of a given shape and size. Half of the schemas of the new
+ * specification are changed, so both identical and changed schemas are diffed.
+ */
+final class SyntheticSpecs {
+  private static final int CHAIN_LENGTH = 10;
+
+  enum Shape {
+    /** Independent object schemas. */
+    FLAT,
+    /** Rings of ten schemas, each referencing the next one and itself. */
+    RECURSIVE,
+    /** allOf inheritance chains of ten schemas. */
+    ALL_OF,
+    /** oneOf schemas with a discriminator over the nine schemas following them. */
+    ONE_OF
+  }
+
+  private SyntheticSpecs() {}
+
+  /**
+   * @param shape the shape of the component schemas
+   * @param schemaCount number of component schemas
+   * @param pathCount number of paths, each with a GET and a POST referencing one schema, or one
+   *     group of schemas for the composed and recursive shapes
+   * @param changed whether to build the new specification
+   */
+  static OpenAPI spec(Shape shape, int schemaCount, int pathCount, boolean changed) {
+    SpecGenerator generator =
+        new SpecGenerator()
+            .setSchemas(schemaCount)
+            .setPaths(pathCount)
+            .setOperationsPerPath(2)
+            .setMutationRate(0.5);
+    switch (shape) {
+      case RECURSIVE:
+        generator.setRecursive(true);
+        break;
+      case ALL_OF:
+        generator.setAllOfDepth(CHAIN_LENGTH);
+        break;
+      case ONE_OF:
+        generator.setOneOfFanOut(CHAIN_LENGTH - 1);
+        break;
+      default:
+        break;
+    }
+    return changed ? generator.newSpec() : generator.oldSpec();
+  }
+}
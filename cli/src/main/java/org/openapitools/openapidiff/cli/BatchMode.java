@@ -0,0 +1,229 @@
+package org.openapitools.openapidiff.cli;
+
+import io.swagger.v3.parser.core.models.AuthorizationValue;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.ParseException;
+import org.openapitools.openapidiff.core.BatchCompare;
+import org.openapitools.openapidiff.core.compare.OpenApiDiffOptions;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.output.CompactJsonRender;
+import org.openapitools.openapidiff.core.output.ConsoleRender;
+import org.openapitools.openapidiff.core.output.HtmlRender;
+import org.openapitools.openapidiff.core.output.JsonRender;
+import org.openapitools.openapidiff.core.output.MarkdownRender;
+import org.openapitools.openapidiff.core.output.Render;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares every pair of a {@code --batch} directory or manifest in one JVM.
+ *
+ * <p>A directory holds an {@code old} and a {@code new} directory, and specs of the same file name
+ * in both are paired. A manifest lists one pair per line as {@code <name> <old> <new>}; relative
+ * paths are resolved against the manifest's directory, blank lines and lines starting with {@code
+ * #} are ignored. In batch mode the report options name directories, which get one report per pair.
+ */
+class BatchMode {
+  private static final Logger logger = LoggerFactory.getLogger(BatchMode.class);
+  private static final String[] EXTENSIONS = {".yaml", ".yml", ".json"};
+
+  private final CommandLine line;
+  private final Map<String, Render> renders = new LinkedHashMap<>();
+  private final Map<String, String> extensions = new LinkedHashMap<>();
+
+  BatchMode(CommandLine line) {
+    this.line = line;
+    addRender("html", new HtmlRender(), ".html");
+    addRender("markdown", new MarkdownRender(), ".md");
+    addRender("text", new ConsoleRender(), ".txt");
+    addRender("json", new JsonRender(), ".json");
+    addRender("json-compact", new CompactJsonRender(), ".compact.json");
+  }
+
+  private void addRender(String option, Render render, String extension) {
+    renders.put(option, render);
+    extensions.put(option, extension);
+  }
+
+  /** @return the exit code */
+  int run(List<AuthorizationValue> auths, OpenApiDiffOptions diffOptions, PrintStream out)
+      throws ParseException, IOException {
+    List<BatchCompare.Pair> pairs = pairs(Paths.get(line.getOptionValue("batch")));
+    BatchCompare batch =
+        new BatchCompare()
+            .setOptions(diffOptions)
+            .setAuths(auths)
+            .setThreads(Main.parseThreads(line));
+
+    List<String> writeFailures = new ArrayList<>();
+    List<BatchCompare.Result> results =
+        batch.compare(
+            pairs,
+            result -> {
+              if (!result.isFailed() && !write(result)) {
+                writeFailures.add(result.getPair().getName());
+              }
+            });
+
+    int failed = 0;
+    int incompatible = 0;
+    int changed = 0;
+    out.printf("%-40s %-14s %10s%n", "Pair", "State", "Time");
+    for (BatchCompare.Result result : results) {
+      String state;
+      if (result.isFailed()) {
+        failed++;
+        state = "failed";
+      } else {
+        ChangedOpenApi changedOpenApi = result.getChangedOpenApi();
+        incompatible += changedOpenApi.isIncompatible() ? 1 : 0;
+        changed += changedOpenApi.isUnchanged() ? 0 : 1;
+        state = changedOpenApi.isChanged().getValue();
+      }
+      out.printf(
+          "%-40s %-14s %7d ms%n",
+          result.getPair().getName(),
+          state,
+          TimeUnit.NANOSECONDS.toMillis(result.getDurationNanos()));
+      if (result.isFailed()) {
+        out.println("  " + result.getFailure());
+      }
+    }
+    out.printf(
+        "%d pairs: %d changed, %d incompatible, %d failed%n",
+        results.size(), changed, incompatible, failed);
+    for (String name : writeFailures) {
+      out.println("Cannot write the reports of " + name);
+    }
+
+    if (failed > 0 || !writeFailures.isEmpty()) {
+      return 2;
+    } else if (line.hasOption("fail-on-incompatible")) {
+      return incompatible > 0 ? 1 : 0;
+    } else if (line.hasOption("fail-on-changed")) {
+      return changed > 0 ? 1 : 0;
+    }
+    return 0;
+  }
+
+  private boolean write(BatchCompare.Result result) {
+    for (Map.Entry<String, Render> render : renders.entrySet()) {
+      if (!line.hasOption(render.getKey())) {
+        continue;
+      }
+      Path file =
+          Paths.get(line.getOptionValue(render.getKey()))
+              .resolve(result.getPair().getName() + extensions.get(render.getKey()))
+              .toAbsolutePath();
+      try {
+        Files.createDirectories(file.getParent());
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+          render.getValue().render(result.getChangedOpenApi(), writer);
+        }
+      } catch (IOException e) {
+        logger.error("Impossible to write output to file {}", file, e);
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static List<BatchCompare.Pair> pairs(Path batch) throws ParseException, IOException {
+    if (Files.isDirectory(batch)) {
+      return directoryPairs(batch);
+    } else if (Files.isRegularFile(batch)) {
+      return manifestPairs(batch);
+    }
+    throw new ParseException("Batch is neither a directory nor a manifest: " + batch);
+  }
+
+  private static List<BatchCompare.Pair> directoryPairs(Path batch)
+      throws ParseException, IOException {
+    Path oldDirectory = batch.resolve("old");
+    Path newDirectory = batch.resolve("new");
+    if (!Files.isDirectory(oldDirectory) || !Files.isDirectory(newDirectory)) {
+      throw new ParseException("Batch directory must contain an old and a new directory: " + batch);
+    }
+    Map<String, Path> oldSpecs = specs(oldDirectory);
+    Map<String, Path> newSpecs = specs(newDirectory);
+    List<BatchCompare.Pair> pairs = new ArrayList<>();
+    for (Map.Entry<String, Path> oldSpec : oldSpecs.entrySet()) {
+      Path newSpec = newSpecs.get(oldSpec.getKey());
+      if (newSpec == null) {
+        logger.warn("No new spec for {}", oldSpec.getValue());
+        continue;
+      }
+      pairs.add(
+          new BatchCompare.Pair(
+              name(oldSpec.getKey()), oldSpec.getValue().toString(), newSpec.toString()));
+    }
+    newSpecs.keySet().stream()
+        .filter(name -> !oldSpecs.containsKey(name))
+        .forEach(name -> logger.warn("No old spec for {}", newSpecs.get(name)));
+    return pairs;
+  }
+
+  private static Map<String, Path> specs(Path directory) throws IOException {
+    Map<String, Path> specs = new TreeMap<>();
+    try (Stream<Path> files = Files.list(directory)) {
+      files
+          .filter(Files::isRegularFile)
+          .filter(file -> name(file.getFileName().toString()) != null)
+          .forEach(file -> specs.put(file.getFileName().toString(), file));
+    }
+    return specs;
+  }
+
+  /** @return the file name without its spec extension, or null if it is not a spec */
+  private static String name(String fileName) {
+    for (String extension : EXTENSIONS) {
+      if (fileName.toLowerCase().endsWith(extension)) {
+        return fileName.substring(0, fileName.length() - extension.length());
+      }
+    }
+    return null;
+  }
+
+  private static List<BatchCompare.Pair> manifestPairs(Path manifest)
+      throws ParseException, IOException {
+    Path base = manifest.toAbsolutePath().getParent();
+    List<BatchCompare.Pair> pairs = new ArrayList<>();
+    int number = 0;
+    for (String entry : Files.readAllLines(manifest, StandardCharsets.UTF_8)) {
+      number++;
+      entry = entry.trim();
+      if (entry.isEmpty() || entry.startsWith("#")) {
+        continue;
+      }
+      String[] fields = entry.split("\\s+");
+      if (fields.length != 3) {
+        throw new ParseException(
+            String.format("Expected <name> <old> <new> at %s:%d", manifest, number));
+      }
+      pairs.add(
+          new BatchCompare.Pair(fields[0], location(base, fields[1]), location(base, fields[2])));
+    }
+    return pairs;
+  }
+
+  private static String location(Path base, String location) {
+    if (location.contains("://")) {
+      return location;
+    }
+    return base.resolve(location).toString();
+  }
+}
@@ -0,0 +1,270 @@
+package org.openapitools.openapidiff.cli;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openapitools.openapidiff.core.OpenApiCompare;
+import org.openapitools.openapidiff.core.SpecCache;
+import org.openapitools.openapidiff.core.compare.OpenApiDiffOptions;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.output.CompactJsonRender;
+import org.openapitools.openapidiff.core.output.ConsoleRender;
+import org.openapitools.openapidiff.core.output.HtmlRender;
+import org.openapitools.openapidiff.core.output.JsonRender;
+import org.openapitools.openapidiff.core.output.MarkdownRender;
+import org.openapitools.openapidiff.core.output.Render;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Local HTTP server for the {@code --serve} option, which compares specs without starting a JVM for
+ * every comparison.
+ *
+ * <p>{@code POST /diff?format=<format>} takes a JSON object with the {@code old} and {@code new}
+ * spec contents and responds with the report in the given format: {@code text} (default), {@code
+ * markdown}, {@code html}, {@code json}, {@code json-compact} or {@code state}. The state of the
+ * comparison is also sent in the {@code X-OpenAPI-Diff-State} header. {@code GET /health} responds
+ * with {@code ok}.
+ *
+ * <p>Parsed specs are cached by content. At most the given number of comparisons run at the same
+ * time and as many requests wait for their turn; any other request, or one waiting longer than
+ * {@value #QUEUE_TIMEOUT_SECONDS} seconds, gets a 503 response. A spec which cannot be parsed gets
+ * a 422 response.
+ */
+class DiffServer {
+  private static final Logger logger = LoggerFactory.getLogger(DiffServer.class);
+  private static final int MAX_BODY_BYTES = 32 * 1024 * 1024;
+  private static final int QUEUE_TIMEOUT_SECONDS = 30;
+  private static final String WARM_UP_SPEC =
+      "{\"openapi\":\"3.0.1\",\"info\":{\"title\":\"warm up\",\"version\":\"1\"},\"paths\":{}}";
+  private static final Map<String, Format> FORMATS = new HashMap<>();
+
+  static {
+    FORMATS.put("text", new Format("text/plain", ConsoleRender::new));
+    FORMATS.put("markdown", new Format("text/markdown", MarkdownRender::new));
+    FORMATS.put("html", new Format("text/html", HtmlRender::new));
+    FORMATS.put("json", new Format("application/json", JsonRender::new));
+    FORMATS.put("json-compact", new Format("application/json", CompactJsonRender::new));
+    FORMATS.put("state", new Format("text/plain", null));
+  }
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final OpenApiDiffOptions diffOptions;
+  private final Semaphore comparisons;
+  private final Semaphore pending;
+  private HttpServer server;
+  private ExecutorService executor;
+
+  DiffServer(OpenApiDiffOptions diffOptions, int threads) {
+    this.diffOptions = diffOptions.copy();
+    this.comparisons = new Semaphore(threads, true);
+    this.pending = new Semaphore(threads * 2);
+    if (this.diffOptions.getSpecCache() == null) {
+      this.diffOptions.setSpecCache(new SpecCache().setMaxEntries(64));
+    }
+  }
+
+  /**
+   * Warms up the comparison pipeline and starts listening on the loopback address.
+   *
+   * @param port port to listen on, 0 for any free port
+   * @return the port listened on
+   */
+  int start(int port) throws IOException {
+    OpenApiCompare.fromContents(
+        WARM_UP_SPEC,
+        WARM_UP_SPEC,
+        null,
+        diffOptions.copy().setSpecCache(null).setMetricsListener(null));
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+    // every request gets a handler thread, so the requests over the limit are refused at once
+    executor = Executors.newCachedThreadPool();
+    server.setExecutor(executor);
+    server.createContext("/diff", this::diff);
+    server.createContext("/health", exchange -> respond(exchange, 200, "text/plain", "ok"));
+    server.start();
+    logger.info("Listening on {}", server.getAddress());
+    return server.getAddress().getPort();
+  }
+
+  void stop() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+
+  private void diff(HttpExchange exchange) throws IOException {
+    if (!pending.tryAcquire()) {
+      try {
+        respond(exchange, 503, "text/plain", "Too many comparisons in progress");
+      } finally {
+        exchange.close();
+      }
+      return;
+    }
+    try {
+      if (!"POST".equals(exchange.getRequestMethod())) {
+        respond(exchange, 405, "text/plain", "Only POST is supported");
+        return;
+      }
+      String formatName = queryParameters(exchange).getOrDefault("format", "text");
+      Format format = FORMATS.get(formatName);
+      if (format == null) {
+        respond(exchange, 400, "text/plain", "Unknown format " + formatName);
+        return;
+      }
+      byte[] body = readBody(exchange.getRequestBody());
+      if (body == null) {
+        respond(exchange, 413, "text/plain", "Request body exceeds " + MAX_BODY_BYTES + " bytes");
+        return;
+      }
+      JsonNode request;
+      try {
+        request = objectMapper.readTree(body);
+      } catch (IOException e) {
+        respond(exchange, 400, "text/plain", "Request body is not JSON: " + e.getMessage());
+        return;
+      }
+      if (request == null || !request.path("old").isTextual() || !request.path("new").isTextual()) {
+        respond(exchange, 400, "text/plain", "Expected a JSON object with old and new specs");
+        return;
+      }
+
+      if (!comparisons.tryAcquire(QUEUE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        respond(exchange, 503, "text/plain", "Too many comparisons in progress");
+        return;
+      }
+      ChangedOpenApi result;
+      try {
+        OpenAPI oldSpec = parse(request.get("old").asText());
+        OpenAPI newSpec = parse(request.get("new").asText());
+        if (oldSpec == null || newSpec == null) {
+          respond(
+              exchange,
+              422,
+              "text/plain",
+              String.format("Cannot read %s OpenAPI spec", oldSpec == null ? "old" : "new"));
+          return;
+        }
+        result = OpenApiCompare.fromSpecifications(oldSpec, newSpec, diffOptions);
+      } finally {
+        comparisons.release();
+      }
+
+      String state = result.isChanged().getValue();
+      exchange.getResponseHeaders().set("X-OpenAPI-Diff-State", state);
+      if (format.render == null) {
+        respond(exchange, 200, format.contentType, state);
+        return;
+      }
+      // rendered before the headers are sent, so a failing render still gets a 500 response
+      ByteArrayOutputStream report = new ByteArrayOutputStream();
+      try (Writer writer = new OutputStreamWriter(report, StandardCharsets.UTF_8)) {
+        format.render.get().render(result, writer);
+      }
+      respond(exchange, 200, format.contentType, report.toByteArray());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      respond(exchange, 503, "text/plain", "Server is stopping");
+    } catch (RuntimeException e) {
+      logger.error("Cannot compare specs", e);
+      respond(exchange, 500, "text/plain", String.valueOf(e.getMessage()));
+    } finally {
+      pending.release();
+      exchange.close();
+    }
+  }
+
+  /** @return the parsed spec, or null if the content is not a spec */
+  private OpenAPI parse(String content) {
+    ParseOptions parseOptions = new ParseOptions();
+    parseOptions.setResolve(true);
+    try {
+      return diffOptions.getSpecCache().readContent(content, null, parseOptions);
+    } catch (RuntimeException e) {
+      logger.debug("Cannot parse spec", e);
+      return null;
+    }
+  }
+
+  private static Map<String, String> queryParameters(HttpExchange exchange) {
+    Map<String, String> parameters = new HashMap<>();
+    String query = exchange.getRequestURI().getRawQuery();
+    if (query == null) {
+      return parameters;
+    }
+    for (String parameter : query.split("&")) {
+      int separator = parameter.indexOf('=');
+      if (separator > 0) {
+        parameters.put(
+            decode(parameter.substring(0, separator)), decode(parameter.substring(separator + 1)));
+      }
+    }
+    return parameters;
+  }
+
+  private static String decode(String value) {
+    try {
+      return URLDecoder.decode(value, StandardCharsets.UTF_8.name());
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /** @return the body, or null if it is too large */
+  private static byte[] readBody(InputStream in) throws IOException {
+    ByteArrayOutputStream body = new ByteArrayOutputStream();
+    byte[] buffer = new byte[8192];
+    int read;
+    while ((read = in.read(buffer)) != -1) {
+      if (body.size() + read > MAX_BODY_BYTES) {
+        return null;
+      }
+      body.write(buffer, 0, read);
+    }
+    return body.toByteArray();
+  }
+
+  private static void respond(HttpExchange exchange, int status, String contentType, String body)
+      throws IOException {
+    respond(exchange, status, contentType, body.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static void respond(HttpExchange exchange, int status, String contentType, byte[] bytes)
+      throws IOException {
+    exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+    exchange.sendResponseHeaders(status, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+
+  private static final class Format {
+    private final String contentType;
+    private final Supplier<Render> render;
+
+    Format(String contentType, Supplier<Render> render) {
+      this.contentType = contentType;
+      this.render = render;
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package org.openapitools.openapidiff.cli;
+
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openapitools.openapidiff.core.metrics.DiffMetrics;
+import org.openapitools.openapidiff.core.metrics.DiffMetricsListener;
+import org.openapitools.openapidiff.core.metrics.DiffPhase;
+
+/** Collects the metrics of a comparison for the {@code --stats} option. */
+class DiffStatistics implements DiffMetricsListener {
+  private final Map<DiffPhase, Long> phaseNanos = new EnumMap<>(DiffPhase.class);
+  private DiffMetrics metrics;
+
+  @Override
+  public synchronized void phaseCompleted(DiffPhase phase, long nanos) {
+    phaseNanos.merge(phase, nanos, Long::sum);
+  }
+
+  @Override
+  public synchronized void comparisonCompleted(DiffMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  synchronized void print(PrintStream out) {
+    out.println("Phase timings:");
+    for (Map.Entry<DiffPhase, Long> entry : phaseNanos.entrySet()) {
+      out.printf(
+          "  %-18s %8d ms%n",
+          entry.getKey().name().toLowerCase().replace('_', ' '),
+          TimeUnit.NANOSECONDS.toMillis(entry.getValue()));
+    }
+    if (metrics == null) {
+      return;
+    }
+    out.println("Counters:");
+    out.printf("  %-30s %8d%n", "schema cache hits", metrics.getSchemaCacheHits());
+    out.printf("  %-30s %8d%n", "schema cache misses", metrics.getSchemaCacheMisses());
+    out.printf("  %-30s %8d%n", "deferred values created", metrics.getDeferredCreated());
+    out.printf("  %-30s %8d%n", "deferred values resolved", metrics.getDeferredResolved());
+    out.printf("  %-30s %8d%n", "schema diff results", metrics.getSchemaDiffResults());
+    out.printf("  %-30s %8d%n", "schema diffs", metrics.getSchemaDiffs());
+    out.printf(
+        "  %-30s %8d%n", "identical schema diffs skipped", metrics.getIdenticalSchemaDiffs());
+    out.printf("  %-30s %8d%n", "path items reused", metrics.getReusedPathItems());
+  }
+}
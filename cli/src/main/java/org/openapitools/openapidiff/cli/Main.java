@@ -2,9 +2,15 @@ package org.openapitools.openapidiff.cli;
 
 import ch.qos.logback.classic.Level;
 import io.swagger.v3.parser.core.models.AuthorizationValue;
-import java.io.File;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import org.apache.commons.cli.CommandLine;
@@ -14,20 +20,27 @@ import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.openapitools.openapidiff.core.OpenApiCompare;
+import org.openapitools.openapidiff.core.SpecCache;
+import org.openapitools.openapidiff.core.compare.OpenApiDiffOptions;
+import org.openapitools.openapidiff.core.metrics.DiffPhase;
 import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.model.DiffResult;
+import org.openapitools.openapidiff.core.output.CompactJsonRender;
 import org.openapitools.openapidiff.core.output.ConsoleRender;
 import org.openapitools.openapidiff.core.output.HtmlRender;
 import org.openapitools.openapidiff.core.output.JsonRender;
 import org.openapitools.openapidiff.core.output.MarkdownRender;
+import org.openapitools.openapidiff.core.output.Render;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class Main {
 
   static final Logger logger = LoggerFactory.getLogger(Main.class);
+  static final List<String> REPORT_OPTIONS =
+      Arrays.asList("html", "markdown", "text", "json", "json-compact");
 
   public static void main(String... args) {
     Options options = new Options();
@@ -110,6 +123,66 @@ public class Main {
             .argName("file")
             .desc("export diff as json in given file")
             .build());
+    options.addOption(
+        Option.builder()
+            .longOpt("json-compact")
+            .hasArg()
+            .argName("file")
+            .desc("export only the change records of the diff as json in given file")
+            .build());
+    options.addOption(
+        Option.builder()
+            .longOpt("batch")
+            .hasArg()
+            .argName("dir|manifest")
+            .desc(
+                "compare every pair of the old and new directories in given directory, or of "
+                    + "the <name> <old> <new> lines of given manifest; report options then name "
+                    + "directories")
+            .build());
+    options.addOption(
+        Option.builder()
+            .longOpt("serve")
+            .hasArg()
+            .argName("port")
+            .desc(
+                "serve comparisons of the old and new specs posted as JSON to "
+                    + "http://localhost:<port>/diff?format=<text|markdown|html|json|json-compact|"
+                    + "state>")
+            .build());
+    options.addOption(
+        Option.builder()
+            .longOpt("watch")
+            .desc(
+                "compare the specs again whenever they or the other spec files of their "
+                    + "directories change, until stopped")
+            .build());
+    options.addOption(
+        Option.builder()
+            .longOpt("threads")
+            .hasArg()
+            .argName("count")
+            .desc(
+                "number of pairs compared concurrently in batch mode or by the server. Default: "
+                    + "processors")
+            .build());
+    options.addOption(
+        Option.builder()
+            .longOpt("parallel-parse")
+            .desc("parse the old and new specs concurrently")
+            .build());
+    options.addOption(
+        Option.builder()
+            .longOpt("spec-cache")
+            .hasArg()
+            .argName("directory")
+            .desc("keep parsed specs in given directory and reuse them while unchanged")
+            .build());
+    options.addOption(
+        Option.builder()
+            .longOpt("stats")
+            .desc("print phase timings and counters of the comparison to stderr")
+            .build());
 
     // create the parser
     CommandLineParser parser = new DefaultParser();
@@ -160,45 +233,69 @@ public class Main {
           (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
       root.setLevel(Level.toLevel(logLevel));
 
+      List<AuthorizationValue> auths = null;
+      if (line.hasOption("header")) {
+        String[] headers = line.getOptionValues("header");
+        auths = Collections.singletonList(new AuthorizationValue(headers[0], headers[1], "header"));
+      }
+
+      OpenApiDiffOptions diffOptions = OpenApiDiffOptions.defaults();
+      DiffStatistics statistics = null;
+      if (line.hasOption("stats")) {
+        statistics = new DiffStatistics();
+        diffOptions.setMetricsListener(statistics);
+      }
+      if (line.hasOption("parallel-parse")) {
+        diffOptions.setParallelParsing(true);
+      }
+      if (line.hasOption("spec-cache")) {
+        diffOptions.setSpecCache(
+            new SpecCache().setDirectory(Paths.get(line.getOptionValue("spec-cache"))));
+      }
+
+      if (line.hasOption("serve")) {
+        DiffServer server = new DiffServer(diffOptions, parseThreads(line));
+        int port = server.start(parsePort(line));
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+        System.out.println("Listening on http://localhost:" + port + "/diff");
+        return;
+      }
+      if (line.hasOption("batch")) {
+        int exitCode = new BatchMode(line).run(auths, diffOptions, System.out);
+        if (statistics != null) {
+          statistics.print(System.err);
+        }
+        System.exit(exitCode);
+      }
       if (line.getArgList().size() < 2) {
         throw new ParseException("Missing arguments");
       }
       String oldPath = line.getArgList().get(0);
       String newPath = line.getArgList().get(1);
 
-      List<AuthorizationValue> auths = null;
-      if (line.hasOption("header")) {
-        String[] headers = line.getOptionValues("header");
-        auths = Collections.singletonList(new AuthorizationValue(headers[0], headers[1], "header"));
+      if (line.hasOption("watch")) {
+        new WatchMode(line, logLevel).run(oldPath, newPath, auths, diffOptions, System.out);
+        return;
+      }
+      if (line.hasOption("fail-on-incompatible")
+          && !line.hasOption("state")
+          && logLevel.equals("OFF")
+          && REPORT_OPTIONS.stream().noneMatch(line::hasOption)) {
+        // nothing is rendered, so only the result is computed
+        DiffResult verdict =
+            OpenApiCompare.verdictFromLocations(oldPath, newPath, auths, diffOptions);
+        if (statistics != null) {
+          statistics.print(System.err);
+        }
+        System.exit(verdict.isCompatible() ? 0 : 1);
       }
 
-      ChangedOpenApi result = OpenApiCompare.fromLocations(oldPath, newPath, auths);
-      ConsoleRender consoleRender = new ConsoleRender();
-      if (!logLevel.equals("OFF")) {
-        System.out.println(consoleRender.render(result));
-      }
-      if (line.hasOption("html")) {
-        HtmlRender htmlRender = new HtmlRender();
-        String output = htmlRender.render(result);
-        String outputFile = line.getOptionValue("html");
-        writeOutput(output, outputFile);
-      }
-      if (line.hasOption("markdown")) {
-        MarkdownRender mdRender = new MarkdownRender();
-        String output = mdRender.render(result);
-        String outputFile = line.getOptionValue("markdown");
-        writeOutput(output, outputFile);
-      }
-      if (line.hasOption("text")) {
-        String output = consoleRender.render(result);
-        String outputFile = line.getOptionValue("text");
-        writeOutput(output, outputFile);
-      }
-      if (line.hasOption("json")) {
-        JsonRender jsonRender = new JsonRender();
-        String output = jsonRender.render(result);
-        String outputFile = line.getOptionValue("json");
-        writeOutput(output, outputFile);
+      ChangedOpenApi result = OpenApiCompare.fromLocations(oldPath, newPath, auths, diffOptions);
+      long renderStart = System.nanoTime();
+      report(line, logLevel, result);
+      if (statistics != null) {
+        statistics.phaseCompleted(DiffPhase.RENDER, System.nanoTime() - renderStart);
+        statistics.print(System.err);
       }
       if (line.hasOption("state")) {
         System.out.println(result.isChanged().getValue());
@@ -223,11 +320,59 @@ public class Main {
     }
   }
 
-  private static void writeOutput(String output, String outputFile) {
-    File file = new File(outputFile);
-    logger.debug("Output file: {}", file.getAbsolutePath());
+  /** Prints the result unless logging is off and writes every report requested. */
+  static void report(CommandLine line, String logLevel, ChangedOpenApi result) throws IOException {
+    ConsoleRender consoleRender = new ConsoleRender();
+    if (!logLevel.equals("OFF")) {
+      PrintWriter out = new PrintWriter(new OutputStreamWriter(System.out));
+      consoleRender.render(result, out);
+      out.println();
+      out.flush();
+    }
+    if (line.hasOption("html")) {
+      writeOutput(new HtmlRender(), result, line.getOptionValue("html"));
+    }
+    if (line.hasOption("markdown")) {
+      writeOutput(new MarkdownRender(), result, line.getOptionValue("markdown"));
+    }
+    if (line.hasOption("text")) {
+      writeOutput(consoleRender, result, line.getOptionValue("text"));
+    }
+    if (line.hasOption("json")) {
+      writeOutput(new JsonRender(), result, line.getOptionValue("json"));
+    }
+    if (line.hasOption("json-compact")) {
+      writeOutput(new CompactJsonRender(), result, line.getOptionValue("json-compact"));
+    }
+  }
+
+  static int parseThreads(CommandLine line) throws ParseException {
+    if (!line.hasOption("threads")) {
+      return Runtime.getRuntime().availableProcessors();
+    }
+    try {
+      return Math.max(1, Integer.parseInt(line.getOptionValue("threads")));
+    } catch (NumberFormatException e) {
+      throw new ParseException("Invalid number of threads: " + line.getOptionValue("threads"));
+    }
+  }
+
+  private static int parsePort(CommandLine line) throws ParseException {
+    try {
+      return Integer.parseInt(line.getOptionValue("serve"));
+    } catch (NumberFormatException e) {
+      throw new ParseException("Invalid port: " + line.getOptionValue("serve"));
+    }
+  }
+
+  private static void writeOutput(Render render, ChangedOpenApi result, String outputFile) {
+    Path file = Paths.get(outputFile).toAbsolutePath();
+    logger.debug("Output file: {}", file);
     try {
-      FileUtils.writeStringToFile(file, output, StandardCharsets.UTF_8);
+      Files.createDirectories(file.getParent());
+      try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+        render.render(result, writer);
+      }
     } catch (IOException e) {
       logger.error("Impossible to write output to file {}", outputFile, e);
       System.exit(2);
@@ -0,0 +1,232 @@
+package org.openapitools.openapidiff.cli;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.core.models.AuthorizationValue;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.ParseException;
+import org.openapitools.openapidiff.core.IncrementalCompare;
+import org.openapitools.openapidiff.core.OpenApiCompare;
+import org.openapitools.openapidiff.core.compare.OpenApiDiffOptions;
+import org.openapitools.openapidiff.core.metrics.DiffPhase;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+
+/**
+ * Compares the specs again whenever they change, for the {@code --watch} option.
+ *
+ * <p>The directory of each spec is watched with its subdirectories, so documents split into {@code
+ * $ref} files are followed too. Hidden directories, such as {@code .git}, and the {@code target},
+ * {@code build} and {@code node_modules} directories of build tools are not watched. A change to
+ * one spec file only parses that spec again, a change to any other spec document parses again every
+ * spec whose directory holds it. The parsed specs and the previous comparison are kept between
+ * changes, and only the path items affected by a change are compared again. Report files written
+ * into a watched directory do not trigger a comparison.
+ */
+class WatchMode {
+  private static final String[] EXTENSIONS = {".yaml", ".yml", ".json"};
+  private static final Set<String> BUILD_DIRECTORIES =
+      new HashSet<>(Arrays.asList("target", "build", "node_modules"));
+  /** Changes closer together than this are compared once, as editors often write a file twice. */
+  private static final long QUIET_MILLIS = 50;
+
+  private final CommandLine line;
+  private final String logLevel;
+  private final Set<Path> reports = new HashSet<>();
+  private final IncrementalCompare incremental = new IncrementalCompare();
+  private WatchService watcher;
+  private OpenAPI oldSpec;
+  private OpenAPI newSpec;
+
+  WatchMode(CommandLine line, String logLevel) {
+    this.line = line;
+    this.logLevel = logLevel;
+    for (String option : Main.REPORT_OPTIONS) {
+      if (line.hasOption(option)) {
+        reports.add(Paths.get(line.getOptionValue(option)).toAbsolutePath().normalize());
+      }
+    }
+  }
+
+  /** Compares the specs, then again on every change until the process is stopped. */
+  void run(
+      String oldLocation,
+      String newLocation,
+      List<AuthorizationValue> auths,
+      OpenApiDiffOptions diffOptions,
+      PrintStream out)
+      throws ParseException, IOException, InterruptedException {
+    Path oldFile = file(oldLocation);
+    Path newFile = file(newLocation);
+    incremental.setOptions(diffOptions);
+    watcher = FileSystems.getDefault().newWatchService();
+    register(oldFile.getParent());
+    register(newFile.getParent());
+
+    try {
+      compare(oldFile, newFile, true, true, auths, diffOptions, out);
+      while (true) {
+        Set<Path> changed = new HashSet<>();
+        WatchKey key = watcher.take();
+        do {
+          collect(key, changed);
+          key = watcher.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS);
+        } while (key != null);
+
+        boolean oldChanged = oldSpec == null || affects(changed, oldFile, newFile);
+        boolean newChanged = newSpec == null || affects(changed, newFile, oldFile);
+        if (oldChanged || newChanged) {
+          compare(oldFile, newFile, oldChanged, newChanged, auths, diffOptions, out);
+        }
+      }
+    } finally {
+      watcher.close();
+    }
+  }
+
+  private void compare(
+      Path oldFile,
+      Path newFile,
+      boolean oldChanged,
+      boolean newChanged,
+      List<AuthorizationValue> auths,
+      OpenApiDiffOptions diffOptions,
+      PrintStream out)
+      throws IOException {
+    DiffStatistics statistics = null;
+    if (line.hasOption("stats")) {
+      statistics = new DiffStatistics();
+      diffOptions.setMetricsListener(statistics);
+    }
+    long start = System.nanoTime();
+    ChangedOpenApi result;
+    try {
+      if (oldChanged) {
+        oldSpec = null;
+        oldSpec = OpenApiCompare.readLocation(oldFile.toString(), auths);
+      }
+      if (newChanged) {
+        newSpec = null;
+        newSpec = OpenApiCompare.readLocation(newFile.toString(), auths);
+      }
+      if (statistics != null) {
+        statistics.phaseCompleted(DiffPhase.PARSE, System.nanoTime() - start);
+      }
+      result = incremental.compare(oldSpec, newSpec);
+    } catch (RuntimeException e) {
+      out.printf("Cannot compare: %s%n", e.getMessage());
+      return;
+    }
+
+    long renderStart = System.nanoTime();
+    Main.report(line, logLevel, result);
+    if (line.hasOption("state")) {
+      out.println(result.isChanged().getValue());
+    }
+    if (statistics != null) {
+      statistics.phaseCompleted(DiffPhase.RENDER, System.nanoTime() - renderStart);
+      statistics.print(System.err);
+    }
+    out.printf(
+        "%s in %d ms (parsed %s, changed entries: %d)%n",
+        result.isChanged().getValue(),
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+        oldChanged && newChanged ? "both specs" : oldChanged ? "old spec" : "new spec",
+        incremental.getChangedPointers().size());
+    out.flush();
+  }
+
+  /**
+   * @return whether a changed document belongs to the spec: the spec file itself, or any other
+   *     document of its directory
+   */
+  private static boolean affects(Set<Path> changed, Path specFile, Path otherSpecFile) {
+    for (Path path : changed) {
+      if (path.equals(specFile)
+          || (!path.equals(otherSpecFile) && path.startsWith(specFile.getParent()))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void collect(WatchKey key, Set<Path> changed) throws IOException {
+    Path directory = (Path) key.watchable();
+    for (WatchEvent<?> event : key.pollEvents()) {
+      if (event.kind() == OVERFLOW) {
+        // events were lost, so anything in the directory may have changed
+        changed.add(directory.resolve("overflow.yaml"));
+        continue;
+      }
+      Path path = directory.resolve((Path) event.context()).normalize();
+      if (event.kind() == ENTRY_CREATE && Files.isDirectory(path)) {
+        if (!isSkipped(path)) {
+          register(path);
+        }
+      } else if (isSpec(path) && !reports.contains(path)) {
+        changed.add(path);
+      }
+    }
+    key.reset();
+  }
+
+  private void register(Path root) throws IOException {
+    Files.walkFileTree(
+        root,
+        new SimpleFileVisitor<Path>() {
+          @Override
+          public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes)
+              throws IOException {
+            if (!directory.equals(root) && isSkipped(directory)) {
+              return FileVisitResult.SKIP_SUBTREE;
+            }
+            directory.register(watcher, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+            return FileVisitResult.CONTINUE;
+          }
+        });
+  }
+
+  /** @return whether the directory is hidden or holds build output, so it is not watched */
+  private static boolean isSkipped(Path directory) {
+    String name = directory.getFileName().toString();
+    return name.startsWith(".") || BUILD_DIRECTORIES.contains(name);
+  }
+
+  private static boolean isSpec(Path path) {
+    String name = path.getFileName().toString().toLowerCase();
+    for (String extension : EXTENSIONS) {
+      if (name.endsWith(extension)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static Path file(String location) throws ParseException {
+    Path file = Paths.get(location).toAbsolutePath().normalize();
+    if (location.contains("://") || !Files.isRegularFile(file)) {
+      throw new ParseException("Only spec files can be watched: " + location);
+    }
+    return file;
+  }
+}
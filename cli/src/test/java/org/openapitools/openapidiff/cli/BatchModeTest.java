@@ -0,0 +1,160 @@
+package org.openapitools.openapidiff.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openapitools.openapidiff.core.compare.OpenApiDiffOptions;
+
+public class BatchModeTest {
+  private static final String SPEC =
+      "openapi: 3.0.1\n"
+          + "info:\n"
+          + "  title: pets\n"
+          + "  version: '1'\n"
+          + "paths:\n"
+          + "  /pets:\n"
+          + "    get:\n"
+          + "      responses:\n"
+          + "        '200':\n"
+          + "          description: pets\n";
+  private static final String EMPTY_SPEC =
+      "openapi: 3.0.1\n" + "info:\n" + "  title: pets\n" + "  version: '1'\n" + "paths: {}\n";
+
+  @TempDir Path directory;
+
+  private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+  @Test
+  public void directorySpecsArePairedByFileName() throws Exception {
+    write("batch/old/pets.yaml", SPEC);
+    write("batch/new/pets.yaml", EMPTY_SPEC);
+    write("batch/old/orders.json", SPEC);
+    write("batch/new/orders.json", SPEC);
+    write("batch/old/removed.yaml", SPEC);
+    write("batch/new/added.yml", SPEC);
+    write("batch/new/notes.txt", "not a spec");
+    Path reports = directory.resolve("reports");
+
+    int exitCode =
+        run("--batch", directory.resolve("batch").toString(), "--markdown", reports.toString());
+
+    assertThat(exitCode).isZero();
+    assertThat(output()).contains("2 pairs: 1 changed, 1 incompatible, 0 failed");
+    assertThat(output()).containsPattern("orders +no_changes");
+    assertThat(output()).containsPattern("pets +incompatible");
+    assertThat(output()).doesNotContain("removed").doesNotContain("added");
+    assertThat(reports.resolve("pets.md")).exists();
+    assertThat(reports.resolve("orders.md")).exists();
+    try (Stream<Path> files = Files.list(reports)) {
+      assertThat(files).hasSize(2);
+    }
+  }
+
+  @Test
+  public void manifestPathsAreRelativeToTheManifest() throws Exception {
+    write("specs/pets-1.yaml", SPEC);
+    write("specs/pets-2.yaml", EMPTY_SPEC);
+    Path manifest =
+        write(
+            "manifest.txt",
+            "# name old new\n"
+                + "\n"
+                + "pets specs/pets-1.yaml specs/pets-2.yaml\n"
+                + "  same   specs/pets-1.yaml   specs/pets-1.yaml  \n");
+
+    int exitCode = run("--batch", manifest.toString());
+
+    assertThat(exitCode).isZero();
+    assertThat(output()).contains("2 pairs: 1 changed, 1 incompatible, 0 failed");
+  }
+
+  @Test
+  public void malformedManifestLineIsReported() throws Exception {
+    write("specs/pets.yaml", SPEC);
+    Path manifest =
+        write(
+            "manifest.txt", "pets specs/pets.yaml specs/pets.yaml\n# comment\nbroken pets.yaml\n");
+
+    assertThatThrownBy(() -> run("--batch", manifest.toString()))
+        .isInstanceOf(ParseException.class)
+        .hasMessage("Expected <name> <old> <new> at " + manifest + ":3");
+  }
+
+  @Test
+  public void batchWhichIsNeitherDirectoryNorManifestIsReported() {
+    assertThatThrownBy(() -> run("--batch", directory.resolve("missing").toString()))
+        .isInstanceOf(ParseException.class)
+        .hasMessageStartingWith("Batch is neither a directory nor a manifest");
+  }
+
+  @Test
+  public void incompatiblePairFailsOnIncompatible() throws Exception {
+    write("batch/old/pets.yaml", SPEC);
+    write("batch/new/pets.yaml", EMPTY_SPEC);
+    write("batch/old/orders.yaml", SPEC);
+    write("batch/new/orders.yaml", SPEC);
+
+    assertThat(run("--batch", directory.resolve("batch").toString(), "--fail-on-incompatible"))
+        .isEqualTo(1);
+  }
+
+  @Test
+  public void unchangedPairsDoNotFailOnChanged() throws Exception {
+    write("batch/old/orders.yaml", SPEC);
+    write("batch/new/orders.yaml", SPEC);
+
+    assertThat(run("--batch", directory.resolve("batch").toString(), "--fail-on-changed")).isZero();
+  }
+
+  @Test
+  public void failedPairFailsTheBatch() throws Exception {
+    write("specs/pets.yaml", SPEC);
+    Path manifest =
+        write(
+            "manifest.txt",
+            "pets specs/pets.yaml specs/pets.yaml\nmissing specs/pets.yaml specs/missing.yaml\n");
+
+    int exitCode = run("--batch", manifest.toString(), "--fail-on-incompatible");
+
+    assertThat(exitCode).isEqualTo(2);
+    assertThat(output()).containsPattern("missing +failed");
+    assertThat(output()).contains("2 pairs: 0 changed, 0 incompatible, 1 failed");
+  }
+
+  private int run(String... args) throws Exception {
+    Options options = new Options();
+    options.addOption(Option.builder().longOpt("batch").hasArg().build());
+    options.addOption(Option.builder().longOpt("markdown").hasArg().build());
+    options.addOption(Option.builder().longOpt("threads").hasArg().build());
+    options.addOption(Option.builder().longOpt("fail-on-incompatible").build());
+    options.addOption(Option.builder().longOpt("fail-on-changed").build());
+    CommandLine line = new DefaultParser().parse(options, args);
+    PrintStream out = new PrintStream(output, true, StandardCharsets.UTF_8.name());
+    return new BatchMode(line).run(null, new OpenApiDiffOptions(), out);
+  }
+
+  private Path write(String name, String content) throws IOException {
+    Path file = directory.resolve(name);
+    Files.createDirectories(file.getParent());
+    Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    return file;
+  }
+
+  private String output() {
+    return new String(output.toByteArray(), StandardCharsets.UTF_8);
+  }
+}
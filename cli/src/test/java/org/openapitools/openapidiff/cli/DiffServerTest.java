@@ -0,0 +1,200 @@
+package org.openapitools.openapidiff.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openapitools.openapidiff.core.compare.OpenApiDiffOptions;
+import org.openapitools.openapidiff.core.metrics.DiffMetrics;
+import org.openapitools.openapidiff.core.metrics.DiffMetricsListener;
+
+public class DiffServerTest {
+  private static final String OLD_SPEC =
+      "{\"openapi\":\"3.0.1\",\"info\":{\"title\":\"pets\",\"version\":\"1\"},"
+          + "\"paths\":{\"/pets\":{\"get\":{\"responses\":{\"200\":{\"description\":\"pets\"}}}}}}";
+  private static final String NEW_SPEC =
+      "{\"openapi\":\"3.0.1\",\"info\":{\"title\":\"pets\",\"version\":\"1\"},\"paths\":{}}";
+  private static final String REQUEST =
+      "{\"old\":" + quote(OLD_SPEC) + ",\"new\":" + quote(NEW_SPEC) + "}";
+
+  private DiffServer server;
+  private int port;
+
+  @AfterEach
+  public void stopServer() {
+    if (server != null) {
+      server.stop();
+    }
+  }
+
+  @Test
+  public void everyFormatRendersTheReport() throws IOException {
+    start(new OpenApiDiffOptions(), 2);
+
+    Response text = post("/diff", REQUEST);
+    assertThat(text.status).isEqualTo(200);
+    assertThat(text.contentType).startsWith("text/plain");
+    assertThat(text.state).isEqualTo("incompatible");
+    assertThat(text.body).contains("/pets");
+
+    assertThat(post("/diff?format=markdown", REQUEST).contentType).startsWith("text/markdown");
+    assertThat(post("/diff?format=html", REQUEST).body).contains("<html");
+    assertThat(post("/diff?format=json", REQUEST).body).startsWith("{");
+    assertThat(post("/diff?format=json-compact", REQUEST).contentType)
+        .startsWith("application/json");
+    assertThat(post("/diff?format=state", REQUEST).body).isEqualTo("incompatible");
+  }
+
+  @Test
+  public void healthResponds() throws IOException {
+    start(new OpenApiDiffOptions(), 1);
+
+    Response health = get("/health");
+
+    assertThat(health.status).isEqualTo(200);
+    assertThat(health.body).isEqualTo("ok");
+  }
+
+  @Test
+  public void invalidRequestsAreRefused() throws IOException {
+    start(new OpenApiDiffOptions(), 1);
+
+    assertThat(get("/diff").status).isEqualTo(405);
+    assertThat(post("/diff?format=pdf", REQUEST).status).isEqualTo(400);
+    assertThat(post("/diff", "not json").status).isEqualTo(400);
+    assertThat(post("/diff", "{\"old\":\"\"}").status).isEqualTo(400);
+    assertThat(post("/diff", new byte[32 * 1024 * 1024 + 1]).status).isEqualTo(413);
+  }
+
+  @Test
+  public void unparsableSpecIsUnprocessable() throws IOException {
+    start(new OpenApiDiffOptions(), 1);
+
+    Response response = post("/diff", "{\"old\":" + quote(OLD_SPEC) + ",\"new\":\"- [\"}");
+
+    assertThat(response.status).isEqualTo(422);
+    assertThat(response.body).isEqualTo("Cannot read new OpenAPI spec");
+  }
+
+  @Test
+  public void requestsOverTheLimitAreRefused() throws Exception {
+    CountDownLatch comparing = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    OpenApiDiffOptions options =
+        new OpenApiDiffOptions()
+            .setMetricsListener(
+                new DiffMetricsListener() {
+                  @Override
+                  public void comparisonCompleted(DiffMetrics metrics) {
+                    comparing.countDown();
+                    try {
+                      release.await();
+                    } catch (InterruptedException e) {
+                      Thread.currentThread().interrupt();
+                    }
+                  }
+                });
+    start(options, 1);
+    ExecutorService clients = Executors.newFixedThreadPool(3);
+    try {
+      Future<Response> running = clients.submit(() -> post("/diff", REQUEST));
+      assertThat(comparing.await(30, TimeUnit.SECONDS)).isTrue();
+      // one comparison runs and one request waits for its turn, so one of these is refused
+      CompletionService<Response> waiting = new ExecutorCompletionService<>(clients);
+      waiting.submit(() -> post("/diff", REQUEST));
+      waiting.submit(() -> post("/diff", REQUEST));
+
+      assertThat(waiting.take().get().status).isEqualTo(503);
+      release.countDown();
+      assertThat(waiting.take().get().status).isEqualTo(200);
+      assertThat(running.get().status).isEqualTo(200);
+    } finally {
+      release.countDown();
+      clients.shutdownNow();
+    }
+  }
+
+  @Test
+  public void optionsOfTheCallerAreNotChanged() throws IOException {
+    OpenApiDiffOptions options = new OpenApiDiffOptions();
+    start(options, 1);
+
+    assertThat(post("/diff", REQUEST).status).isEqualTo(200);
+    assertThat(options.getSpecCache()).isNull();
+    assertThat(options.getExtensionDiffProviders()).isNull();
+  }
+
+  private void start(OpenApiDiffOptions options, int threads) throws IOException {
+    server = new DiffServer(options, threads);
+    port = server.start(0);
+  }
+
+  private Response get(String path) throws IOException {
+    HttpURLConnection connection = open(path);
+    return new Response(connection);
+  }
+
+  private Response post(String path, String body) throws IOException {
+    return post(path, body.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private Response post(String path, byte[] body) throws IOException {
+    HttpURLConnection connection = open(path);
+    connection.setRequestMethod("POST");
+    connection.setDoOutput(true);
+    connection.setFixedLengthStreamingMode(body.length);
+    try (OutputStream out = connection.getOutputStream()) {
+      out.write(body);
+    }
+    return new Response(connection);
+  }
+
+  private HttpURLConnection open(String path) throws IOException {
+    String host = InetAddress.getLoopbackAddress().getHostAddress();
+    return (HttpURLConnection) new URL("http", host, port, path).openConnection();
+  }
+
+  private static String quote(String content) {
+    return "\"" + content.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+  }
+
+  private static final class Response {
+    private final int status;
+    private final String contentType;
+    private final String state;
+    private final String body;
+
+    Response(HttpURLConnection connection) throws IOException {
+      status = connection.getResponseCode();
+      contentType = connection.getContentType();
+      state = connection.getHeaderField("X-OpenAPI-Diff-State");
+      try (InputStream in =
+          status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while (in != null && (read = in.read(buffer)) != -1) {
+          body.write(buffer, 0, read);
+        }
+        this.body = new String(body.toByteArray(), StandardCharsets.UTF_8);
+      } finally {
+        connection.disconnect();
+      }
+    }
+  }
+}
@@ -0,0 +1,166 @@
+package org.openapitools.openapidiff.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openapitools.openapidiff.core.compare.OpenApiDiffOptions;
+
+public class WatchModeTest {
+  private static final String SPEC =
+      "openapi: 3.0.1\n"
+          + "info:\n"
+          + "  title: pets\n"
+          + "  version: '1'\n"
+          + "paths:\n"
+          + "  /pets:\n"
+          + "    get:\n"
+          + "      responses:\n"
+          + "        '200':\n"
+          + "          description: pets\n";
+  private static final String EMPTY_SPEC =
+      "openapi: 3.0.1\n" + "info:\n" + "  title: pets\n" + "  version: '1'\n" + "paths: {}\n";
+
+  @TempDir Path directory;
+
+  private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+  private final AtomicReference<Throwable> failure = new AtomicReference<>();
+  private Thread watching;
+
+  @AfterEach
+  public void stopWatching() throws InterruptedException {
+    if (watching != null) {
+      watching.interrupt();
+      watching.join(TimeUnit.SECONDS.toMillis(30));
+    }
+    assertThat(failure.get()).isNull();
+  }
+
+  @Test
+  public void changedSpecIsComparedAgain() throws Exception {
+    Path oldFile = write("old.yaml", SPEC);
+    Path newFile = write("new.yaml", SPEC);
+    watch(oldFile, newFile);
+    assertThat(awaitComparisons(1).get(0)).startsWith("no_changes in ");
+
+    write("new.yaml", EMPTY_SPEC);
+
+    assertThat(awaitComparisons(2).get(1))
+        .startsWith("incompatible in ")
+        .contains("parsed new spec");
+  }
+
+  @Test
+  public void hiddenAndBuildDirectoriesAreNotWatched() throws Exception {
+    Files.createDirectories(directory.resolve(".git"));
+    Files.createDirectories(directory.resolve("target"));
+    Path oldFile = write("old.yaml", SPEC);
+    Path newFile = write("new.yaml", SPEC);
+    watch(oldFile, newFile);
+    awaitComparisons(1);
+
+    write(".git/ignored.yaml", EMPTY_SPEC);
+    write("target/ignored.yaml", EMPTY_SPEC);
+    Files.createDirectories(directory.resolve("node_modules"));
+    write("node_modules/ignored.yaml", EMPTY_SPEC);
+    Thread.sleep(500);
+    write("refs.yaml", EMPTY_SPEC);
+
+    // the change to the referenced document of both specs is the only one compared
+    assertThat(awaitComparisons(2).get(1)).contains("parsed both specs");
+    Thread.sleep(500);
+    assertThat(comparisons()).hasSize(2);
+  }
+
+  @Test
+  public void unreadableSpecDoesNotStopWatching() throws Exception {
+    Path oldFile = write("old.yaml", SPEC);
+    Path newFile = write("new.yaml", SPEC);
+    watch(oldFile, newFile);
+    awaitComparisons(1);
+
+    write("new.yaml", "- [");
+    awaitOutput("Cannot compare: Cannot read");
+    write("new.yaml", EMPTY_SPEC);
+
+    assertThat(awaitComparisons(2).get(1)).startsWith("incompatible in ");
+  }
+
+  private void watch(Path oldFile, Path newFile) throws Exception {
+    Options options = new Options();
+    options.addOption(Option.builder().longOpt("state").build());
+    CommandLine line = new DefaultParser().parse(options, new String[] {"--state"});
+    PrintStream out = new PrintStream(output, true, StandardCharsets.UTF_8.name());
+    watching =
+        new Thread(
+            () -> {
+              try {
+                new WatchMode(line, "OFF")
+                    .run(
+                        oldFile.toString(),
+                        newFile.toString(),
+                        null,
+                        new OpenApiDiffOptions(),
+                        out);
+              } catch (InterruptedException e) {
+                // stopped by the test
+              } catch (Throwable e) {
+                failure.set(e);
+              }
+            });
+    watching.start();
+  }
+
+  private Path write(String name, String content) throws IOException {
+    Path file = directory.resolve(name);
+    Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    return file;
+  }
+
+  /** @return the summary line of each comparison so far */
+  private List<String> comparisons() {
+    List<String> comparisons = new ArrayList<>();
+    for (String line : output().split("\n")) {
+      if (line.contains(" ms (parsed ")) {
+        comparisons.add(line);
+      }
+    }
+    return comparisons;
+  }
+
+  private List<String> awaitComparisons(int count) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+    while (comparisons().size() < count && System.nanoTime() < deadline) {
+      Thread.sleep(20);
+    }
+    assertThat(comparisons()).hasSize(count);
+    return comparisons();
+  }
+
+  private void awaitOutput(String text) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+    while (!output().contains(text) && System.nanoTime() < deadline) {
+      Thread.sleep(20);
+    }
+    assertThat(output()).contains(text);
+  }
+
+  private String output() {
+    return new String(output.toByteArray(), StandardCharsets.UTF_8);
+  }
+}
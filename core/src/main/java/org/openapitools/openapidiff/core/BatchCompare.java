@@ -0,0 +1,214 @@
+package org.openapitools.openapidiff.core;
+
+import io.swagger.v3.parser.core.models.AuthorizationValue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.openapitools.openapidiff.core.compare.ExtensionDiffProviders;
+import org.openapitools.openapidiff.core.compare.OpenApiDiffOptions;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+
+/**
+ * Compares many pairs of specifications on a pool of workers.
+ *
+ * <p>Every pair is compared with the same options, so the specifications parsed through their
+ * {@link SpecCache} are shared by the whole batch, like the extension diffs found on the class path
+ * by {@link ExtensionDiffProviders#shared()}. Unless the options set a cache, each batch parses
+ * into a cache of its own, so a specification shared by several pairs is parsed once. A pair which
+ * fails is reported with its failure and does not stop the others.
+ */
+public class BatchCompare {
+  private int threads = Runtime.getRuntime().availableProcessors();
+  private ExecutorService executor;
+  private OpenApiDiffOptions options;
+  private List<AuthorizationValue> auths;
+
+  /**
+   * @param threads number of workers, the number of processors by default
+   * @return this batch
+   */
+  public BatchCompare setThreads(int threads) {
+    this.threads = Math.max(1, threads);
+    return this;
+  }
+
+  /**
+   * @param executor runs the comparisons instead of a pool created for each batch; it is not shut
+   *     down
+   * @return this batch
+   */
+  public BatchCompare setExecutor(ExecutorService executor) {
+    this.executor = executor;
+    return this;
+  }
+
+  /**
+   * @param options options of every comparison, not modified; they are used concurrently, so a
+   *     metrics listener must be thread-safe.
+   * @return this batch
+   */
+  public BatchCompare setOptions(OpenApiDiffOptions options) {
+    this.options = options;
+    return this;
+  }
+
+  /**
+   * @param auths authorizations used to read every specification
+   * @return this batch
+   */
+  public BatchCompare setAuths(List<AuthorizationValue> auths) {
+    this.auths = auths;
+    return this;
+  }
+
+  /**
+   * @param pairs pairs of specifications to compare
+   * @return the results in the order of the pairs
+   */
+  public List<Result> compare(List<Pair> pairs) {
+    return compare(pairs, result -> {});
+  }
+
+  /**
+   * @param pairs pairs of specifications to compare
+   * @param listener called on the calling thread with each result as soon as it completes
+   * @return the results in the order of the pairs
+   */
+  public List<Result> compare(List<Pair> pairs, Consumer<Result> listener) {
+    OpenApiDiffOptions diffOptions =
+        options != null ? options.copy() : OpenApiDiffOptions.defaults();
+    if (diffOptions.getSpecCache() == null) {
+      diffOptions.setSpecCache(new SpecCache());
+    }
+    ExecutorService workers = executor != null ? executor : newPool();
+    try {
+      CompletionService<Result> completion = new ExecutorCompletionService<>(workers);
+      List<Future<Result>> futures = new ArrayList<>(pairs.size());
+      for (Pair pair : pairs) {
+        futures.add(completion.submit(() -> compare(pair, diffOptions)));
+      }
+      for (int i = 0; i < pairs.size(); i++) {
+        listener.accept(completion.take().get());
+      }
+      List<Result> results = new ArrayList<>(pairs.size());
+      for (Future<Result> future : futures) {
+        results.add(future.get());
+      }
+      return results;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while comparing", e);
+    } catch (ExecutionException e) {
+      // compare(Pair, OpenApiDiffOptions) catches every failure
+      throw new IllegalStateException(e.getCause());
+    } finally {
+      if (workers != executor) {
+        workers.shutdownNow();
+      }
+    }
+  }
+
+  private Result compare(Pair pair, OpenApiDiffOptions diffOptions) {
+    long start = System.nanoTime();
+    try {
+      ChangedOpenApi changedOpenApi =
+          OpenApiCompare.fromLocations(
+              pair.getOldLocation(), pair.getNewLocation(), auths, diffOptions);
+      return new Result(pair, changedOpenApi, null, System.nanoTime() - start);
+    } catch (RuntimeException | StackOverflowError e) {
+      return new Result(pair, null, e, System.nanoTime() - start);
+    }
+  }
+
+  private ExecutorService newPool() {
+    AtomicInteger count = new AtomicInteger();
+    ThreadFactory threadFactory =
+        runnable -> {
+          Thread thread = new Thread(runnable, "openapi-diff-batch-" + count.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        };
+    return Executors.newFixedThreadPool(threads, threadFactory);
+  }
+
+  /** An old and a new specification to compare. */
+  public static final class Pair {
+    private final String name;
+    private final String oldLocation;
+    private final String newLocation;
+
+    public Pair(String name, String oldLocation, String newLocation) {
+      this.name = name;
+      this.oldLocation = oldLocation;
+      this.newLocation = newLocation;
+    }
+
+    public static List<Pair> of(Pair... pairs) {
+      return Arrays.asList(pairs);
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public String getOldLocation() {
+      return oldLocation;
+    }
+
+    public String getNewLocation() {
+      return newLocation;
+    }
+
+    @Override
+    public String toString() {
+      return name + " (" + oldLocation + " -> " + newLocation + ")";
+    }
+  }
+
+  /** The comparison of a pair, or the reason it failed. */
+  public static final class Result {
+    private final Pair pair;
+    private final ChangedOpenApi changedOpenApi;
+    private final Throwable failure;
+    private final long durationNanos;
+
+    Result(Pair pair, ChangedOpenApi changedOpenApi, Throwable failure, long durationNanos) {
+      this.pair = pair;
+      this.changedOpenApi = changedOpenApi;
+      this.failure = failure;
+      this.durationNanos = durationNanos;
+    }
+
+    public Pair getPair() {
+      return pair;
+    }
+
+    /** @return the comparison, null if it failed */
+    public ChangedOpenApi getChangedOpenApi() {
+      return changedOpenApi;
+    }
+
+    /** @return the failure, null if the comparison succeeded */
+    public Throwable getFailure() {
+      return failure;
+    }
+
+    public boolean isFailed() {
+      return failure != null;
+    }
+
+    /** @return time spent on reading, parsing and comparing the pair */
+    public long getDurationNanos() {
+      return durationNanos;
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package org.openapitools.openapidiff.core;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+import org.openapitools.openapidiff.core.compare.OpenApiDiff;
+import org.openapitools.openapidiff.core.compare.OpenApiDiffOptions;
+import org.openapitools.openapidiff.core.compare.SpecFingerprint;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+
+/**
+ * Compares successive versions of a pair of specifications, such as a spec being edited against the
+ * released one.
+ *
+ * <p>The first comparison is a full one. Every later comparison finds the path items and components
+ * which changed since the previous one by their {@link SpecFingerprint fingerprints}, and only
+ * compares again what they affect. Instances are not thread-safe.
+ */
+public class IncrementalCompare {
+  private OpenApiDiffOptions options;
+  private SpecFingerprint oldFingerprint;
+  private SpecFingerprint newFingerprint;
+  private ChangedOpenApi previous;
+  private Set<String> changedPointers = Collections.emptySet();
+
+  /**
+   * @param options options of every comparison
+   * @return this comparison
+   */
+  public IncrementalCompare setOptions(OpenApiDiffOptions options) {
+    this.options = options;
+    return this;
+  }
+
+  /**
+   * @param oldSpec the current version of the old specification
+   * @param newSpec the current version of the new specification
+   * @return the comparison of the specifications
+   */
+  public ChangedOpenApi compare(OpenAPI oldSpec, OpenAPI newSpec) {
+    SpecFingerprint oldPrint = SpecFingerprint.of(oldSpec);
+    SpecFingerprint newPrint = SpecFingerprint.of(newSpec);
+    ChangedOpenApi result;
+    if (previous == null) {
+      changedPointers = Collections.emptySet();
+      result = OpenApiDiff.compare(oldSpec, newSpec, options);
+    } else {
+      Set<String> changed = new TreeSet<>(oldPrint.changedPointers(oldFingerprint));
+      changed.addAll(newPrint.changedPointers(newFingerprint));
+      changedPointers = Collections.unmodifiableSet(changed);
+      result =
+          OpenApiDiff.compare(
+              oldSpec, newSpec, options, previous, oldPrint, newPrint, changedPointers);
+    }
+    oldFingerprint = oldPrint;
+    newFingerprint = newPrint;
+    previous = result;
+    return result;
+  }
+
+  /** @return the pointers which changed before the last comparison, empty after a full one */
+  public Set<String> getChangedPointers() {
+    return changedPointers;
+  }
+
+  /** Makes the next comparison a full one. */
+  public void reset() {
+    previous = null;
+    oldFingerprint = null;
+    newFingerprint = null;
+    changedPointers = Collections.emptySet();
+  }
+}
@@ -6,16 +6,20 @@ import io.swagger.v3.parser.core.models.AuthorizationValue;
 import io.swagger.v3.parser.core.models.ParseOptions;
 import java.io.File;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
 import org.openapitools.openapidiff.core.compare.OpenApiDiff;
+import org.openapitools.openapidiff.core.compare.OpenApiDiffOptions;
+import org.openapitools.openapidiff.core.metrics.DiffMetricsListener;
+import org.openapitools.openapidiff.core.metrics.DiffPhase;
 import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.model.DiffResult;
 
 public class OpenApiCompare {
+  /** Stateless, and safe to share between threads as long as every read gets its own options. */
   private static final OpenAPIParser PARSER = new OpenAPIParser();
-  private static final ParseOptions OPTIONS = new ParseOptions();
-
-  static {
-    OPTIONS.setResolve(true);
-  }
 
   private OpenApiCompare() {}
 
@@ -40,7 +44,28 @@ public class OpenApiCompare {
    */
   public static ChangedOpenApi fromContents(
       String oldContent, String newContent, List<AuthorizationValue> auths) {
-    return fromSpecifications(readContent(oldContent, auths), readContent(newContent, auths));
+    return fromContents(oldContent, newContent, auths, OpenApiDiffOptions.defaults());
+  }
+
+  /**
+   * compare two openapi doc
+   *
+   * @param oldContent old api-doc location:Json or Http
+   * @param newContent new api-doc location:Json or Http
+   * @param auths
+   * @param options comparison options
+   * @return Comparison result
+   */
+  public static ChangedOpenApi fromContents(
+      String oldContent,
+      String newContent,
+      List<AuthorizationValue> auths,
+      OpenApiDiffOptions options) {
+    return compare(
+        () -> readContent(oldContent, auths, options),
+        () -> readContent(newContent, auths, options),
+        options,
+        (oldSpec, newSpec) -> fromSpecifications(oldSpec, newSpec, options));
   }
 
   /**
@@ -88,7 +113,83 @@ public class OpenApiCompare {
    */
   public static ChangedOpenApi fromLocations(
       String oldLocation, String newLocation, List<AuthorizationValue> auths) {
-    return fromSpecifications(readLocation(oldLocation, auths), readLocation(newLocation, auths));
+    return fromLocations(oldLocation, newLocation, auths, OpenApiDiffOptions.defaults());
+  }
+
+  /**
+   * compare two openapi doc
+   *
+   * @param oldLocation old api-doc location (local or http)
+   * @param newLocation new api-doc location (local or http)
+   * @param auths
+   * @param options comparison options
+   * @return Comparison result
+   */
+  public static ChangedOpenApi fromLocations(
+      String oldLocation,
+      String newLocation,
+      List<AuthorizationValue> auths,
+      OpenApiDiffOptions options) {
+    return compare(
+        () -> readLocation(oldLocation, auths, options),
+        () -> readLocation(newLocation, auths, options),
+        options,
+        (oldSpec, newSpec) -> fromSpecifications(oldSpec, newSpec, options));
+  }
+
+  /**
+   * compute only the result of comparing two openapi doc, see {@link OpenApiDiff#verdict}
+   *
+   * @param oldContent old api-doc content
+   * @param newContent new api-doc content
+   * @param auths
+   * @param options comparison options
+   * @return Comparison result, metadata changes are not compared
+   */
+  public static DiffResult verdictFromContents(
+      String oldContent,
+      String newContent,
+      List<AuthorizationValue> auths,
+      OpenApiDiffOptions options) {
+    return compare(
+        () -> readContent(oldContent, auths, options),
+        () -> readContent(newContent, auths, options),
+        options,
+        (oldSpec, newSpec) -> verdictFromSpecifications(oldSpec, newSpec, options));
+  }
+
+  /**
+   * compute only the result of comparing two openapi doc, see {@link OpenApiDiff#verdict}
+   *
+   * @param oldLocation old api-doc location (local or http)
+   * @param newLocation new api-doc location (local or http)
+   * @param auths
+   * @param options comparison options
+   * @return Comparison result, metadata changes are not compared
+   */
+  public static DiffResult verdictFromLocations(
+      String oldLocation,
+      String newLocation,
+      List<AuthorizationValue> auths,
+      OpenApiDiffOptions options) {
+    return compare(
+        () -> readLocation(oldLocation, auths, options),
+        () -> readLocation(newLocation, auths, options),
+        options,
+        (oldSpec, newSpec) -> verdictFromSpecifications(oldSpec, newSpec, options));
+  }
+
+  /**
+   * compute only the result of comparing two openapi doc, see {@link OpenApiDiff#verdict}
+   *
+   * @param oldSpec old api-doc specification
+   * @param newSpec new api-doc specification
+   * @param options comparison options
+   * @return Comparison result, metadata changes are not compared
+   */
+  public static DiffResult verdictFromSpecifications(
+      OpenAPI oldSpec, OpenAPI newSpec, OpenApiDiffOptions options) {
+    return OpenApiDiff.verdict(notNull(oldSpec, "old"), notNull(newSpec, "new"), options);
   }
 
   /**
@@ -99,7 +200,62 @@ public class OpenApiCompare {
    * @return Comparison result
    */
   public static ChangedOpenApi fromSpecifications(OpenAPI oldSpec, OpenAPI newSpec) {
-    return OpenApiDiff.compare(notNull(oldSpec, "old"), notNull(newSpec, "new"));
+    return fromSpecifications(oldSpec, newSpec, OpenApiDiffOptions.defaults());
+  }
+
+  /**
+   * compare two openapi doc
+   *
+   * @param oldSpec old api-doc specification
+   * @param newSpec new api-doc specification
+   * @param options comparison options
+   * @return Comparison result
+   */
+  public static ChangedOpenApi fromSpecifications(
+      OpenAPI oldSpec, OpenAPI newSpec, OpenApiDiffOptions options) {
+    return OpenApiDiff.compare(notNull(oldSpec, "old"), notNull(newSpec, "new"), options);
+  }
+
+  /**
+   * read an openapi doc without the spec cache, so changes to the documents it references are
+   * always read
+   *
+   * @param location api-doc location (local or http)
+   * @param auths
+   * @return the api-doc specification
+   */
+  public static OpenAPI readLocation(String location, List<AuthorizationValue> auths) {
+    return notNull(PARSER.readLocation(location, auths, parseOptions()).getOpenAPI(), location);
+  }
+
+  private static <R> R compare(
+      Supplier<OpenAPI> oldReader,
+      Supplier<OpenAPI> newReader,
+      OpenApiDiffOptions options,
+      BiFunction<OpenAPI, OpenAPI, R> comparison) {
+    long start = System.nanoTime();
+    OpenAPI oldSpec;
+    OpenAPI newSpec;
+    if (options != null && options.isParallelParsing()) {
+      CompletableFuture<OpenAPI> newFuture =
+          CompletableFuture.supplyAsync(newReader, options.getPool());
+      oldSpec = oldReader.get();
+      try {
+        newSpec = newFuture.join();
+      } catch (CompletionException e) {
+        throw e.getCause() instanceof RuntimeException
+            ? (RuntimeException) e.getCause()
+            : new IllegalStateException(e.getCause());
+      }
+    } else {
+      oldSpec = oldReader.get();
+      newSpec = newReader.get();
+    }
+    DiffMetricsListener listener = options != null ? options.getMetricsListener() : null;
+    if (listener != null) {
+      listener.phaseCompleted(DiffPhase.PARSE, System.nanoTime() - start);
+    }
+    return comparison.apply(oldSpec, newSpec);
   }
 
   private static OpenAPI notNull(OpenAPI spec, String type) {
@@ -109,11 +265,27 @@ public class OpenApiCompare {
     return spec;
   }
 
-  private static OpenAPI readContent(String content, List<AuthorizationValue> auths) {
-    return PARSER.readContents(content, auths, OPTIONS).getOpenAPI();
+  private static ParseOptions parseOptions() {
+    ParseOptions parseOptions = new ParseOptions();
+    parseOptions.setResolve(true);
+    return parseOptions;
   }
 
-  private static OpenAPI readLocation(String location, List<AuthorizationValue> auths) {
-    return PARSER.readLocation(location, auths, OPTIONS).getOpenAPI();
+  private static OpenAPI readContent(
+      String content, List<AuthorizationValue> auths, OpenApiDiffOptions options) {
+    SpecCache cache = options != null ? options.getSpecCache() : null;
+    if (cache != null) {
+      return cache.readContent(content, auths, parseOptions());
+    }
+    return PARSER.readContents(content, auths, parseOptions()).getOpenAPI();
+  }
+
+  private static OpenAPI readLocation(
+      String location, List<AuthorizationValue> auths, OpenApiDiffOptions options) {
+    SpecCache cache = options != null ? options.getSpecCache() : null;
+    if (cache != null) {
+      return cache.readLocation(location, auths, parseOptions());
+    }
+    return PARSER.readLocation(location, auths, parseOptions()).getOpenAPI();
   }
 }
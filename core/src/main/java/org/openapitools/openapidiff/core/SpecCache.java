@@ -0,0 +1,315 @@
+package org.openapitools.openapidiff.core;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.OpenAPIResolver;
+import io.swagger.v3.parser.core.models.AuthorizationValue;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import io.swagger.v3.parser.util.ClasspathHelper;
+import io.swagger.v3.parser.util.DeserializationUtils;
+import io.swagger.v3.parser.util.InlineModelResolver;
+import io.swagger.v3.parser.util.OpenAPIDeserializer;
+import io.swagger.v3.parser.util.RemoteUrl;
+import io.swagger.v3.parser.util.ResolverFully;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import org.openapitools.openapidiff.core.utils.ModelFields;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Parsed specifications keyed by a SHA-256 digest of their raw content and the parse options.
+ *
+ * <p>The content of a location is read on every lookup, so a changed document gets a new digest and
+ * is parsed again, from the content already read; nothing is invalidated by time. The digest of a
+ * location also covers the location itself, as relative references are resolved against it, but not
+ * the content of the documents it references.
+ *
+ * <p>Recently used specifications are kept in memory. With a directory set, specifications are also
+ * stored there as JSON and shared by every process using the directory. Concurrent lookups of the
+ * same digest parse it once.
+ *
+ * <p>A cached specification is shared by every comparison it is returned to and must not be
+ * modified.
+ */
+public class SpecCache {
+  private static final Logger log = LoggerFactory.getLogger(SpecCache.class);
+  private static final OpenAPIParser PARSER = new OpenAPIParser();
+  private static final SpecCache SHARED = new SpecCache();
+
+  private int maxEntries = 16;
+  private Path directory;
+  private final Map<String, CompletableFuture<OpenAPI>> entries =
+      new LinkedHashMap<String, CompletableFuture<OpenAPI>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CompletableFuture<OpenAPI>> eldest) {
+          return size() > maxEntries;
+        }
+      };
+
+  /**
+   * @return an in-memory cache shared by the whole process, used by {@link OpenApiCompare} only
+   *     when set on its options
+   */
+  public static SpecCache shared() {
+    return SHARED;
+  }
+
+  /**
+   * @param maxEntries number of specifications kept in memory, 16 by default
+   * @return this cache
+   */
+  public synchronized SpecCache setMaxEntries(int maxEntries) {
+    this.maxEntries = maxEntries;
+    return this;
+  }
+
+  /**
+   * @param directory directory the parsed specifications are stored in, none by default
+   * @return this cache
+   */
+  public synchronized SpecCache setDirectory(Path directory) {
+    this.directory = directory;
+    return this;
+  }
+
+  /**
+   * @param content content of a specification
+   * @param auths authorizations used to resolve remote references
+   * @param options parse options
+   * @return the parsed specification, or null if the content is not a specification
+   */
+  public OpenAPI readContent(String content, List<AuthorizationValue> auths, ParseOptions options) {
+    String digest = digest(content, null, auths, options);
+    return get(digest, () -> PARSER.readContents(content, auths, options).getOpenAPI());
+  }
+
+  /**
+   * @param location location of a specification: a file, a classpath resource or an http url
+   * @param auths authorizations used to read the location and resolve remote references
+   * @param options parse options
+   * @return the parsed specification, or null if the location cannot be read as a specification
+   */
+  public OpenAPI readLocation(
+      String location, List<AuthorizationValue> auths, ParseOptions options) {
+    String content = readContent(location, auths);
+    if (content == null) {
+      // let the parser report the unreadable location
+      return PARSER.readLocation(location, auths, options).getOpenAPI();
+    }
+    String digest = digest(content, location, auths, options);
+    return get(digest, () -> parse(content, location, auths, options));
+  }
+
+  /** Removes every specification kept in memory. */
+  public synchronized void clear() {
+    entries.clear();
+  }
+
+  private OpenAPI get(String digest, Supplier<OpenAPI> parser) {
+    CompletableFuture<OpenAPI> entry;
+    boolean owner = false;
+    synchronized (this) {
+      entry = entries.get(digest);
+      if (entry == null) {
+        entry = new CompletableFuture<>();
+        entries.put(digest, entry);
+        owner = true;
+      }
+    }
+    if (!owner) {
+      log.debug("Reusing parsed specification {}", digest);
+      try {
+        return entry.join();
+      } catch (CompletionException e) {
+        throw e.getCause() instanceof RuntimeException
+            ? (RuntimeException) e.getCause()
+            : new IllegalStateException(e.getCause());
+      }
+    }
+    try {
+      OpenAPI spec = load(digest);
+      if (spec == null) {
+        spec = parser.get();
+        if (spec != null) {
+          store(digest, spec);
+        }
+      }
+      entry.complete(spec);
+      if (spec == null) {
+        remove(digest, entry);
+      }
+      return spec;
+    } catch (RuntimeException e) {
+      entry.completeExceptionally(e);
+      remove(digest, entry);
+      throw e;
+    }
+  }
+
+  private synchronized void remove(String digest, CompletableFuture<OpenAPI> entry) {
+    entries.remove(digest, entry);
+  }
+
+  private OpenAPI load(String digest) {
+    Path file = file(digest);
+    if (file == null || !Files.isRegularFile(file)) {
+      return null;
+    }
+    try {
+      log.debug("Reading parsed specification {} from {}", digest, file);
+      return Json.mapper().readValue(file.toFile(), OpenAPI.class);
+    } catch (IOException e) {
+      log.warn("Cannot read parsed specification from {}", file, e);
+      return null;
+    }
+  }
+
+  private void store(String digest, OpenAPI spec) {
+    Path file = file(digest);
+    if (file == null) {
+      return;
+    }
+    try {
+      Files.createDirectories(file.getParent());
+      Path temp = Files.createTempFile(file.getParent(), digest, ".tmp");
+      Json.mapper().writeValue(temp.toFile(), spec);
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      log.warn("Cannot write parsed specification to {}", file, e);
+    }
+  }
+
+  private synchronized Path file(String digest) {
+    return directory != null ? directory.resolve(digest + ".json") : null;
+  }
+
+  /** Reads a location the way the parser does, or returns null if it cannot be read. */
+  private static String readContent(String location, List<AuthorizationValue> auths) {
+    try {
+      String lowerCase = location.toLowerCase();
+      if (lowerCase.startsWith("http:") || lowerCase.startsWith("https:")) {
+        return RemoteUrl.urlToString(location, auths);
+      }
+      Path path =
+          lowerCase.startsWith("file:") ? Paths.get(URI.create(location)) : Paths.get(location);
+      if (Files.exists(path)) {
+        return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+      }
+      return ClasspathHelper.loadFileFromClasspath(location);
+    } catch (Exception e) {
+      log.debug("Cannot read {}", location, e);
+      return null;
+    }
+  }
+
+  /**
+   * Parses the content read from a location the way the parser reads the location, resolving
+   * relative references against it. Swagger 2 documents, which the parser converts, are read from
+   * the location again.
+   */
+  private static OpenAPI parse(
+      String content, String location, List<AuthorizationValue> auths, ParseOptions options) {
+    SwaggerParseResult result = new SwaggerParseResult();
+    JsonNode node;
+    try {
+      node = DeserializationUtils.deserializeIntoTree(content, location, options, result);
+    } catch (Exception e) {
+      log.debug("Cannot read {} as a tree", location, e);
+      node = null;
+    }
+    if (node == null || !node.has("openapi")) {
+      return PARSER.readLocation(location, auths, options).getOpenAPI();
+    }
+    result = new OpenAPIDeserializer().deserialize(node, location, options);
+    OpenAPI spec = result.getOpenAPI();
+    if (spec == null || options == null) {
+      return spec;
+    }
+    try {
+      if (options.isResolve() || options.isResolveFully()) {
+        new OpenAPIResolver(
+                spec, auths != null ? auths : Collections.emptyList(), location, null, options)
+            .resolve(result);
+        if (options.isResolveFully()) {
+          new ResolverFully(options.isResolveCombinators()).resolveFully(spec);
+        }
+      }
+      if (options.isFlatten()) {
+        new InlineModelResolver(
+                options.isFlattenComposedSchemas(),
+                options.isCamelCaseFlattenNaming(),
+                options.isSkipMatches())
+            .flatten(spec);
+      }
+    } catch (Exception e) {
+      log.warn("Cannot resolve {}", location, e);
+    }
+    return spec;
+  }
+
+  private static String digest(
+      String content, String location, List<AuthorizationValue> auths, ParseOptions options) {
+    MessageDigest sha256;
+    try {
+      sha256 = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+    update(sha256, content);
+    update(sha256, location);
+    if (auths != null) {
+      for (AuthorizationValue auth : auths) {
+        update(sha256, auth.getType());
+        update(sha256, auth.getKeyName());
+        update(sha256, auth.getValue());
+      }
+    }
+    if (options != null) {
+      for (Field field : ModelFields.of(ParseOptions.class)) {
+        update(sha256, field.getName());
+        update(sha256, String.valueOf(ModelFields.get(field, options)));
+      }
+    }
+    StringBuilder hex = new StringBuilder();
+    for (byte b : sha256.digest()) {
+      hex.append(String.format("%02x", b));
+    }
+    return hex.toString();
+  }
+
+  private static void update(MessageDigest digest, String value) {
+    if (value == null) {
+      digest.update((byte) 0);
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    digest.update((byte) 1);
+    digest.update(
+        new byte[] {
+          (byte) (bytes.length >>> 24),
+          (byte) (bytes.length >>> 16),
+          (byte) (bytes.length >>> 8),
+          (byte) bytes.length
+        });
+    digest.update(bytes);
+  }
+}
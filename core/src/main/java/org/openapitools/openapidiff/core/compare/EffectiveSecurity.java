@@ -0,0 +1,57 @@
+package org.openapitools.openapidiff.core.compare;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.security.SecurityRequirement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The security requirements applying to the operations of a specification, read without modifying
+ * it.
+ *
+ * <p>When the specification declares global requirements, an operation without requirements of its
+ * own gets them, and duplicate requirements are dropped. The distinct global requirements are
+ * computed once and shared by every operation they apply to. Without global requirements, the
+ * requirements of an operation are used as declared.
+ */
+final class EffectiveSecurity {
+  private final List<SecurityRequirement> global;
+
+  EffectiveSecurity(OpenAPI spec) {
+    this.global = spec.getSecurity() != null ? distinct(spec.getSecurity()) : null;
+  }
+
+  /**
+   * @param operation an operation of the specification
+   * @return the requirements applying to the operation, null if there are none
+   */
+  List<SecurityRequirement> of(Operation operation) {
+    if (global == null) {
+      return operation.getSecurity();
+    }
+    if (operation.getSecurity() == null) {
+      return global;
+    }
+    return distinct(operation.getSecurity());
+  }
+
+  /** @return the requirements without duplicates, the given list itself if it has none */
+  private static List<SecurityRequirement> distinct(List<SecurityRequirement> requirements) {
+    Set<SecurityRequirement> seen = new HashSet<>();
+    List<SecurityRequirement> distinct = null;
+    for (int i = 0; i < requirements.size(); i++) {
+      SecurityRequirement requirement = requirements.get(i);
+      if (seen.add(requirement)) {
+        if (distinct != null) {
+          distinct.add(requirement);
+        }
+      } else if (distinct == null) {
+        distinct = new ArrayList<>(requirements.subList(0, i));
+      }
+    }
+    return distinct != null ? distinct : requirements;
+  }
+}
@@ -0,0 +1,123 @@
+package org.openapitools.openapidiff.core.compare;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * The {@link ExtensionDiff} implementations found on the class path by a single {@link
+ * ServiceLoader} scan, or given explicitly, indexed by the extension they handle.
+ *
+ * <p>An extension diff is bound to the comparison it runs in, so every comparison gets new
+ * instances. Sharing the providers between comparisons only saves the scan.
+ */
+public class ExtensionDiffProviders {
+  private static volatile ExtensionDiffProviders shared;
+
+  private final ClassLoader classLoader;
+  private final List<Class<? extends ExtensionDiff>> providers;
+  private final Map<String, Class<? extends ExtensionDiff>> byExtension;
+
+  private ExtensionDiffProviders(
+      ClassLoader classLoader,
+      List<Class<? extends ExtensionDiff>> providers,
+      Map<String, Class<? extends ExtensionDiff>> byExtension) {
+    this.classLoader = classLoader;
+    this.providers = providers;
+    this.byExtension = byExtension;
+  }
+
+  /** @return the providers visible to the context class loader of the calling thread */
+  public static ExtensionDiffProviders load() {
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    List<ExtensionDiff> extensionDiffs = new ArrayList<>();
+    for (ExtensionDiff extensionDiff : ServiceLoader.load(ExtensionDiff.class, classLoader)) {
+      extensionDiffs.add(extensionDiff);
+    }
+    return of(classLoader, extensionDiffs);
+  }
+
+  /**
+   * @param providers the extension diffs to use instead of those found on the class path
+   * @return the given providers, the first provider of an extension handling it
+   */
+  @SafeVarargs
+  public static ExtensionDiffProviders of(Class<? extends ExtensionDiff>... providers) {
+    List<ExtensionDiff> extensionDiffs = new ArrayList<>(providers.length);
+    for (Class<? extends ExtensionDiff> provider : providers) {
+      extensionDiffs.add(newInstance(provider));
+    }
+    return of(null, extensionDiffs);
+  }
+
+  private static ExtensionDiffProviders of(
+      ClassLoader classLoader, List<ExtensionDiff> extensionDiffs) {
+    List<Class<? extends ExtensionDiff>> providers = new ArrayList<>(extensionDiffs.size());
+    Map<String, Class<? extends ExtensionDiff>> byExtension = new HashMap<>();
+    for (ExtensionDiff extensionDiff : extensionDiffs) {
+      providers.add(extensionDiff.getClass());
+      // the first provider of an extension handles it
+      byExtension.putIfAbsent("x-" + extensionDiff.getName(), extensionDiff.getClass());
+    }
+    return new ExtensionDiffProviders(
+        classLoader,
+        Collections.unmodifiableList(providers),
+        byExtension.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(byExtension));
+  }
+
+  /**
+   * @return the providers visible to the context class loader of the calling thread, scanned once
+   *     for the whole process unless that class loader changes
+   */
+  public static ExtensionDiffProviders shared() {
+    ExtensionDiffProviders providers = shared;
+    if (providers == null
+        || providers.classLoader != Thread.currentThread().getContextClassLoader()) {
+      providers = load();
+      shared = providers;
+    }
+    return providers;
+  }
+
+  /** @return a new instance of every provider */
+  public List<ExtensionDiff> newInstances() {
+    List<ExtensionDiff> instances = new ArrayList<>(providers.size());
+    for (Class<? extends ExtensionDiff> provider : providers) {
+      instances.add(newInstance(provider));
+    }
+    return instances;
+  }
+
+  /** @return whether no extension has a provider */
+  public boolean isEmpty() {
+    return byExtension.isEmpty();
+  }
+
+  /**
+   * @param extension name of an extension, such as {@code x-extensible-enum}
+   * @return whether a provider handles the extension
+   */
+  public boolean handles(String extension) {
+    return byExtension.containsKey(extension);
+  }
+
+  /**
+   * @param extension name of an extension, such as {@code x-extensible-enum}
+   * @return a new instance of the provider handling the extension, null if there is none
+   */
+  public ExtensionDiff newInstance(String extension) {
+    Class<? extends ExtensionDiff> provider = byExtension.get(extension);
+    return provider != null ? newInstance(provider) : null;
+  }
+
+  private static ExtensionDiff newInstance(Class<? extends ExtensionDiff> provider) {
+    try {
+      return provider.getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("cannot instantiate " + provider.getName(), e);
+    }
+  }
+}
@@ -4,6 +4,7 @@ import static org.openapitools.openapidiff.core.utils.ChangedUtils.isChanged;
 import static org.openapitools.openapidiff.core.utils.Copy.copyMap;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import org.openapitools.openapidiff.core.model.Change;
 import org.openapitools.openapidiff.core.model.Changed;
@@ -12,41 +13,46 @@ import org.openapitools.openapidiff.core.model.DiffContext;
 
 public class ExtensionsDiff {
   private final OpenApiDiff openApiDiff;
+  private final ExtensionDiffProviders providers;
 
-  private final List<ExtensionDiff> extensionDiffs = new ArrayList<>();
+  /** Instances bound to this comparison, created on the first use of their extension. */
+  private final Map<String, ExtensionDiff> extensionDiffs = new ConcurrentHashMap<>();
 
   public ExtensionsDiff(OpenApiDiff openApiDiff) {
     this.openApiDiff = openApiDiff;
-    ServiceLoader<ExtensionDiff> extensionsLoader = ServiceLoader.load(ExtensionDiff.class);
-    extensionsLoader.reload();
-    for (ExtensionDiff anExtensionsLoader : extensionsLoader) {
-      extensionDiffs.add(anExtensionsLoader);
-    }
+    ExtensionDiffProviders configured = openApiDiff.getOptions().getExtensionDiffProviders();
+    this.providers = configured != null ? configured : ExtensionDiffProviders.shared();
   }
 
   public boolean isParentApplicable(
       Change.Type type, Object parent, Map<String, Object> extensions, DiffContext context) {
-    if (extensions.isEmpty()) {
+    if (extensions == null || extensions.isEmpty() || providers.isEmpty()) {
       return true;
     }
-    return extensions.entrySet().stream()
-        .map(
-            entry ->
-                executeExtension(
-                    entry.getKey(),
-                    extensionDiff ->
-                        extensionDiff.isParentApplicable(type, parent, entry.getValue(), context)))
-        .allMatch(aBoolean -> aBoolean.orElse(true));
+    for (Map.Entry<String, Object> entry : extensions.entrySet()) {
+      Optional<Boolean> applicable =
+          executeExtension(
+              entry.getKey(),
+              extensionDiff ->
+                  extensionDiff.isParentApplicable(type, parent, entry.getValue(), context));
+      if (!applicable.orElse(true)) {
+        return false;
+      }
+    }
+    return true;
   }
 
   public Optional<ExtensionDiff> getExtensionDiff(String name) {
-    return extensionDiffs.stream().filter(diff -> ("x-" + diff.getName()).equals(name)).findFirst();
+    if (!providers.handles(name)) {
+      return Optional.empty();
+    }
+    return Optional.of(
+        extensionDiffs.computeIfAbsent(
+            name, extension -> providers.newInstance(extension).setOpenApiDiff(openApiDiff)));
   }
 
   public <T> Optional<T> executeExtension(String name, Function<ExtensionDiff, T> predicate) {
-    return getExtensionDiff(name)
-        .map(extensionDiff -> extensionDiff.setOpenApiDiff(openApiDiff))
-        .map(predicate);
+    return getExtensionDiff(name).map(predicate);
   }
 
   public Optional<ChangedExtensions> diff(Map<String, Object> left, Map<String, Object> right) {
@@ -55,6 +61,10 @@ public class ExtensionsDiff {
 
   public Optional<ChangedExtensions> diff(
       Map<String, Object> left, Map<String, Object> right, DiffContext context) {
+    if (!handlesAny(left) && !handlesAny(right)) {
+      // changes of extensions without a provider are not reported
+      return Optional.empty();
+    }
     left = copyMap(left);
     right = copyMap(right);
     ChangedExtensions changedExtensions = new ChangedExtensions(left, copyMap(right), context);
@@ -78,8 +88,20 @@ public class ExtensionsDiff {
     return isChanged(changedExtensions);
   }
 
+  private boolean handlesAny(Map<String, Object> extensions) {
+    if (extensions == null || providers.isEmpty()) {
+      return false;
+    }
+    for (String name : extensions.keySet()) {
+      if (providers.handles(name)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   private Optional<Changed> executeExtensionDiff(
       String name, Change<?> change, DiffContext context) {
-    return executeExtension(name, diff -> diff.setOpenApiDiff(openApiDiff).diff(change, context));
+    return executeExtension(name, diff -> diff.diff(change, context));
   }
 }
@@ -0,0 +1,137 @@
+package org.openapitools.openapidiff.core.compare;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.openapitools.openapidiff.core.utils.ModelFields;
+import org.openapitools.openapidiff.core.utils.RefPointer;
+import org.openapitools.openapidiff.core.utils.RefType;
+
+/**
+ * Flattened composed schemas of one side of a comparison.
+ *
+ * <p>The allOf and anyOf parts of a composed schema are merged into a copy of it, so the parsed
+ * specification is left untouched. Each schema is flattened once per comparison, however many
+ * operations reach it. A schema whose flattening skipped a recursive reference depends on the path
+ * it was reached by and is not cached.
+ *
+ * <p>Each lookup keeps its own recursion state, so the workers of a parallel comparison flatten
+ * without a lock.
+ */
+public class FlattenedSchemaCache {
+  private static final RefPointer<Schema<?>> refPointer = new RefPointer<>(RefType.SCHEMAS);
+
+  private final Components components;
+  private final Map<IdentityKey, Schema<?>> flattened = new ConcurrentHashMap<>();
+
+  public FlattenedSchemaCache(Components components) {
+    this.components = components;
+  }
+
+  /**
+   * @param schema a resolved schema of this side
+   * @return the flattened copy of a composed schema, otherwise the schema itself
+   */
+  public Schema<?> flatten(Schema<?> schema) {
+    return new Flattener().flatten(schema);
+  }
+
+  /** Flattens one schema tree, following the references it is reached by. */
+  private class Flattener {
+    private final Set<String> visitedRefs = new HashSet<>();
+    private boolean recursionSkipped;
+
+    Schema<?> flatten(Schema<?> schema) {
+      if (!(schema instanceof ComposedSchema)) {
+        return schema;
+      }
+      ComposedSchema composedSchema = (ComposedSchema) schema;
+      List<Schema> composedSchemas = new ArrayList<>();
+      if (composedSchema.getAllOf() != null) {
+        composedSchemas.addAll(composedSchema.getAllOf());
+      }
+      if (composedSchema.getAnyOf() != null) {
+        composedSchemas.addAll(composedSchema.getAnyOf());
+      }
+      if (composedSchemas.isEmpty()) {
+        return schema;
+      }
+      IdentityKey key = new IdentityKey(schema);
+      Schema<?> cached = flattened.get(key);
+      if (cached != null) {
+        return cached;
+      }
+
+      boolean outerRecursionSkipped = recursionSkipped;
+      recursionSkipped = false;
+      Schema<?> result = copyOf(composedSchema);
+      ((ComposedSchema) result).setAllOf(null);
+      ((ComposedSchema) result).setAnyOf(null);
+      for (Schema<?> composed : composedSchemas) {
+        String ref = composed.get$ref();
+        if (ref != null && !visitedRefs.add(ref)) {
+          recursionSkipped = true;
+          continue;
+        }
+        try {
+          composed = refPointer.resolveRef(components, composed, ref);
+          SchemaDiff.addSchema(result, flatten(composed));
+        } finally {
+          if (ref != null) {
+            visitedRefs.remove(ref);
+          }
+        }
+      }
+      if (!recursionSkipped) {
+        // a schema flattened by two threads at once is returned as the copy cached first
+        cached = flattened.putIfAbsent(key, result);
+        if (cached != null) {
+          result = cached;
+        }
+      }
+      recursionSkipped |= outerRecursionSkipped;
+      return result;
+    }
+  }
+
+  /**
+   * Copies a schema along with every container and nested model object {@link
+   * SchemaDiff#addSchema(Schema, Schema)} may modify.
+   */
+  @SuppressWarnings("unchecked")
+  private static <T> T copyOf(T model) {
+    T copy;
+    try {
+      copy = (T) model.getClass().getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalArgumentException("cannot copy " + model.getClass(), e);
+    }
+    for (Field field : ModelFields.of(model.getClass())) {
+      Object value = ModelFields.get(field, model);
+      if (value instanceof List) {
+        value = new ArrayList<>((Collection<?>) value);
+      } else if (value instanceof Set) {
+        value = new LinkedHashSet<>((Collection<?>) value);
+      } else if (value instanceof Map) {
+        value = new LinkedHashMap<>((Map<?, ?>) value);
+      } else if (value != null
+          && !(value instanceof Enum)
+          && (field.getName().equals("not") || !(value instanceof Schema))
+          && value.getClass().getName().startsWith("io.swagger.v3.oas.models.")) {
+        value = copyOf(value);
+      }
+      ModelFields.set(field, copy, value);
+    }
+    return copy;
+  }
+}
@@ -0,0 +1,23 @@
+package org.openapitools.openapidiff.core.compare;
+
+/**
+ * Key of a concurrent map comparing model objects by identity, as their own equality walks the
+ * whole model.
+ */
+final class IdentityKey {
+  private final Object object;
+
+  IdentityKey(Object object) {
+    this.object = object;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return o instanceof IdentityKey && ((IdentityKey) o).object == object;
+  }
+
+  @Override
+  public int hashCode() {
+    return System.identityHashCode(object);
+  }
+}
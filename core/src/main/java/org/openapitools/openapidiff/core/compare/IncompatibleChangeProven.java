@@ -0,0 +1,11 @@
+package org.openapitools.openapidiff.core.compare;
+
+/**
+ * Stops a verdict-only comparison as soon as an incompatible change is found, since no later change
+ * can lower its result.
+ */
+final class IncompatibleChangeProven extends RuntimeException {
+  IncompatibleChangeProven() {
+    super("incompatible change", null, false, false);
+  }
+}
@@ -1,11 +1,23 @@
 package org.openapitools.openapidiff.core.compare;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.openapitools.openapidiff.core.model.ChangedList;
 
 public class ListDiff {
 
   private ListDiff() {}
 
+  /**
+   * Splits the values of both lists into the increased, missing and shared ones, in linear time.
+   *
+   * <p>Missing and shared values are in the order of the old list, increased ones in the order of
+   * the new list. A value repeated in the new list is increased as many times as it is repeated
+   * more often than in the old list, its first occurrences being matched with the old ones.
+   */
   public static <K extends ChangedList<X>, X> K diff(K instance) {
     if (instance.getOldValue() == null && instance.getNewValue() == null) {
       return instance;
@@ -18,15 +30,28 @@ public class ListDiff {
       instance.setMissing(instance.getOldValue());
       return instance;
     }
-    instance.getIncreased().addAll(instance.getNewValue());
-    for (X leftItem : instance.getOldValue()) {
-      if (instance.getNewValue().contains(leftItem)) {
-        instance.getIncreased().remove(leftItem);
+    List<X> oldValue = instance.getOldValue();
+    List<X> newValue = instance.getNewValue();
+    Set<X> newItems = new HashSet<>(newValue);
+    Map<X, Integer> unmatched = new HashMap<>();
+    for (X leftItem : oldValue) {
+      if (newItems.contains(leftItem)) {
         instance.getShared().add(leftItem);
+        unmatched.merge(leftItem, 1, Integer::sum);
       } else {
         instance.getMissing().add(leftItem);
       }
     }
+    for (X rightItem : newValue) {
+      Integer count = unmatched.get(rightItem);
+      if (count == null) {
+        instance.getIncreased().add(rightItem);
+      } else if (count == 1) {
+        unmatched.remove(rightItem);
+      } else {
+        unmatched.put(rightItem, count - 1);
+      }
+    }
     return instance;
   }
 }
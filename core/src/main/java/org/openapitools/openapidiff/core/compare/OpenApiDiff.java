@@ -4,22 +4,32 @@ import static org.openapitools.openapidiff.core.compare.PathsDiff.valOrEmpty;
 
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.PathItem;
-import io.swagger.v3.oas.models.security.SecurityRequirement;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Supplier;
+import org.openapitools.openapidiff.core.metrics.DiffMetrics;
+import org.openapitools.openapidiff.core.metrics.DiffMetricsListener;
+import org.openapitools.openapidiff.core.metrics.DiffPhase;
+import org.openapitools.openapidiff.core.model.Changed;
 import org.openapitools.openapidiff.core.model.ChangedExtensions;
 import org.openapitools.openapidiff.core.model.ChangedOpenApi;
 import org.openapitools.openapidiff.core.model.ChangedOperation;
 import org.openapitools.openapidiff.core.model.ChangedPath;
 import org.openapitools.openapidiff.core.model.ChangedPaths;
+import org.openapitools.openapidiff.core.model.ChangedSchema;
+import org.openapitools.openapidiff.core.model.DiffResult;
 import org.openapitools.openapidiff.core.model.Endpoint;
 import org.openapitools.openapidiff.core.model.deferred.DeferredChanged;
 import org.openapitools.openapidiff.core.model.deferred.DeferredSchemaCache;
 import org.openapitools.openapidiff.core.utils.EndpointUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class OpenApiDiff {
+  private static final Logger log = LoggerFactory.getLogger(OpenApiDiff.class);
+
   private PathsDiff pathsDiff;
   private PathDiff pathDiff;
   private SchemaDiff schemaDiff;
@@ -41,19 +51,31 @@ public class OpenApiDiff {
   private MetadataDiff metadataDiff;
   private final OpenAPI oldSpecOpenApi;
   private final OpenAPI newSpecOpenApi;
+  private final OpenApiDiffOptions options;
+  private final boolean verdictOnly;
+  private final DiffMetrics metrics = new DiffMetrics();
   private List<Endpoint> newEndpoints;
   private List<Endpoint> missingEndpoints;
   private List<ChangedOperation> changedOperations;
   private ChangedExtensions changedExtensions;
   private DeferredSchemaCache deferredSchemaCache;
+  private PreviousDiff previousDiff;
+  private EffectiveSecurity oldSecurity;
+  private EffectiveSecurity newSecurity;
 
   /*
    * @param oldSpecOpenApi
    * @param newSpecOpenApi
    */
-  private OpenApiDiff(OpenAPI oldSpecOpenApi, OpenAPI newSpecOpenApi) {
+  private OpenApiDiff(
+      OpenAPI oldSpecOpenApi,
+      OpenAPI newSpecOpenApi,
+      OpenApiDiffOptions options,
+      boolean verdictOnly) {
     this.oldSpecOpenApi = oldSpecOpenApi;
     this.newSpecOpenApi = newSpecOpenApi;
+    this.options = options != null ? options : OpenApiDiffOptions.defaults();
+    this.verdictOnly = verdictOnly;
     if (null == oldSpecOpenApi || null == newSpecOpenApi) {
       throw new RuntimeException("one of the old or new object is null");
     }
@@ -61,7 +83,62 @@ public class OpenApiDiff {
   }
 
   public static ChangedOpenApi compare(OpenAPI oldSpec, OpenAPI newSpec) {
-    return new OpenApiDiff(oldSpec, newSpec).compare();
+    return compare(oldSpec, newSpec, OpenApiDiffOptions.defaults());
+  }
+
+  public static ChangedOpenApi compare(
+      OpenAPI oldSpec, OpenAPI newSpec, OpenApiDiffOptions options) {
+    OpenApiDiff openApiDiff = new OpenApiDiff(oldSpec, newSpec, options, false);
+    return openApiDiff.metrics.bind(openApiDiff::compare);
+  }
+
+  /**
+   * Compares again specifications of which earlier versions were compared before. Only the path
+   * items and schemas affected by the changes since are compared, the diffs of the others are taken
+   * from the previous comparison.
+   *
+   * @param oldSpec old specification
+   * @param newSpec new specification
+   * @param options comparison options, the same as for the previous comparison
+   * @param previous the comparison of the earlier versions
+   * @param oldFingerprint the {@link SpecFingerprint#of fingerprint} of the old specification
+   * @param newFingerprint the {@link SpecFingerprint#of fingerprint} of the new specification
+   * @param changedPointers pointers of the entries which changed in either specification since, see
+   *     {@link SpecFingerprint#changedPointers(SpecFingerprint)}
+   * @return the same comparison as a full one
+   */
+  public static ChangedOpenApi compare(
+      OpenAPI oldSpec,
+      OpenAPI newSpec,
+      OpenApiDiffOptions options,
+      ChangedOpenApi previous,
+      SpecFingerprint oldFingerprint,
+      SpecFingerprint newFingerprint,
+      Set<String> changedPointers) {
+    OpenApiDiff openApiDiff = new OpenApiDiff(oldSpec, newSpec, options, false);
+    openApiDiff.previousDiff =
+        new PreviousDiff(
+            previous,
+            oldFingerprint,
+            newFingerprint,
+            changedPointers,
+            openApiDiff.options.isCanonicalSchemaCache());
+    return openApiDiff.metrics.bind(openApiDiff::compare);
+  }
+
+  /**
+   * Computes only the result of the comparison, without the report. Metadata and descriptions are
+   * not compared, so a comparison with only metadata changes results in {@link
+   * DiffResult#NO_CHANGES}, and the comparison stops at the first incompatible change.
+   *
+   * @param oldSpec old specification
+   * @param newSpec new specification
+   * @param options comparison options
+   * @return the result the full comparison would have, except for metadata changes
+   */
+  public static DiffResult verdict(OpenAPI oldSpec, OpenAPI newSpec, OpenApiDiffOptions options) {
+    OpenApiDiff openApiDiff = new OpenApiDiff(oldSpec, newSpec, options, true);
+    return openApiDiff.metrics.bind(openApiDiff::verdict);
   }
 
   private void initializeFields() {
@@ -88,16 +165,7 @@ public class OpenApiDiff {
   }
 
   private ChangedOpenApi compare() {
-    preProcess(oldSpecOpenApi);
-    preProcess(newSpecOpenApi);
-
-    // 1st pass scans paths to collect all schemas
-    DeferredChanged<ChangedPaths> paths =
-        this.pathsDiff.diff(
-            valOrEmpty(oldSpecOpenApi.getPaths()), valOrEmpty(newSpecOpenApi.getPaths()));
-
-    // 2nd pass processes deferred schemas
-    deferredSchemaCache.process();
+    DeferredChanged<ChangedPaths> paths = diffPaths();
 
     this.newEndpoints = new ArrayList<>();
     this.missingEndpoints = new ArrayList<>();
@@ -124,42 +192,136 @@ public class OpenApiDiff {
         .diff(oldSpecOpenApi.getExtensions(), newSpecOpenApi.getExtensions())
         .ifPresent(this::setChangedExtension);
 
+    DiffMetricsListener listener = options.getMetricsListener();
+    if (listener != null) {
+      listener.comparisonCompleted(metrics);
+    }
     return getChangedOpenApi();
   }
 
-  private void setChangedExtension(ChangedExtensions changedExtension) {
-    this.changedExtensions = changedExtension;
+  private DeferredChanged<ChangedPaths> diffPaths() {
+    timed(
+        DiffPhase.PRE_PROCESS,
+        () -> {
+          oldSecurity = new EffectiveSecurity(oldSpecOpenApi);
+          newSecurity = new EffectiveSecurity(newSpecOpenApi);
+          return null;
+        });
+
+    // 1st pass scans paths to collect all schemas
+    DeferredChanged<ChangedPaths> paths =
+        timed(
+            DiffPhase.PATHS,
+            () ->
+                this.pathsDiff.diff(
+                    valOrEmpty(oldSpecOpenApi.getPaths()), valOrEmpty(newSpecOpenApi.getPaths())));
+
+    // 2nd pass processes deferred schemas
+    timed(
+        DiffPhase.DEFERRED_SCHEMAS,
+        () -> {
+          deferredSchemaCache.process();
+          return null;
+        });
+    log.debug(
+        "Skipped {} of {} schema diffs as structurally identical",
+        metrics.getIdenticalSchemaDiffs(),
+        metrics.getSchemaDiffs());
+    return paths;
+  }
+
+  private DiffResult verdict() {
+    DiffResult result;
+    try {
+      result =
+          getExtensionsDiff()
+              .diff(oldSpecOpenApi.getExtensions(), newSpecOpenApi.getExtensions())
+              .map(Changed::isChanged)
+              .orElse(DiffResult.NO_CHANGES);
+      if (result != DiffResult.INCOMPATIBLE) {
+        result = max(result, verdict(diffPaths()));
+      }
+    } catch (IncompatibleChangeProven e) {
+      result = DiffResult.INCOMPATIBLE;
+    }
+    DiffMetricsListener listener = options.getMetricsListener();
+    if (listener != null) {
+      listener.comparisonCompleted(metrics);
+    }
+    return result;
   }
 
-  private void preProcess(OpenAPI openApi) {
-    List<SecurityRequirement> securityRequirements = openApi.getSecurity();
-    if (securityRequirements != null) {
-      List<SecurityRequirement> distinctSecurityRequirements =
-          securityRequirements.stream().distinct().collect(Collectors.toList());
-      Map<String, PathItem> paths = openApi.getPaths();
-      if (paths != null) {
-        paths
-            .values()
-            .forEach(
-                pathItem ->
-                    pathItem.readOperationsMap().values().stream()
-                        .filter(operation -> operation.getSecurity() != null)
-                        .forEach(
-                            operation ->
-                                operation.setSecurity(
-                                    operation.getSecurity().stream()
-                                        .distinct()
-                                        .collect(Collectors.toList()))));
-        paths
-            .values()
-            .forEach(
-                pathItem ->
-                    pathItem.readOperationsMap().values().stream()
-                        .filter(operation -> operation.getSecurity() == null)
-                        .forEach(operation -> operation.setSecurity(distinctSecurityRequirements)));
+  /** Same result as {@link ChangedOpenApi#isChanged()}, without collecting the endpoints. */
+  private DiffResult verdict(DeferredChanged<ChangedPaths> paths) {
+    DiffResult result = DiffResult.NO_CHANGES;
+    if (paths.isPresent()) {
+      ChangedPaths changedPaths = paths.get();
+      if (hasOperations(changedPaths.getMissing().values())) {
+        return DiffResult.INCOMPATIBLE;
+      }
+      if (hasOperations(changedPaths.getIncreased().values())) {
+        result = DiffResult.COMPATIBLE;
+      }
+      for (ChangedPath changedPath : changedPaths.getChanged().values()) {
+        if (!changedPath.getMissing().isEmpty()) {
+          return DiffResult.INCOMPATIBLE;
+        }
+        if (!changedPath.getIncreased().isEmpty()) {
+          result = max(result, DiffResult.COMPATIBLE);
+        }
+        for (ChangedOperation changedOperation : changedPath.getChanged()) {
+          result = max(result, changedOperation.isChanged());
+        }
       }
-      openApi.setSecurity(null);
     }
+    for (ChangedSchema changedSchema : deferredSchemaCache.getChangedSchemas()) {
+      result = max(result, changedSchema.isChanged());
+    }
+    return result;
+  }
+
+  private static boolean hasOperations(Collection<PathItem> pathItems) {
+    return pathItems.stream().anyMatch(pathItem -> !pathItem.readOperationsMap().isEmpty());
+  }
+
+  private static DiffResult max(DiffResult a, DiffResult b) {
+    return a.getWeight() >= b.getWeight() ? a : b;
+  }
+
+  /**
+   * Stops a verdict-only comparison when the change is incompatible, which no other change can
+   * lower. Does nothing in a full comparison.
+   */
+  void checkIncompatible(Changed changed) {
+    if (verdictOnly && changed.isChanged() == DiffResult.INCOMPATIBLE) {
+      throw new IncompatibleChangeProven();
+    }
+  }
+
+  /** @return what is reused from a previous comparison, null for a full comparison */
+  PreviousDiff getPreviousDiff() {
+    return previousDiff;
+  }
+
+  /** @return whether only the result is computed, see {@link #verdict} */
+  public boolean isVerdictOnly() {
+    return verdictOnly;
+  }
+
+  private <T> T timed(DiffPhase phase, Supplier<T> task) {
+    long start = System.nanoTime();
+    T result = task.get();
+    long nanos = System.nanoTime() - start;
+    metrics.recordPhase(phase, nanos);
+    DiffMetricsListener listener = options.getMetricsListener();
+    if (listener != null) {
+      listener.phaseCompleted(phase, nanos);
+    }
+    return result;
+  }
+
+  private void setChangedExtension(ChangedExtensions changedExtension) {
+    this.changedExtensions = changedExtension;
   }
 
   private ChangedOpenApi getChangedOpenApi() {
@@ -170,7 +332,17 @@ public class OpenApiDiff {
         .setOldSpecOpenApi(oldSpecOpenApi)
         .setChangedOperations(changedOperations)
         .setChangedExtensions(changedExtensions)
-        .setChangedSchemas(deferredSchemaCache.getChangedSchemas());
+        .setChangedSchemas(deferredSchemaCache.getChangedSchemas())
+        .setSchemaCacheEntries(deferredSchemaCache.getEntries());
+  }
+
+  public OpenApiDiffOptions getOptions() {
+    return options;
+  }
+
+  /** @return the counters and phase timings of this comparison */
+  public DiffMetrics getMetrics() {
+    return metrics;
   }
 
   public DeferredSchemaCache getDeferredSchemaCache() {
@@ -193,6 +365,16 @@ public class OpenApiDiff {
     return this.contentDiff;
   }
 
+  /** @return the security requirements applying to the operations of the old specification */
+  EffectiveSecurity getOldSecurity() {
+    return oldSecurity;
+  }
+
+  /** @return the security requirements applying to the operations of the new specification */
+  EffectiveSecurity getNewSecurity() {
+    return newSecurity;
+  }
+
   public ParametersDiff getParametersDiff() {
     return this.parametersDiff;
   }
@@ -0,0 +1,173 @@
+package org.openapitools.openapidiff.core.compare;
+
+import java.util.concurrent.ForkJoinPool;
+import org.openapitools.openapidiff.core.SpecCache;
+import org.openapitools.openapidiff.core.metrics.DiffMetricsListener;
+
+/** Tuning options for a single {@link OpenApiDiff} comparison. */
+public class OpenApiDiffOptions {
+  private boolean parallel;
+  private boolean parallelParsing;
+  private ForkJoinPool pool;
+  private boolean schemaHashing = true;
+  private boolean canonicalSchemaCache;
+  private DiffMetricsListener metricsListener;
+  private SpecCache specCache;
+  private ExtensionDiffProviders extensionDiffProviders;
+  private SchemaDiffResultFactories schemaDiffResultFactories;
+
+  public static OpenApiDiffOptions defaults() {
+    return new OpenApiDiffOptions();
+  }
+
+  /** @return new options with the same settings, to adjust without modifying these */
+  public OpenApiDiffOptions copy() {
+    OpenApiDiffOptions copy = new OpenApiDiffOptions();
+    copy.parallel = parallel;
+    copy.parallelParsing = parallelParsing;
+    copy.pool = pool;
+    copy.schemaHashing = schemaHashing;
+    copy.canonicalSchemaCache = canonicalSchemaCache;
+    copy.metricsListener = metricsListener;
+    copy.specCache = specCache;
+    copy.extensionDiffProviders = extensionDiffProviders;
+    copy.schemaDiffResultFactories = schemaDiffResultFactories;
+    return copy;
+  }
+
+  public boolean isParallel() {
+    return parallel;
+  }
+
+  /**
+   * Diff matched path items concurrently. The resulting {@code ChangedOpenApi} is ordered exactly
+   * as in sequential mode.
+   *
+   * @param parallel whether path items are diffed concurrently
+   * @return this options instance
+   */
+  public OpenApiDiffOptions setParallel(boolean parallel) {
+    this.parallel = parallel;
+    return this;
+  }
+
+  public boolean isParallelParsing() {
+    return parallelParsing;
+  }
+
+  /**
+   * Parse the new specification on the pool while the old one is parsed on the calling thread. Only
+   * used when {@code OpenApiCompare} reads the specifications.
+   *
+   * @param parallelParsing whether both specifications are parsed concurrently
+   * @return this options instance
+   */
+  public OpenApiDiffOptions setParallelParsing(boolean parallelParsing) {
+    this.parallelParsing = parallelParsing;
+    return this;
+  }
+
+  public ForkJoinPool getPool() {
+    return pool != null ? pool : ForkJoinPool.commonPool();
+  }
+
+  /**
+   * @param pool pool used in parallel mode and for parallel parsing, defaults to {@link
+   *     ForkJoinPool#commonPool()}
+   * @return this options instance
+   */
+  public OpenApiDiffOptions setPool(ForkJoinPool pool) {
+    this.pool = pool;
+    return this;
+  }
+
+  public boolean isSchemaHashing() {
+    return schemaHashing;
+  }
+
+  /**
+   * Skip the diff of schemas whose structural hashes are equal. Enabled by default.
+   *
+   * @param schemaHashing whether structurally identical schemas are skipped
+   * @return this options instance
+   */
+  public OpenApiDiffOptions setSchemaHashing(boolean schemaHashing) {
+    this.schemaHashing = schemaHashing;
+    return this;
+  }
+
+  public boolean isCanonicalSchemaCache() {
+    return canonicalSchemaCache;
+  }
+
+  /**
+   * Diff each pair of referenced schemas once per request/response, required and PUT context
+   * instead of once per operation. Every operation gets a copy of the shared top level change bound
+   * to its own context; nested changes carry the shared context.
+   *
+   * @param canonicalSchemaCache whether schema diffs are shared between operations
+   * @return this options instance
+   */
+  public OpenApiDiffOptions setCanonicalSchemaCache(boolean canonicalSchemaCache) {
+    this.canonicalSchemaCache = canonicalSchemaCache;
+    return this;
+  }
+
+  public DiffMetricsListener getMetricsListener() {
+    return metricsListener;
+  }
+
+  /**
+   * @param metricsListener receives the phase timings and counters of the comparison, none by
+   *     default
+   * @return this options instance
+   */
+  public OpenApiDiffOptions setMetricsListener(DiffMetricsListener metricsListener) {
+    this.metricsListener = metricsListener;
+    return this;
+  }
+
+  public SpecCache getSpecCache() {
+    return specCache;
+  }
+
+  /**
+   * @param specCache cache of the specifications parsed by {@code OpenApiCompare}, such as {@link
+   *     SpecCache#shared()}; none by default, so every specification is parsed
+   * @return this options instance
+   */
+  public OpenApiDiffOptions setSpecCache(SpecCache specCache) {
+    this.specCache = specCache;
+    return this;
+  }
+
+  public ExtensionDiffProviders getExtensionDiffProviders() {
+    return extensionDiffProviders;
+  }
+
+  /**
+   * @param extensionDiffProviders extension diffs shared by comparisons, by default those found
+   *     once for the process by {@link ExtensionDiffProviders#shared()}
+   * @return this options instance
+   */
+  public OpenApiDiffOptions setExtensionDiffProviders(
+      ExtensionDiffProviders extensionDiffProviders) {
+    this.extensionDiffProviders = extensionDiffProviders;
+    return this;
+  }
+
+  public SchemaDiffResultFactories getSchemaDiffResultFactories() {
+    return schemaDiffResultFactories;
+  }
+
+  /**
+   * @param schemaDiffResultFactories schema diff results by schema class, by default those found
+   *     once for the process by {@link SchemaDiffResultFactories#shared()}
+   * @return this options instance
+   */
+  public OpenApiDiffOptions setSchemaDiffResultFactories(
+      SchemaDiffResultFactories schemaDiffResultFactories) {
+    this.schemaDiffResultFactories = schemaDiffResultFactories;
+    return this;
+  }
+}
@@ -4,6 +4,7 @@ import static org.openapitools.openapidiff.core.utils.ChangedUtils.isChanged;
 
 import io.swagger.v3.oas.models.Operation;
 import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.security.SecurityRequirement;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -30,6 +31,23 @@ public class OperationDiff {
 
   public DeferredChanged<ChangedOperation> diff(
       Operation oldOperation, Operation newOperation, DiffContext context) {
+    return diff(oldOperation, newOperation, ParameterIndex.EMPTY, ParameterIndex.EMPTY, context);
+  }
+
+  /**
+   * @param oldOperation the old operation
+   * @param newOperation the new operation
+   * @param oldPathParameters parameters of the old path item, shared by its operations
+   * @param newPathParameters parameters of the new path item, shared by its operations
+   * @param context context of the operation
+   * @return the changes of the operation
+   */
+  public DeferredChanged<ChangedOperation> diff(
+      Operation oldOperation,
+      Operation newOperation,
+      ParameterIndex oldPathParameters,
+      ParameterIndex newPathParameters,
+      DiffContext context) {
 
     DeferredBuilder<Changed> builder = new DeferredBuilder<>();
     ChangedOperation changedOperation =
@@ -76,7 +94,12 @@ public class OperationDiff {
         .with(
             openApiDiff
                 .getParametersDiff()
-                .diff(oldOperation.getParameters(), newOperation.getParameters(), context))
+                .diff(
+                    oldPathParameters,
+                    oldOperation.getParameters(),
+                    newPathParameters,
+                    newOperation.getParameters(),
+                    context))
         .ifPresent(
             params -> {
               removePathParameters(context.getParameters(), params);
@@ -110,12 +133,11 @@ public class OperationDiff {
               });
     }
 
-    if (oldOperation.getSecurity() != null || newOperation.getSecurity() != null) {
+    List<SecurityRequirement> oldSecurity = openApiDiff.getOldSecurity().of(oldOperation);
+    List<SecurityRequirement> newSecurity = openApiDiff.getNewSecurity().of(newOperation);
+    if (oldSecurity != null || newSecurity != null) {
       builder
-          .with(
-              openApiDiff
-                  .getSecurityRequirementsDiff()
-                  .diff(oldOperation.getSecurity(), newOperation.getSecurity(), context))
+          .with(openApiDiff.getSecurityRequirementsDiff().diff(oldSecurity, newSecurity, context))
           .ifPresent(changedOperation::setSecurityRequirements);
     }
 
@@ -0,0 +1,114 @@
+package org.openapitools.openapidiff.core.compare;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.openapitools.openapidiff.core.utils.RefPointer;
+import org.openapitools.openapidiff.core.utils.RefType;
+
+/**
+ * Parameters with their references resolved, indexed by name and location.
+ *
+ * <p>The index of the parameters of a path item is built once and shared by its operations, each
+ * {@link #with adding} its own parameters. An operation parameter overrides the path item parameter
+ * of the same name and location.
+ */
+public class ParameterIndex {
+  public static final ParameterIndex EMPTY = new ParameterIndex(Collections.emptyList());
+
+  private static final RefPointer<Parameter> refPointer = new RefPointer<>(RefType.PARAMETERS);
+
+  private final List<Parameter> parameters;
+  private final Map<Key, List<Integer>> positions = new HashMap<>();
+
+  private ParameterIndex(List<Parameter> parameters) {
+    this.parameters = parameters;
+    for (int i = 0; i < parameters.size(); i++) {
+      positions.computeIfAbsent(new Key(parameters.get(i)), key -> new ArrayList<>(1)).add(i);
+    }
+  }
+
+  /**
+   * @param components components the parameter references point to
+   * @param parameters declared parameters, may be null
+   * @return the index of the parameters
+   */
+  public static ParameterIndex of(Components components, List<Parameter> parameters) {
+    if (parameters == null || parameters.isEmpty()) {
+      return EMPTY;
+    }
+    List<Parameter> resolved = new ArrayList<>(parameters.size());
+    for (Parameter parameter : parameters) {
+      resolved.add(refPointer.resolveRef(components, parameter, parameter.get$ref()));
+    }
+    return new ParameterIndex(resolved);
+  }
+
+  /**
+   * @param components components the parameter references point to
+   * @param parameters parameters declared by an operation, may be null
+   * @return the index of the parameters of this index not overridden, followed by the given ones
+   */
+  public ParameterIndex with(Components components, List<Parameter> parameters) {
+    ParameterIndex own = of(components, parameters);
+    if (this.parameters.isEmpty()) {
+      return own;
+    }
+    if (own.parameters.isEmpty()) {
+      return this;
+    }
+    List<Parameter> merged = new ArrayList<>(this.parameters.size() + own.parameters.size());
+    for (Parameter parameter : this.parameters) {
+      if (!own.positions.containsKey(new Key(parameter))) {
+        merged.add(parameter);
+      }
+    }
+    merged.addAll(own.parameters);
+    return new ParameterIndex(merged);
+  }
+
+  /** @return the resolved parameters, in the order they are declared */
+  public List<Parameter> getParameters() {
+    return Collections.unmodifiableList(parameters);
+  }
+
+  /**
+   * @param parameter a parameter
+   * @return the positions of the parameters of the same name and location, in order
+   */
+  public List<Integer> positions(Parameter parameter) {
+    return positions.getOrDefault(new Key(parameter), Collections.emptyList());
+  }
+
+  private static final class Key {
+    private final String name;
+    private final String in;
+
+    Key(Parameter parameter) {
+      this.name = parameter.getName();
+      this.in = parameter.getIn();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key key = (Key) o;
+      return Objects.equals(name, key.name) && Objects.equals(in, key.in);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(name, in);
+    }
+  }
+}
@@ -46,30 +46,76 @@ public class ParametersDiff {
         && Objects.equals(left.getIn(), right.getIn());
   }
 
+  /**
+   * @param parameters parameters of the old specification, such as those of a path item
+   * @return the index of the parameters
+   */
+  public ParameterIndex leftIndex(List<Parameter> parameters) {
+    return ParameterIndex.of(leftComponents, parameters);
+  }
+
+  /**
+   * @param parameters parameters of the new specification, such as those of a path item
+   * @return the index of the parameters
+   */
+  public ParameterIndex rightIndex(List<Parameter> parameters) {
+    return ParameterIndex.of(rightComponents, parameters);
+  }
+
   public DeferredChanged<ChangedParameters> diff(
       List<Parameter> left, List<Parameter> right, DiffContext context) {
+    return diff(ParameterIndex.EMPTY, left, ParameterIndex.EMPTY, right, context);
+  }
+
+  /**
+   * @param leftShared parameters of the old path item, overridden by the old operation ones
+   * @param left parameters of the old operation
+   * @param rightShared parameters of the new path item, overridden by the new operation ones
+   * @param right parameters of the new operation
+   * @param context context of the operation
+   * @return the changes of the parameters applying to the operation
+   */
+  public DeferredChanged<ChangedParameters> diff(
+      ParameterIndex leftShared,
+      List<Parameter> left,
+      ParameterIndex rightShared,
+      List<Parameter> right,
+      DiffContext context) {
 
     DeferredBuilder<Changed> builder = new DeferredBuilder<>();
     ChangedParameters changedParameters =
         new ChangedParameters(left, right != null ? new ArrayList<>(right) : null, context);
-    if (null == left) left = new ArrayList<>();
-    if (null == right) right = new ArrayList<>();
-
-    for (Parameter leftPara : left) {
-      leftPara = refPointer.resolveRef(leftComponents, leftPara, leftPara.get$ref());
+    List<Parameter> leftParameters = leftShared.with(leftComponents, left).getParameters();
+    ParameterIndex rightIndex = rightShared.with(rightComponents, right);
+    List<Parameter> rightParameters = rightIndex.getParameters();
+    // matched parameters are marked rather than removed, leave the new operation untouched
+    boolean[] matched = new boolean[rightParameters.size()];
 
-      Optional<Parameter> rightParam = contains(rightComponents, right, leftPara);
-      if (!rightParam.isPresent()) {
+    for (Parameter leftPara : leftParameters) {
+      int position = -1;
+      for (int candidate : rightIndex.positions(leftPara)) {
+        if (!matched[candidate]) {
+          position = candidate;
+          break;
+        }
+      }
+      if (position < 0) {
         changedParameters.getMissing().add(leftPara);
       } else {
-        Parameter rightPara = rightParam.get();
-        right.remove(rightPara);
+        matched[position] = true;
         builder
-            .with(openApiDiff.getParameterDiff().diff(leftPara, rightPara, context))
+            .with(
+                openApiDiff
+                    .getParameterDiff()
+                    .diff(leftPara, rightParameters.get(position), context))
             .ifPresent(changedParameters.getChanged()::add);
       }
     }
-    changedParameters.getIncreased().addAll(right);
+    for (int i = 0; i < rightParameters.size(); i++) {
+      if (!matched[i]) {
+        changedParameters.getIncreased().add(rightParameters.get(i));
+      }
+    }
 
     return builder.buildIsChanged(changedParameters);
   }
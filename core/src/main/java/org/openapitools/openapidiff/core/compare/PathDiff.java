@@ -5,10 +5,12 @@ import io.swagger.v3.oas.models.PathItem;
 import java.util.List;
 import java.util.Map;
 import org.openapitools.openapidiff.core.model.Changed;
+import org.openapitools.openapidiff.core.model.ChangedOperation;
 import org.openapitools.openapidiff.core.model.ChangedPath;
 import org.openapitools.openapidiff.core.model.DiffContext;
 import org.openapitools.openapidiff.core.model.deferred.DeferredBuilder;
 import org.openapitools.openapidiff.core.model.deferred.DeferredChanged;
+import org.openapitools.openapidiff.core.model.deferred.RealizedChanged;
 
 public class PathDiff {
   private final OpenApiDiff openApiDiff;
@@ -22,6 +24,9 @@ public class PathDiff {
     Map<PathItem.HttpMethod, Operation> newOperationMap = right.readOperationsMap();
     MapKeyDiff<PathItem.HttpMethod, Operation> operationsDiff =
         MapKeyDiff.diff(oldOperationMap, newOperationMap);
+    if (openApiDiff.isVerdictOnly() && !operationsDiff.getMissing().isEmpty()) {
+      throw new IncompatibleChangeProven();
+    }
     List<PathItem.HttpMethod> sharedMethods = operationsDiff.getSharedKey();
     DeferredBuilder<Changed> builder = new DeferredBuilder<>();
 
@@ -29,15 +34,36 @@ public class PathDiff {
         new ChangedPath(context.getUrl(), left, right, context)
             .setIncreased(operationsDiff.getIncreased())
             .setMissing(operationsDiff.getMissing());
+    PreviousDiff previousDiff = openApiDiff.getPreviousDiff();
+    boolean reused = previousDiff != null && previousDiff.isReusable(context.getUrl());
+    if (reused) {
+      openApiDiff.getMetrics().incrementReusedPathItems();
+      openApiDiff.getDeferredSchemaCache().addReused(previousDiff.getSchemas(context.getUrl()));
+    }
+    ParameterIndex oldPathParameters = ParameterIndex.EMPTY;
+    ParameterIndex newPathParameters = ParameterIndex.EMPTY;
+    if (!reused && !sharedMethods.isEmpty()) {
+      oldPathParameters = openApiDiff.getParametersDiff().leftIndex(left.getParameters());
+      newPathParameters = openApiDiff.getParametersDiff().rightIndex(right.getParameters());
+    }
     for (PathItem.HttpMethod method : sharedMethods) {
       Operation oldOperation = oldOperationMap.get(method);
       Operation newOperation = newOperationMap.get(method);
-      builder
-          .with(
-              openApiDiff
+      DeferredChanged<ChangedOperation> operation =
+          reused
+              ? new RealizedChanged<>(previousDiff.getOperation(context.getUrl(), method))
+              : openApiDiff
                   .getOperationDiff()
-                  .diff(oldOperation, newOperation, context.copyWithMethod(method)))
-          .ifPresent(changedPath.getChanged()::add);
+                  .diff(
+                      oldOperation,
+                      newOperation,
+                      oldPathParameters,
+                      newPathParameters,
+                      context.copyWithMethod(method));
+      if (openApiDiff.isVerdictOnly()) {
+        operation.ifPresent(openApiDiff::checkIncompatible);
+      }
+      builder.with(operation).ifPresent(changedPath.getChanged()::add);
     }
     builder
         .with(
@@ -1,56 +1,146 @@
 package org.openapitools.openapidiff.core.compare;
 
+import static org.openapitools.openapidiff.core.utils.ChangedUtils.isChanged;
+
 import io.swagger.v3.oas.models.Operation;
 import io.swagger.v3.oas.models.PathItem;
 import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.parameters.Parameter;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
-import io.swagger.v3.oas.models.parameters.Parameter;
-import org.openapitools.openapidiff.core.model.Changed;
+import org.openapitools.openapidiff.core.model.ChangedPath;
 import org.openapitools.openapidiff.core.model.ChangedPaths;
 import org.openapitools.openapidiff.core.model.DiffContext;
 import org.openapitools.openapidiff.core.model.deferred.DeferredBuilder;
 import org.openapitools.openapidiff.core.model.deferred.DeferredChanged;
+import org.openapitools.openapidiff.core.model.deferred.DeferredSchemaCache;
+import org.openapitools.openapidiff.core.model.deferred.RealizedChanged;
 
 public class PathsDiff {
-  private static final String REGEX_PATH = "\\{([^/]+)}";
+  private static final Pattern PATH_PARAMETER = Pattern.compile("\\{([^/]+)}");
   private final OpenApiDiff openApiDiff;
 
   public PathsDiff(OpenApiDiff openApiDiff) {
     this.openApiDiff = openApiDiff;
   }
 
-  private static String normalizePath(String path) {
-    return path.replaceAll(REGEX_PATH, "{}");
+  static String normalizePath(String path) {
+    if (path.indexOf('{') < 0) {
+      return path;
+    }
+    return PATH_PARAMETER.matcher(path).replaceAll("{}");
   }
 
   private static List<String> extractParameters(String path) {
     ArrayList<String> params = new ArrayList<>();
-    Pattern pattern = Pattern.compile(REGEX_PATH);
-    Matcher matcher = pattern.matcher(path);
+    Matcher matcher = PATH_PARAMETER.matcher(path);
     while (matcher.find()) {
       params.add(matcher.group(1));
     }
     return params;
   }
 
+  /**
+   * @param urls the urls of one side
+   * @return the urls grouped by their normalized template, in their original order
+   */
+  private static Map<String, Set<String>> indexByTemplate(Collection<String> urls) {
+    Map<String, Set<String>> index = new HashMap<>();
+    for (String url : urls) {
+      index.computeIfAbsent(normalizePath(url), template -> new LinkedHashSet<>()).add(url);
+    }
+    return index;
+  }
+
   public DeferredChanged<ChangedPaths> diff(
       final Map<String, PathItem> left, final Map<String, PathItem> right) {
-    DeferredBuilder<Changed> builder = new DeferredBuilder<>();
-
     ChangedPaths changedPaths = new ChangedPaths(left, right);
     changedPaths.getIncreased().putAll(right);
 
+    List<PathMatch> matches = match(left, changedPaths);
+    if (openApiDiff.isVerdictOnly()
+        && changedPaths.getMissing().values().stream()
+            .anyMatch(pathItem -> !pathItem.readOperationsMap().isEmpty())) {
+      throw new IncompatibleChangeProven();
+    }
+    if (openApiDiff.getOptions().isParallel()) {
+      return diffParallel(matches, changedPaths);
+    }
+
+    DeferredBuilder<ChangedPath> builder = new DeferredBuilder<>();
+    matches.forEach(match -> builder.add(diff(match)));
+    // changed paths are collected in the order of the left paths, not in resolution order
+    return builder
+        .build()
+        .mapOptional(
+            values -> {
+              List<Optional<? super ChangedPath>> changed = values.orElse(new ArrayList<>());
+              for (int i = 0; i < changed.size(); i++) {
+                String rightUrl = matches.get(i).rightUrl;
+                changed
+                    .get(i)
+                    .ifPresent(path -> changedPaths.getChanged().put(rightUrl, (ChangedPath) path));
+              }
+              return isChanged(changedPaths);
+            });
+  }
+
+  /**
+   * Diffs every matched path item in its own isolated schema cache on the configured pool. Each
+   * path item is fully resolved by its task, the results are then merged in the order of the left
+   * paths so the output does not depend on scheduling.
+   */
+  private DeferredChanged<ChangedPaths> diffParallel(
+      List<PathMatch> matches, ChangedPaths changedPaths) {
+    DeferredSchemaCache schemaCache = openApiDiff.getDeferredSchemaCache();
+    List<DeferredSchemaCache.Isolated<DeferredChanged<ChangedPath>>> results =
+        openApiDiff
+            .getOptions()
+            .getPool()
+            .submit(
+                () ->
+                    matches
+                        .parallelStream()
+                        .map(match -> schemaCache.isolate(() -> diff(match)))
+                        .collect(Collectors.toList()))
+            .join();
+
+    for (int i = 0; i < matches.size(); i++) {
+      String rightUrl = matches.get(i).rightUrl;
+      DeferredSchemaCache.Isolated<DeferredChanged<ChangedPath>> result = results.get(i);
+      schemaCache.merge(result);
+      result.getValue().ifPresent(path -> changedPaths.getChanged().put(rightUrl, path));
+    }
+    return new RealizedChanged<>(isChanged(changedPaths));
+  }
+
+  private DeferredChanged<ChangedPath> diff(PathMatch match) {
+    return openApiDiff.getPathDiff().diff(match.leftPath, match.rightPath, match.context);
+  }
+
+  /**
+   * Pairs every left path with its right counterpart. Matched right paths are removed from the
+   * increased paths, unmatched left paths are added to the missing paths.
+   */
+  private List<PathMatch> match(Map<String, PathItem> left, ChangedPaths changedPaths) {
+    List<PathMatch> matches = new ArrayList<>();
+    Map<String, PathItem> increased = changedPaths.getIncreased();
+    Map<String, Set<String>> rightUrls = indexByTemplate(increased.keySet());
     left.keySet()
         .forEach(
             (String url) -> {
               PathItem leftPath = left.get(url);
               String template = normalizePath(url);
+              Set<String> candidates = rightUrls.getOrDefault(template, Collections.emptySet());
               Optional<Map.Entry<String, PathItem>> result =
-                  changedPaths.getIncreased().entrySet().stream()
-                      .filter(item -> normalizePath(item.getKey()).equals(template))
+                  candidates.stream()
+                      .<Map.Entry<String, PathItem>>map(
+                          rightUrl ->
+                              new AbstractMap.SimpleImmutableEntry<>(
+                                  rightUrl, increased.get(rightUrl)))
                       .min(
                           (a, b) -> {
                             if (methodsAndParametersIntersect(a.getValue(), b.getValue())) {
@@ -73,7 +163,8 @@ public class PathsDiff {
                           });
               if (result.isPresent()) {
                 String rightUrl = result.get().getKey();
-                PathItem rightPath = changedPaths.getIncreased().remove(rightUrl);
+                candidates.remove(rightUrl);
+                PathItem rightPath = increased.remove(rightUrl);
                 Map<String, String> params = new LinkedHashMap<>();
                 if (!url.equals(rightUrl)) {
                   List<String> oldParams = extractParameters(url);
@@ -85,14 +176,12 @@ public class PathsDiff {
                 DiffContext context = new DiffContext();
                 context.setUrl(url);
                 context.setParameters(params);
-                builder
-                    .with(openApiDiff.getPathDiff().diff(leftPath, rightPath, context))
-                    .ifPresent(path -> changedPaths.getChanged().put(rightUrl, path));
+                matches.add(new PathMatch(leftPath, rightUrl, rightPath, context));
               } else {
                 changedPaths.getMissing().put(url, leftPath);
               }
             });
-    return builder.buildIsChanged(changedPaths);
+    return matches;
   }
 
   public static Paths valOrEmpty(Paths path) {
@@ -103,12 +192,10 @@ public class PathsDiff {
   }
 
   /**
-   *
    * @param a a path form the open api spec
    * @param b another path from the same open api spec
-   * @return <code>true</code> in case both paths are of the same method AND their templated parameters are of the same type;
-   * <code>false</code> otherwise
-   *
+   * @return <code>true</code> in case both paths are of the same method AND their templated
+   *     parameters are of the same type; <code>false</code> otherwise
    */
   private static boolean methodsAndParametersIntersect(PathItem a, PathItem b) {
     Set<PathItem.HttpMethod> methodsA = a.readOperationsMap().keySet();
@@ -126,16 +213,33 @@ public class PathsDiff {
   }
 
   /**
-   *
    * @param left parameters from the first compared method
    * @param right parameters from the second compared method
-   * @return <code>true</code> in case each parameter pair is of the same type; <code>false</code> otherwise
+   * @return <code>true</code> in case each parameter pair is of the same type; <code>false</code>
+   *     otherwise
    */
-  private static boolean parametersIntersect(List<Parameter> left, List<Parameter> right) {;
+  private static boolean parametersIntersect(List<Parameter> left, List<Parameter> right) {
+    ;
     int parametersSize = left.size();
-    long intersectedParameters = IntStream.range(0, left.size())
-            .filter(i -> left.get(i).getSchema().getType().equals(right.get(i).getSchema().getType()))
+    long intersectedParameters =
+        IntStream.range(0, left.size())
+            .filter(
+                i -> left.get(i).getSchema().getType().equals(right.get(i).getSchema().getType()))
             .count();
     return parametersSize == intersectedParameters;
   }
+
+  private static class PathMatch {
+    private final PathItem leftPath;
+    private final String rightUrl;
+    private final PathItem rightPath;
+    private final DiffContext context;
+
+    private PathMatch(PathItem leftPath, String rightUrl, PathItem rightPath, DiffContext context) {
+      this.leftPath = leftPath;
+      this.rightUrl = rightUrl;
+      this.rightPath = rightPath;
+      this.context = context;
+    }
+  }
 }
@@ -0,0 +1,106 @@
+package org.openapitools.openapidiff.core.compare;
+
+import io.swagger.v3.oas.models.PathItem;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.model.ChangedOperation;
+import org.openapitools.openapidiff.core.model.ChangedSchema;
+
+/**
+ * What a comparison reuses from the comparison of earlier versions of the same specifications.
+ *
+ * <p>A path item is compared again if it changed on either side, if another path item of the same
+ * template changed, since they may be matched differently, or if it references a changed component,
+ * directly or transitively. The changed operations and schema diffs of the other path items are
+ * reused. A change to the global security requirements or to a security scheme applies to every
+ * operation, so everything is compared again.
+ */
+final class PreviousDiff {
+  private static final String PATHS = "/paths/";
+
+  private final boolean reusable;
+  private final Set<String> changedTemplates = new HashSet<>();
+  private final Map<String, ChangedOperation> operations = new HashMap<>();
+  private final Map<String, Map<CacheKey, ChangedSchema>> schemas = new HashMap<>();
+
+  /**
+   * @param previous the previous comparison
+   * @param oldFingerprint fingerprint of the old specification
+   * @param newFingerprint fingerprint of the new specification
+   * @param changedPointers pointers changed since the previous comparison
+   * @param canonicalSchemaCache whether schema diffs are shared between path items, which prevents
+   *     reusing any of them
+   */
+  PreviousDiff(
+      ChangedOpenApi previous,
+      SpecFingerprint oldFingerprint,
+      SpecFingerprint newFingerprint,
+      Set<String> changedPointers,
+      boolean canonicalSchemaCache) {
+    reusable =
+        !canonicalSchemaCache
+            && changedPointers.stream().noneMatch(PreviousDiff::affectsEverything);
+    if (!reusable) {
+      return;
+    }
+    Set<String> affected = new HashSet<>(oldFingerprint.dependents(changedPointers));
+    affected.addAll(newFingerprint.dependents(changedPointers));
+    for (String pointer : affected) {
+      if (pointer.startsWith(PATHS)) {
+        changedTemplates.add(
+            PathsDiff.normalizePath(SpecFingerprint.unescape(pointer.substring(PATHS.length()))));
+      }
+    }
+    for (ChangedOperation operation : previous.getChangedOperations()) {
+      operations.put(key(operation.getPathUrl(), operation.getHttpMethod()), operation);
+    }
+    if (previous.getSchemaCacheEntries() != null) {
+      previous
+          .getSchemaCacheEntries()
+          .forEach(
+              (key, changed) ->
+                  schemas
+                      .computeIfAbsent(key.getContext().getUrl(), url -> new LinkedHashMap<>())
+                      .put(key, changed));
+    }
+  }
+
+  private static boolean affectsEverything(String pointer) {
+    return pointer.equals("/security") || pointer.startsWith("/components/securitySchemes/");
+  }
+
+  private static String key(String url, PathItem.HttpMethod method) {
+    return method + " " + url;
+  }
+
+  /**
+   * @param url the url of a path item in the old specification
+   * @return whether the diff of the path item is reused
+   */
+  boolean isReusable(String url) {
+    return reusable && !changedTemplates.contains(PathsDiff.normalizePath(url));
+  }
+
+  /**
+   * @param url the url of a reusable path item in the old specification
+   * @param method the method of an operation of the path item
+   * @return the previous diff of the operation, empty if it did not change
+   */
+  Optional<ChangedOperation> getOperation(String url, PathItem.HttpMethod method) {
+    return Optional.ofNullable(operations.get(key(url, method)));
+  }
+
+  /**
+   * @param url the url of a reusable path item in the old specification
+   * @return the previous schema diffs of the path item, null for unchanged pairs, by cache key
+   */
+  Map<CacheKey, ChangedSchema> getSchemas(String url) {
+    return schemas.getOrDefault(url, Collections.emptyMap());
+  }
+}
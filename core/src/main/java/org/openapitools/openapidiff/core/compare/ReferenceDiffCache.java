@@ -1,8 +1,8 @@
 package org.openapitools.openapidiff.core.compare;
 
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.openapitools.openapidiff.core.model.Changed;
 import org.openapitools.openapidiff.core.model.DiffContext;
 import org.openapitools.openapidiff.core.model.deferred.DeferredChanged;
@@ -12,7 +12,7 @@ public abstract class ReferenceDiffCache<C, D extends Changed> {
   private final Map<CacheKey, DeferredChanged<D>> refDiffMap;
 
   public ReferenceDiffCache() {
-    this.refDiffMap = new HashMap<>();
+    this.refDiffMap = new ConcurrentHashMap<>();
   }
 
   private DeferredChanged<D> getFromCache(CacheKey cacheKey) {
@@ -4,21 +4,15 @@ import static java.util.Optional.ofNullable;
 
 import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.ExternalDocumentation;
-import io.swagger.v3.oas.models.media.ArraySchema;
 import io.swagger.v3.oas.models.media.ComposedSchema;
 import io.swagger.v3.oas.models.media.Discriminator;
 import io.swagger.v3.oas.models.media.Schema;
 import io.swagger.v3.oas.models.media.XML;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
-import org.openapitools.openapidiff.core.compare.schemadiffresult.ArraySchemaDiffResult;
-import org.openapitools.openapidiff.core.compare.schemadiffresult.ComposedSchemaDiffResult;
 import org.openapitools.openapidiff.core.compare.schemadiffresult.SchemaDiffResult;
 import org.openapitools.openapidiff.core.model.ChangedSchema;
 import org.openapitools.openapidiff.core.model.DiffContext;
@@ -31,21 +25,21 @@ import org.openapitools.openapidiff.core.utils.RefType;
 public class SchemaDiff {
 
   private static final RefPointer<Schema<?>> refPointer = new RefPointer<>(RefType.SCHEMAS);
-  private static final Map<Class<? extends Schema>, Class<? extends SchemaDiffResult>>
-      schemaDiffResultClassMap = new LinkedHashMap<>();
-
-  static {
-    schemaDiffResultClassMap.put(Schema.class, SchemaDiffResult.class);
-    schemaDiffResultClassMap.put(ArraySchema.class, ArraySchemaDiffResult.class);
-    schemaDiffResultClassMap.put(ComposedSchema.class, ComposedSchemaDiffResult.class);
-  }
 
   private final Components leftComponents;
   private final Components rightComponents;
   private final OpenApiDiff openApiDiff;
+  private final SchemaHashIndex leftHashes;
+  private final SchemaHashIndex rightHashes;
+  private final FlattenedSchemaCache leftFlattened;
+  private final FlattenedSchemaCache rightFlattened;
+  private final SchemaDiffResultFactories factories;
+  /** Root of every branch, sharing the reference ids of the comparison. */
+  private final RecursiveSchemaSet rootRefSet = new RecursiveSchemaSet();
 
   public SchemaDiff(OpenApiDiff openApiDiff) {
     this.openApiDiff = openApiDiff;
+    this.factories = factories(openApiDiff);
     this.leftComponents =
         openApiDiff.getOldSpecOpenApi() != null
             ? openApiDiff.getOldSpecOpenApi().getComponents()
@@ -54,6 +48,15 @@ public class SchemaDiff {
         openApiDiff.getNewSpecOpenApi() != null
             ? openApiDiff.getNewSpecOpenApi().getComponents()
             : null;
+    this.leftFlattened = new FlattenedSchemaCache(leftComponents);
+    this.rightFlattened = new FlattenedSchemaCache(rightComponents);
+    if (openApiDiff.getOptions().isSchemaHashing()) {
+      this.leftHashes = new SchemaHashIndex(leftComponents);
+      this.rightHashes = new SchemaHashIndex(rightComponents);
+    } else {
+      this.leftHashes = null;
+      this.rightHashes = null;
+    }
   }
 
   public static SchemaDiffResult getSchemaDiffResult(OpenApiDiff openApiDiff) {
@@ -62,48 +65,24 @@ public class SchemaDiff {
 
   public static SchemaDiffResult getSchemaDiffResult(
       Class<? extends Schema> classType, OpenApiDiff openApiDiff) {
-    if (classType == null) {
-      classType = Schema.class;
-    }
-
-    Class<? extends SchemaDiffResult> aClass = schemaDiffResultClassMap.get(classType);
-    try {
-      if (aClass == null) {
-        aClass = schemaDiffResultClassMap.get(Schema.class);
-      }
-      if (aClass != null) {
-        return aClass.getConstructor(OpenApiDiff.class).newInstance(openApiDiff);
-      } else {
-        throw new IllegalArgumentException("invalid classType");
-      }
-    } catch (Exception e) {
-      throw new IllegalArgumentException("type " + classType + " is illegal");
-    }
+    return getSchemaDiffResult(factories(openApiDiff), classType, openApiDiff);
   }
 
-  protected static Schema<?> resolveComposedSchema(
-      Components components, Schema<?> schema, Set<String> visitedRefs) {
-    if (schema instanceof ComposedSchema) {
-      ComposedSchema composedSchema = (ComposedSchema) schema;
-      List<Schema> composedSchemas = new ArrayList<>();
-      Optional.ofNullable(composedSchema.getAllOf()).ifPresent(composedSchemas::addAll);
-      Optional.ofNullable(composedSchema.getAnyOf()).ifPresent(composedSchemas::addAll);
+  /** @return the factories set on the options of the comparison, or the shared ones */
+  private static SchemaDiffResultFactories factories(OpenApiDiff openApiDiff) {
+    SchemaDiffResultFactories configured =
+        openApiDiff != null ? openApiDiff.getOptions().getSchemaDiffResultFactories() : null;
+    return configured != null ? configured : SchemaDiffResultFactories.shared();
+  }
 
-      if (!composedSchemas.isEmpty()) {
-        for (Schema<?> composed : composedSchemas) {
-          if (composed.get$ref() == null || !visitedRefs.contains(composed.get$ref())) {
-            Set<String> updatedVisitedRefs = new HashSet<>(visitedRefs);
-            updatedVisitedRefs.add(composed.get$ref());
-            composed = refPointer.resolveRef(components, composed, composed.get$ref());
-            composed = resolveComposedSchema(components, composed, updatedVisitedRefs);
-            schema = addSchema(schema, composed);
-          }
-        }
-        composedSchema.setAllOf(null);
-        composedSchema.setAnyOf(null);
-      }
-    }
-    return schema;
+  private static SchemaDiffResult getSchemaDiffResult(
+      SchemaDiffResultFactories factories,
+      Class<? extends Schema> classType,
+      OpenApiDiff openApiDiff) {
+    if (openApiDiff != null) {
+      openApiDiff.getMetrics().incrementSchemaDiffResults();
+    }
+    return factories.create(classType, openApiDiff);
   }
 
   protected static Schema<?> addSchema(Schema<?> schema, Schema<?> fromSchema) {
@@ -298,7 +277,7 @@ public class SchemaDiff {
   }
 
   public DeferredChanged<ChangedSchema> diff(Schema left, Schema right, DiffContext context) {
-    return this.diff(new RecursiveSchemaSet(), left, right, context);
+    return this.diff(rootRefSet, left, right, context);
   }
 
   public DeferredChanged<ChangedSchema> diff(
@@ -312,7 +291,7 @@ public class SchemaDiff {
   public DeferredChanged<ChangedSchema> getTypeChangedSchema(
       Schema left, Schema right, DiffContext context) {
     return new RealizedChanged(
-        SchemaDiff.getSchemaDiffResult(openApiDiff)
+        getSchemaDiffResult(factories, null, openApiDiff)
             .getChangedSchema()
             .setOldSchema(left)
             .setNewSchema(right)
@@ -322,23 +301,44 @@ public class SchemaDiff {
 
   protected DeferredChanged<ChangedSchema> computeDeferredDiff(
       RecursiveSchemaSet refSet, Schema<?> left, Schema<?> right, DiffContext context) {
+    openApiDiff.getMetrics().incrementSchemaDiffs();
+    if (isIdentical(left, right)) {
+      openApiDiff.getMetrics().incrementIdenticalSchemaDiffs();
+      return RealizedChanged.empty();
+    }
 
-    CacheKey key = new CacheKey(getSchemaRef(left), getSchemaRef(right), context);
-    if (key.getLeft() != null && key.getRight() != null) {
+    String leftRef = getSchemaRef(left);
+    String rightRef = getSchemaRef(right);
+    if (leftRef != null && rightRef != null && openApiDiff.getOptions().isCanonicalSchemaCache()) {
+      CacheKey key = new CacheKey(leftRef, rightRef, context.copyAsCanonical());
+      return openApiDiff
+          .getDeferredSchemaCache()
+          .getOrAddSchema(refSet, key, left, right)
+          .mapOptional(changed -> changed.map(schema -> schema.copyWithContext(context)));
+    } else if (leftRef != null && rightRef != null) {
+      CacheKey key = new CacheKey(leftRef, rightRef, context);
       return openApiDiff.getDeferredSchemaCache().getOrAddSchema(refSet, key, left, right);
     } else {
       return computeDiffForReal(refSet, left, right, context);
     }
   }
 
+  private boolean isIdentical(Schema<?> left, Schema<?> right) {
+    if (leftHashes == null || left == null || right == null) {
+      return false;
+    }
+    SchemaHashIndex.Hash leftHash = leftHashes.hash(left);
+    return leftHash != null && leftHash.equals(rightHashes.hash(right));
+  }
+
   public DeferredChanged<ChangedSchema> computeDiffForReal(
       RecursiveSchemaSet refSet, Schema left, Schema right, DiffContext context) {
 
     left = refPointer.resolveRef(this.leftComponents, left, getSchemaRef(left));
     right = refPointer.resolveRef(this.rightComponents, right, getSchemaRef(right));
 
-    left = resolveComposedSchema(leftComponents, left, new HashSet<>());
-    right = resolveComposedSchema(rightComponents, right, new HashSet<>());
+    left = leftFlattened.flatten(left);
+    right = rightFlattened.flatten(right);
 
     // If type of schemas are different, just set old & new schema, set changedType to true in
     // SchemaDiffResult and
@@ -350,7 +350,7 @@ public class SchemaDiff {
     }
 
     // If schema type is same then get specific SchemaDiffResult and compare the properties
-    SchemaDiffResult result = SchemaDiff.getSchemaDiffResult(right.getClass(), openApiDiff);
+    SchemaDiffResult result = getSchemaDiffResult(factories, right.getClass(), openApiDiff);
     return result.diff(refSet, leftComponents, rightComponents, left, right, context);
   }
 }
@@ -0,0 +1,132 @@
+package org.openapitools.openapidiff.core.compare;
+
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.openapitools.openapidiff.core.compare.schemadiffresult.ArraySchemaDiffResult;
+import org.openapitools.openapidiff.core.compare.schemadiffresult.ComposedSchemaDiffResult;
+import org.openapitools.openapidiff.core.compare.schemadiffresult.SchemaDiffResult;
+import org.openapitools.openapidiff.core.compare.schemadiffresult.SchemaDiffResultFactory;
+
+/**
+ * The {@link SchemaDiffResultFactory} of every schema class: the built-in ones for {@link Schema},
+ * {@link ArraySchema} and {@link ComposedSchema}, overridden by those found on the class path by a
+ * single {@link ServiceLoader} scan or by those given explicitly.
+ *
+ * <p>The factory of a schema class is looked up once, then read from a map for every schema pair
+ * compared.
+ */
+public class SchemaDiffResultFactories {
+  private static volatile SchemaDiffResultFactories shared;
+
+  private final ClassLoader classLoader;
+  private final Map<Class<?>, SchemaDiffResultFactory> registered;
+  private final Map<Class<?>, SchemaDiffResultFactory> resolved = new ConcurrentHashMap<>();
+
+  private SchemaDiffResultFactories(
+      ClassLoader classLoader, Map<Class<?>, SchemaDiffResultFactory> registered) {
+    this.classLoader = classLoader;
+    this.registered = registered;
+  }
+
+  /** @return the built-in factories and those visible to the context class loader of the thread */
+  public static SchemaDiffResultFactories load() {
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    Map<Class<?>, SchemaDiffResultFactory> registered = builtIn();
+    for (SchemaDiffResultFactory factory :
+        ServiceLoader.load(SchemaDiffResultFactory.class, classLoader)) {
+      registered.put(factory.getSchemaType(), factory);
+    }
+    return new SchemaDiffResultFactories(classLoader, registered);
+  }
+
+  /**
+   * @param factories the factories to use instead of those found on the class path
+   * @return the built-in factories, overridden by the given ones
+   */
+  public static SchemaDiffResultFactories of(SchemaDiffResultFactory... factories) {
+    Map<Class<?>, SchemaDiffResultFactory> registered = builtIn();
+    for (SchemaDiffResultFactory factory : factories) {
+      registered.put(factory.getSchemaType(), factory);
+    }
+    return new SchemaDiffResultFactories(null, registered);
+  }
+
+  private static Map<Class<?>, SchemaDiffResultFactory> builtIn() {
+    Map<Class<?>, SchemaDiffResultFactory> registered = new HashMap<>();
+    register(registered, Schema.class, SchemaDiffResult::new);
+    register(registered, ArraySchema.class, ArraySchemaDiffResult::new);
+    register(registered, ComposedSchema.class, ComposedSchemaDiffResult::new);
+    return registered;
+  }
+
+  /**
+   * @return the factories visible to the context class loader of the calling thread, scanned once
+   *     for the whole process unless that class loader changes
+   */
+  public static SchemaDiffResultFactories shared() {
+    SchemaDiffResultFactories factories = shared;
+    if (factories == null
+        || factories.classLoader != Thread.currentThread().getContextClassLoader()) {
+      factories = load();
+      shared = factories;
+    }
+    return factories;
+  }
+
+  /**
+   * @param schemaType class of the compared schemas, null for {@link Schema}
+   * @return the factory registered for the class or its closest superclass
+   */
+  public SchemaDiffResultFactory get(Class<? extends Schema> schemaType) {
+    Class<?> type = schemaType != null ? schemaType : Schema.class;
+    SchemaDiffResultFactory factory = resolved.get(type);
+    if (factory == null) {
+      factory = resolved.computeIfAbsent(type, this::closest);
+    }
+    return factory;
+  }
+
+  /**
+   * @param schemaType class of the compared schemas, null for {@link Schema}
+   * @param openApiDiff the comparison the result belongs to, may be null
+   * @return a new result comparing schemas of the class
+   */
+  public SchemaDiffResult create(Class<? extends Schema> schemaType, OpenApiDiff openApiDiff) {
+    return get(schemaType).create(openApiDiff);
+  }
+
+  private SchemaDiffResultFactory closest(Class<?> schemaType) {
+    for (Class<?> type = schemaType; type != null; type = type.getSuperclass()) {
+      SchemaDiffResultFactory factory = registered.get(type);
+      if (factory != null) {
+        return factory;
+      }
+    }
+    return registered.get(Schema.class);
+  }
+
+  private static void register(
+      Map<Class<?>, SchemaDiffResultFactory> registered,
+      Class<? extends Schema> schemaType,
+      Function<OpenApiDiff, SchemaDiffResult> constructor) {
+    registered.put(
+        schemaType,
+        new SchemaDiffResultFactory() {
+          @Override
+          public Class<? extends Schema> getSchemaType() {
+            return schemaType;
+          }
+
+          @Override
+          public SchemaDiffResult create(OpenApiDiff openApiDiff) {
+            return constructor.apply(openApiDiff);
+          }
+        });
+  }
+}
@@ -0,0 +1,381 @@
+package org.openapitools.openapidiff.core.compare;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.media.Discriminator;
+import io.swagger.v3.oas.models.media.Schema;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import org.openapitools.openapidiff.core.utils.ModelFields;
+import org.openapitools.openapidiff.core.utils.RefPointer;
+import org.openapitools.openapidiff.core.utils.RefType;
+
+/**
+ * Merkle-style structural hashes of the schemas of one specification.
+ *
+ * <p>A schema hashes to the same value as a schema of another specification only if every field
+ * matches and every component schema it references, directly or transitively, matches as well.
+ * Component schemas are hashed up front: their reference graph is condensed into strongly connected
+ * components so that recursive models are hashed in linear time. Inline schemas are hashed on first
+ * lookup and memoized by identity.
+ *
+ * <p>Lookups from several threads run without a lock: component hashes are only read once the index
+ * is built, and an inline schema hashed by two threads at once gets the same hash from both.
+ */
+public class SchemaHashIndex {
+  private static final String SCHEMA_REF = RefPointer.BASE_REF + RefType.SCHEMAS.getName() + "/";
+  private static final Hash UNHASHABLE = new Hash(0, 0);
+
+  private final Map<String, Schema> components;
+  private final Map<String, Hash> componentHashes = new HashMap<>();
+  private final Map<IdentityKey, Hash> inlineHashes = new ConcurrentHashMap<>();
+
+  public SchemaHashIndex(Components components) {
+    this.components =
+        components != null && components.getSchemas() != null
+            ? components.getSchemas()
+            : Collections.emptyMap();
+    hashComponents();
+  }
+
+  /**
+   * @param schema a schema of this index's specification
+   * @return the structural hash of the schema, or null if it references a schema which cannot be
+   *     resolved
+   */
+  public Hash hash(Schema<?> schema) {
+    if (schema == null) {
+      return null;
+    }
+    Hasher hasher = new Hasher(null);
+    try {
+      return hasher.hash(schema);
+    } catch (UnhashableSchemaException e) {
+      // everything still in progress contains the schema which could not be hashed
+      hasher.inProgress.forEach(s -> inlineHashes.put(new IdentityKey(s), UNHASHABLE));
+      return null;
+    }
+  }
+
+  private void hashComponents() {
+    Map<String, LocalHash> locals = new HashMap<>();
+    components.forEach(
+        (name, schema) -> {
+          Set<String> refs = new TreeSet<>();
+          LocalHash local = new LocalHash(refs);
+          try {
+            local.hash = new Hasher(refs).hash(schema);
+          } catch (UnhashableSchemaException e) {
+            local.hash = null;
+          }
+          locals.put(name, local);
+        });
+
+    // Tarjan's algorithm emits each strongly connected component after all of its successors
+    Map<String, Integer> index = new HashMap<>();
+    Map<String, Integer> lowLink = new HashMap<>();
+    Deque<String> stack = new ArrayDeque<>();
+    Set<String> onStack = new HashSet<>();
+    for (String root : locals.keySet()) {
+      if (index.containsKey(root)) {
+        continue;
+      }
+      Deque<Frame> work = new ArrayDeque<>();
+      work.push(visit(root, locals, index, lowLink, stack, onStack));
+      while (!work.isEmpty()) {
+        Frame frame = work.peek();
+        if (frame.successors.hasNext()) {
+          String next = frame.successors.next();
+          if (!index.containsKey(next)) {
+            work.push(visit(next, locals, index, lowLink, stack, onStack));
+          } else if (onStack.contains(next)) {
+            lowLink.put(frame.name, Math.min(lowLink.get(frame.name), index.get(next)));
+          }
+          continue;
+        }
+        work.pop();
+        if (!work.isEmpty()) {
+          String parent = work.peek().name;
+          lowLink.put(parent, Math.min(lowLink.get(parent), lowLink.get(frame.name)));
+        }
+        if (lowLink.get(frame.name).equals(index.get(frame.name))) {
+          List<String> members = new ArrayList<>();
+          String member;
+          do {
+            member = stack.pop();
+            onStack.remove(member);
+            members.add(member);
+          } while (!member.equals(frame.name));
+          hashStronglyConnected(members, locals);
+        }
+      }
+    }
+  }
+
+  private static Frame visit(
+      String name,
+      Map<String, LocalHash> locals,
+      Map<String, Integer> index,
+      Map<String, Integer> lowLink,
+      Deque<String> stack,
+      Set<String> onStack) {
+    index.put(name, index.size());
+    lowLink.put(name, index.get(name));
+    stack.push(name);
+    onStack.add(name);
+    return new Frame(name, locals.get(name).refs.iterator());
+  }
+
+  private void hashStronglyConnected(List<String> members, Map<String, LocalHash> locals) {
+    Collections.sort(members);
+    Set<String> successors = new TreeSet<>();
+    Digest digest = new Digest();
+    for (String member : members) {
+      LocalHash local = locals.get(member);
+      if (local.hash == null) {
+        return;
+      }
+      digest.string(member).hash(local.hash);
+      successors.addAll(local.refs);
+    }
+    successors.removeAll(members);
+    for (String successor : successors) {
+      Hash hash = componentHashes.get(successor);
+      if (hash == null) {
+        return;
+      }
+      digest.hash(hash);
+    }
+    Hash group = digest.finish();
+    for (String member : members) {
+      componentHashes.put(member, new Digest().string(member).hash(group).finish());
+    }
+  }
+
+  /**
+   * Hashes one schema tree. With {@code refs} set, references are recorded by name only, which is
+   * how component schemas are hashed before their reference graph is known; otherwise references
+   * include the hash of the component they point to.
+   */
+  private class Hasher {
+    private final Set<String> refs;
+    private final Set<Schema<?>> inProgress = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    Hasher(Set<String> refs) {
+      this.refs = refs;
+    }
+
+    Hash hash(Schema<?> schema) {
+      Hash hash = refs == null ? inlineHashes.get(new IdentityKey(schema)) : null;
+      if (hash == UNHASHABLE) {
+        throw new UnhashableSchemaException();
+      } else if (hash != null) {
+        return hash;
+      }
+      if (!inProgress.add(schema)) {
+        throw new UnhashableSchemaException();
+      }
+      Digest digest = new Digest().string(schema.getClass().getName());
+      object(digest, schema);
+      if (schema.get$ref() != null) {
+        ref(digest, schema.get$ref());
+      }
+      inProgress.remove(schema);
+      hash = digest.finish();
+      if (refs == null) {
+        inlineHashes.put(new IdentityKey(schema), hash);
+      }
+      return hash;
+    }
+
+    private void object(Digest digest, Object object) {
+      for (Field field : ModelFields.of(object.getClass())) {
+        value(digest.string(field.getName()), ModelFields.get(field, object));
+      }
+    }
+
+    private void ref(Digest digest, String ref) {
+      String name = ref.startsWith(SCHEMA_REF) ? ref.substring(SCHEMA_REF.length()) : null;
+      if (name == null || !components.containsKey(name)) {
+        throw new UnhashableSchemaException();
+      }
+      if (refs != null) {
+        refs.add(name);
+      } else {
+        Hash target = componentHashes.get(name);
+        if (target == null) {
+          throw new UnhashableSchemaException();
+        }
+        digest.hash(target);
+      }
+    }
+
+    private void value(Digest digest, Object value) {
+      if (value == null) {
+        digest.tag('0');
+      } else if (value instanceof Schema) {
+        digest.tag('S').hash(hash((Schema<?>) value));
+      } else if (value instanceof Map) {
+        Map<?, ?> map = (Map<?, ?>) value;
+        digest.tag('M').integer(map.size());
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+          value(digest, entry.getKey());
+          value(digest, entry.getValue());
+        }
+      } else if (value instanceof Collection) {
+        Collection<?> collection = (Collection<?>) value;
+        digest.tag('L').integer(collection.size());
+        for (Object element : collection) {
+          value(digest, element);
+        }
+      } else if (value.getClass().isArray()) {
+        int length = Array.getLength(value);
+        digest.tag('A').integer(length);
+        for (int i = 0; i < length; i++) {
+          value(digest, Array.get(value, i));
+        }
+      } else if (value instanceof String) {
+        digest.tag('s').string((String) value);
+      } else if (value instanceof Enum) {
+        digest.tag('E').string(value.getClass().getName()).string(((Enum<?>) value).name());
+      } else if (value.getClass().getName().startsWith("io.swagger.v3.oas.models.")) {
+        digest.tag('O').string(value.getClass().getName());
+        object(digest, value);
+        if (value instanceof Discriminator && ((Discriminator) value).getMapping() != null) {
+          for (String target : ((Discriminator) value).getMapping().values()) {
+            ref(digest, target.contains("/") ? target : SCHEMA_REF + target);
+          }
+        }
+      } else {
+        digest.tag('V').string(value.getClass().getName()).string(value.toString());
+      }
+    }
+  }
+
+  /** 128 bits of a SHA-256 digest. */
+  public static final class Hash {
+    private final long high;
+    private final long low;
+
+    private Hash(long high, long low) {
+      this.high = high;
+      this.low = low;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Hash hash = (Hash) o;
+      return high == hash.high && low == hash.low;
+    }
+
+    @Override
+    public int hashCode() {
+      return Long.hashCode(high ^ low);
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%016x%016x", high, low);
+    }
+  }
+
+  static final class Digest {
+    private final MessageDigest sha256;
+
+    Digest() {
+      try {
+        sha256 = MessageDigest.getInstance("SHA-256");
+      } catch (NoSuchAlgorithmException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+
+    Digest tag(char tag) {
+      sha256.update((byte) tag);
+      return this;
+    }
+
+    Digest integer(int value) {
+      sha256.update((byte) (value >>> 24));
+      sha256.update((byte) (value >>> 16));
+      sha256.update((byte) (value >>> 8));
+      sha256.update((byte) value);
+      return this;
+    }
+
+    Digest string(String value) {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      integer(bytes.length);
+      sha256.update(bytes);
+      return this;
+    }
+
+    Digest hash(Hash hash) {
+      for (int shift = 56; shift >= 0; shift -= 8) {
+        sha256.update((byte) (hash.high >>> shift));
+      }
+      for (int shift = 56; shift >= 0; shift -= 8) {
+        sha256.update((byte) (hash.low >>> shift));
+      }
+      return this;
+    }
+
+    Hash finish() {
+      byte[] bytes = sha256.digest();
+      long high = 0;
+      long low = 0;
+      for (int i = 0; i < 8; i++) {
+        high = (high << 8) | (bytes[i] & 0xff);
+        low = (low << 8) | (bytes[i + 8] & 0xff);
+      }
+      return new Hash(high, low);
+    }
+  }
+
+  private static final class LocalHash {
+    private final Set<String> refs;
+    private Hash hash;
+
+    LocalHash(Set<String> refs) {
+      this.refs = refs;
+    }
+  }
+
+  private static final class Frame {
+    private final String name;
+    private final Iterator<String> successors;
+
+    Frame(String name, Iterator<String> successors) {
+      this.name = name;
+      this.successors = successors;
+    }
+  }
+
+  private static class UnhashableSchemaException extends RuntimeException {
+    UnhashableSchemaException() {
+      super(null, null, false, false);
+    }
+  }
+}
@@ -4,11 +4,15 @@ import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.security.SecurityRequirement;
 import io.swagger.v3.oas.models.security.SecurityScheme;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
-import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 import org.openapitools.openapidiff.core.model.Changed;
@@ -21,6 +25,10 @@ public class SecurityRequirementsDiff {
   private final OpenApiDiff openApiDiff;
   private final Components leftComponents;
   private final Components rightComponents;
+  private final Map<SecurityRequirement, Set<Pair<SecurityScheme.Type, SecurityScheme.In>>>
+      leftSignatures = Collections.synchronizedMap(new IdentityHashMap<>());
+  private final Map<SecurityRequirement, Set<Pair<SecurityScheme.Type, SecurityScheme.In>>>
+      rightSignatures = Collections.synchronizedMap(new IdentityHashMap<>());
 
   public SecurityRequirementsDiff(OpenApiDiff openApiDiff) {
     this.openApiDiff = openApiDiff;
@@ -42,40 +50,48 @@ public class SecurityRequirementsDiff {
   }
 
   public boolean same(SecurityRequirement left, SecurityRequirement right) {
-    List<Pair<SecurityScheme.Type, SecurityScheme.In>> leftTypes =
-        getListOfSecuritySchemes(leftComponents, left);
-    List<Pair<SecurityScheme.Type, SecurityScheme.In>> rightTypes =
-        getListOfSecuritySchemes(rightComponents, right);
+    return signature(leftSignatures, leftComponents, left)
+        .equals(signature(rightSignatures, rightComponents, right));
+  }
 
-    return CollectionUtils.isEqualCollection(leftTypes, rightTypes);
+  /**
+   * @return the distinct types and locations of the schemes of a requirement, computed once for
+   *     every requirement of a specification, such as the global ones shared by many operations.
+   *     Schemes of the same type and location count once, so a set compares requirements as the
+   *     distinct lists did before.
+   */
+  private static Set<Pair<SecurityScheme.Type, SecurityScheme.In>> signature(
+      Map<SecurityRequirement, Set<Pair<SecurityScheme.Type, SecurityScheme.In>>> signatures,
+      Components components,
+      SecurityRequirement securityRequirement) {
+    return signatures.computeIfAbsent(
+        securityRequirement, requirement -> getSetOfSecuritySchemes(components, requirement));
   }
 
-  private List<Pair<SecurityScheme.Type, SecurityScheme.In>> getListOfSecuritySchemes(
+  private static Set<Pair<SecurityScheme.Type, SecurityScheme.In>> getSetOfSecuritySchemes(
       Components components, SecurityRequirement securityRequirement) {
-    return securityRequirement.keySet().stream()
-        .map(
-            x -> {
-              if (components == null) {
-                throw new IllegalArgumentException("Missing securitySchemes component definition.");
-              }
-              Map<String, SecurityScheme> securitySchemes = components.getSecuritySchemes();
-              if (securitySchemes == null) {
-                throw new IllegalArgumentException("Missing securitySchemes component definition.");
-              }
-
-              SecurityScheme result = securitySchemes.get(x);
-              if (result == null) {
-                throw new IllegalArgumentException("Impossible to find security scheme: " + x);
-              }
-
-              return result;
-            })
-        .map(this::getPair)
-        .distinct()
-        .collect(Collectors.toList());
+    Set<Pair<SecurityScheme.Type, SecurityScheme.In>> schemes = new HashSet<>();
+    for (String name : securityRequirement.keySet()) {
+      if (components == null) {
+        throw new IllegalArgumentException("Missing securitySchemes component definition.");
+      }
+      Map<String, SecurityScheme> securitySchemes = components.getSecuritySchemes();
+      if (securitySchemes == null) {
+        throw new IllegalArgumentException("Missing securitySchemes component definition.");
+      }
+
+      SecurityScheme result = securitySchemes.get(name);
+      if (result == null) {
+        throw new IllegalArgumentException("Impossible to find security scheme: " + name);
+      }
+
+      schemes.add(getPair(result));
+    }
+    return Collections.unmodifiableSet(schemes);
   }
 
-  private Pair<SecurityScheme.Type, SecurityScheme.In> getPair(SecurityScheme securityScheme) {
+  private static Pair<SecurityScheme.Type, SecurityScheme.In> getPair(
+      SecurityScheme securityScheme) {
     return new ImmutablePair<>(securityScheme.getType(), securityScheme.getIn());
   }
 
@@ -85,24 +101,57 @@ public class SecurityRequirementsDiff {
     DeferredBuilder<Changed> builder = new DeferredBuilder<>();
 
     left = left == null ? new ArrayList<>() : left;
-    right = right == null ? new ArrayList<>() : getCopy(right);
+    List<SecurityRequirement> declared = right == null ? new ArrayList<>() : right;
+    right = getCopy(declared);
+    // like the increased ones, the new requirements reported are those left unmatched
+    List<SecurityRequirement> unmatched = new ArrayList<>();
 
     ChangedSecurityRequirements changedSecurityRequirements =
-        new ChangedSecurityRequirements(left, right);
-
+        new ChangedSecurityRequirements(left, unmatched);
+
+    // matched requirements are marked rather than removed, by the position of their signature
+    Map<Set<Pair<SecurityScheme.Type, SecurityScheme.In>>, List<Integer>> positions =
+        new HashMap<>();
+    if (!left.isEmpty()) {
+      for (int i = 0; i < declared.size(); i++) {
+        positions
+            .computeIfAbsent(
+                signature(rightSignatures, rightComponents, declared.get(i)),
+                signature -> new ArrayList<>(1))
+            .add(i);
+      }
+    }
+    boolean[] matched = new boolean[right.size()];
     for (SecurityRequirement leftSecurity : left) {
-      Optional<SecurityRequirement> rightSecOpt = contains(right, leftSecurity);
-      if (!rightSecOpt.isPresent()) {
+      int position = -1;
+      if (!right.isEmpty()) {
+        for (int candidate :
+            positions.getOrDefault(
+                signature(leftSignatures, leftComponents, leftSecurity), Collections.emptyList())) {
+          if (!matched[candidate]) {
+            position = candidate;
+            break;
+          }
+        }
+      }
+      if (position < 0) {
         changedSecurityRequirements.addMissing(leftSecurity);
       } else {
-        SecurityRequirement rightSec = rightSecOpt.get();
-        right.remove(rightSec);
+        matched[position] = true;
         builder
-            .with(openApiDiff.getSecurityRequirementDiff().diff(leftSecurity, rightSec, context))
+            .with(
+                openApiDiff
+                    .getSecurityRequirementDiff()
+                    .diff(leftSecurity, right.get(position), context))
             .ifPresent(changedSecurityRequirements::addChanged);
       }
     }
-    right.forEach(changedSecurityRequirements::addIncreased);
+    for (int i = 0; i < right.size(); i++) {
+      if (!matched[i]) {
+        unmatched.add(right.get(i));
+        changedSecurityRequirements.addIncreased(right.get(i));
+      }
+    }
 
     return builder.buildIsChanged(changedSecurityRequirements);
   }
@@ -0,0 +1,237 @@
+package org.openapitools.openapidiff.core.compare;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Discriminator;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import org.openapitools.openapidiff.core.utils.ModelFields;
+import org.openapitools.openapidiff.core.utils.RefPointer;
+
+/**
+ * Hashes of the entries of one specification, addressed by JSON pointer, along with the components
+ * each entry references.
+ *
+ * <p>Every path item ({@code /paths/~1pets}) and every component ({@code /components/schemas/Pet})
+ * is an entry of its own, as is every other top-level field ({@code /info}, {@code /security}) and
+ * extension ({@code /x-name}). References are recorded by the pointer of the component they point
+ * to, so the entries depending on a changed component can be found without comparing them.
+ */
+public class SpecFingerprint {
+  private static final String SCHEMA_REF = RefPointer.BASE_REF + "schemas/";
+
+  private final Map<String, SchemaHashIndex.Hash> hashes = new LinkedHashMap<>();
+  private final Map<String, Set<String>> references = new HashMap<>();
+  private Map<String, Set<String>> referencedBy;
+
+  private SpecFingerprint() {}
+
+  /**
+   * @param spec a specification, before it is compared
+   * @return the hashes and references of the entries of the specification
+   */
+  public static SpecFingerprint of(OpenAPI spec) {
+    SpecFingerprint fingerprint = new SpecFingerprint();
+    fingerprint.entries("", spec, "paths", "components");
+    if (spec.getPaths() != null) {
+      fingerprint.entries("/paths", spec.getPaths());
+    }
+    if (spec.getComponents() != null) {
+      fingerprint.entries("/components", spec.getComponents());
+    }
+    return fingerprint;
+  }
+
+  /**
+   * @param token a reference token, such as a path or a component name
+   * @return the token escaped for a JSON pointer
+   */
+  public static String escape(String token) {
+    return token.replace("~", "~0").replace("/", "~1");
+  }
+
+  /**
+   * @param token an escaped reference token
+   * @return the path or component name
+   */
+  public static String unescape(String token) {
+    return token.replace("~1", "/").replace("~0", "~");
+  }
+
+  /** @return the hash of every entry by its pointer, in the order of the specification */
+  public Map<String, SchemaHashIndex.Hash> getHashes() {
+    return Collections.unmodifiableMap(hashes);
+  }
+
+  /**
+   * @param previous the fingerprint of an earlier version of the specification
+   * @return the pointers of the entries added, removed or changed since
+   */
+  public Set<String> changedPointers(SpecFingerprint previous) {
+    Set<String> changed = new TreeSet<>();
+    hashes.forEach(
+        (pointer, hash) -> {
+          if (!hash.equals(previous.hashes.get(pointer))) {
+            changed.add(pointer);
+          }
+        });
+    previous.hashes.keySet().stream()
+        .filter(pointer -> !hashes.containsKey(pointer))
+        .forEach(changed::add);
+    return changed;
+  }
+
+  /**
+   * @param pointers pointers of entries
+   * @return the given pointers and the pointers of every entry referencing one of them, directly or
+   *     transitively
+   */
+  public synchronized Set<String> dependents(Collection<String> pointers) {
+    if (referencedBy == null) {
+      referencedBy = new HashMap<>();
+      references.forEach(
+          (pointer, targets) ->
+              targets.forEach(
+                  target ->
+                      referencedBy.computeIfAbsent(target, t -> new HashSet<>()).add(pointer)));
+    }
+    return closure(pointers, referencedBy);
+  }
+
+  private static Set<String> closure(Collection<String> pointers, Map<String, Set<String>> edges) {
+    Set<String> closure = new HashSet<>(pointers);
+    Deque<String> work = new ArrayDeque<>(pointers);
+    while (!work.isEmpty()) {
+      for (String next : edges.getOrDefault(work.pop(), Collections.emptySet())) {
+        if (closure.add(next)) {
+          work.push(next);
+        }
+      }
+    }
+    return closure;
+  }
+
+  /** Adds an entry for every field of a model, or every key of a map, but the skipped ones. */
+  private void entries(String parent, Object model, String... skipped) {
+    Set<String> skip = new HashSet<>();
+    Collections.addAll(skip, skipped);
+    if (model instanceof Map) {
+      ((Map<?, ?>) model).forEach((key, value) -> entry(parent, String.valueOf(key), value));
+    }
+    for (Field field : ModelFields.of(model.getClass())) {
+      Object value = ModelFields.get(field, model);
+      if (skip.contains(field.getName()) || value == null) {
+        continue;
+      }
+      if ("extensions".equals(field.getName())) {
+        ((Map<?, ?>) value)
+            .forEach((key, extension) -> entry(parent, String.valueOf(key), extension));
+      } else if (value instanceof Map && !parent.isEmpty()) {
+        entries(parent + "/" + escape(field.getName()), value);
+      } else {
+        entry(parent, field.getName(), value);
+      }
+    }
+  }
+
+  private void entry(String parent, String name, Object value) {
+    if (value == null) {
+      return;
+    }
+    String pointer = parent + "/" + escape(name);
+    Set<String> refs = new TreeSet<>();
+    SchemaHashIndex.Digest digest = new SchemaHashIndex.Digest();
+    new Hasher(refs).value(digest, value);
+    hashes.put(pointer, digest.finish());
+    references.put(pointer, refs);
+  }
+
+  /** Hashes a model tree and records the components it references. */
+  private static class Hasher {
+    private final Set<String> refs;
+    private final Set<Object> inProgress = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    Hasher(Set<String> refs) {
+      this.refs = refs;
+    }
+
+    void value(SchemaHashIndex.Digest digest, Object value) {
+      if (value == null) {
+        digest.tag('0');
+      } else if (value instanceof String) {
+        digest.tag('s').string((String) value);
+      } else if (value instanceof Enum) {
+        digest.tag('E').string(value.getClass().getName()).string(((Enum<?>) value).name());
+      } else if (!inProgress.add(value)) {
+        // only a fully resolved specification refers back to itself
+        digest.tag('C');
+      } else {
+        container(digest, value);
+        inProgress.remove(value);
+      }
+    }
+
+    private void container(SchemaHashIndex.Digest digest, Object value) {
+      if (value instanceof Map) {
+        Map<?, ?> map = (Map<?, ?>) value;
+        digest.tag('M').integer(map.size());
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+          value(digest, entry.getKey());
+          value(digest, entry.getValue());
+        }
+        if (value.getClass().getName().startsWith("io.swagger.v3.oas.models.")) {
+          // maps such as Paths or ApiResponses have fields of their own
+          object(digest, value);
+        }
+      } else if (value instanceof Collection) {
+        Collection<?> collection = (Collection<?>) value;
+        digest.tag('L').integer(collection.size());
+        for (Object element : collection) {
+          value(digest, element);
+        }
+      } else if (value.getClass().isArray()) {
+        int length = Array.getLength(value);
+        digest.tag('A').integer(length);
+        for (int i = 0; i < length; i++) {
+          value(digest, Array.get(value, i));
+        }
+      } else if (value.getClass().getName().startsWith("io.swagger.v3.oas.models.")) {
+        digest.tag('O').string(value.getClass().getName());
+        object(digest, value);
+        if (value instanceof Discriminator && ((Discriminator) value).getMapping() != null) {
+          for (String target : ((Discriminator) value).getMapping().values()) {
+            ref(target.contains("/") ? target : SCHEMA_REF + target);
+          }
+        }
+      } else {
+        digest.tag('V').string(value.getClass().getName()).string(value.toString());
+      }
+    }
+
+    private void object(SchemaHashIndex.Digest digest, Object object) {
+      for (Field field : ModelFields.of(object.getClass())) {
+        Object value = ModelFields.get(field, object);
+        value(digest.string(field.getName()), value);
+        if ("$ref".equals(field.getName()) && value instanceof String) {
+          ref((String) value);
+        }
+      }
+    }
+
+    private void ref(String ref) {
+      if (ref.startsWith(RefPointer.BASE_REF)) {
+        refs.add(ref.substring(1));
+      }
+    }
+  }
+}
@@ -1,6 +1,5 @@
 package org.openapitools.openapidiff.core.compare.schemadiffresult;
 
-import static java.util.Optional.ofNullable;
 import static org.openapitools.openapidiff.core.utils.ChangedUtils.isChanged;
 
 import io.swagger.v3.oas.models.Components;
@@ -115,10 +114,7 @@ public class SchemaDiffResult {
           && openApiDiff
               .getExtensionsDiff()
               .isParentApplicable(
-                  type,
-                  entry.getValue(),
-                  ofNullable(entry.getValue().getExtensions()).orElse(new LinkedHashMap<>()),
-                  context)) {
+                  type, entry.getValue(), entry.getValue().getExtensions(), context)) {
         result.put(entry.getKey(), entry.getValue());
       } else {
         // Child property is not applicable, so required cannot be applied
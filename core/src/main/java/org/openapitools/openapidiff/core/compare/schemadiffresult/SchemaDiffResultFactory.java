@@ -0,0 +1,24 @@
+package org.openapitools.openapidiff.core.compare.schemadiffresult;
+
+import io.swagger.v3.oas.models.media.Schema;
+import org.openapitools.openapidiff.core.compare.OpenApiDiff;
+
+/**
+ * Creates the {@link SchemaDiffResult} comparing two schemas of a given {@link Schema} class.
+ *
+ * <p>Implementations listed in {@code
+ * META-INF/services/org.openapitools.openapidiff.core.compare.schemadiffresult.SchemaDiffResultFactory}
+ * are registered next to the built-in factories, replacing the one of the same schema class. A
+ * schema class without a factory of its own is compared by the factory of its closest superclass.
+ */
+public interface SchemaDiffResultFactory {
+
+  /** @return the schema class, with its subclasses, whose instances this factory compares */
+  Class<? extends Schema> getSchemaType();
+
+  /**
+   * @param openApiDiff the comparison the result belongs to, may be null
+   * @return a new result, compared once
+   */
+  SchemaDiffResult create(OpenApiDiff openApiDiff);
+}
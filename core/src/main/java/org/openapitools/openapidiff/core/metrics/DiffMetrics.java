@@ -0,0 +1,170 @@
+package org.openapitools.openapidiff.core.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Counters and phase timings of one comparison.
+ *
+ * <p>Deferred values are created deep inside the model, so they are counted against the metrics
+ * {@link #bind(Supplier) bound} to the current thread. Without a bound comparison they are counted
+ * process-wide.
+ */
+public class DiffMetrics {
+  private static final DiffMetrics UNBOUND = new DiffMetrics();
+  private static final ThreadLocal<DiffMetrics> CURRENT = new ThreadLocal<>();
+
+  private final Map<DiffPhase, LongAdder> phaseNanos = new EnumMap<>(DiffPhase.class);
+  private final LongAdder schemaCacheHits = new LongAdder();
+  private final LongAdder schemaCacheMisses = new LongAdder();
+  private final LongAdder deferredCreated = new LongAdder();
+  private final LongAdder deferredResolved = new LongAdder();
+  private final LongAdder schemaDiffResults = new LongAdder();
+  private final LongAdder schemaDiffs = new LongAdder();
+  private final LongAdder identicalSchemaDiffs = new LongAdder();
+  private final LongAdder reusedPathItems = new LongAdder();
+
+  public DiffMetrics() {
+    for (DiffPhase phase : DiffPhase.values()) {
+      phaseNanos.put(phase, new LongAdder());
+    }
+  }
+
+  /** @return the metrics bound to the current thread, or the process-wide ones */
+  public static DiffMetrics current() {
+    DiffMetrics metrics = CURRENT.get();
+    return metrics != null ? metrics : UNBOUND;
+  }
+
+  /**
+   * Runs a task with these metrics bound to the current thread.
+   *
+   * @param task the work to count
+   * @param <T> the type of the task result
+   * @return the task result
+   */
+  public <T> T bind(Supplier<T> task) {
+    DiffMetrics previous = CURRENT.get();
+    CURRENT.set(this);
+    try {
+      return task.get();
+    } finally {
+      if (previous != null) {
+        CURRENT.set(previous);
+      } else {
+        CURRENT.remove();
+      }
+    }
+  }
+
+  public void recordPhase(DiffPhase phase, long nanos) {
+    phaseNanos.get(phase).add(nanos);
+  }
+
+  public void incrementSchemaCacheHits() {
+    schemaCacheHits.increment();
+  }
+
+  public void incrementSchemaCacheMisses() {
+    schemaCacheMisses.increment();
+  }
+
+  public void incrementDeferredCreated() {
+    deferredCreated.increment();
+  }
+
+  public void incrementDeferredResolved() {
+    deferredResolved.increment();
+  }
+
+  public void incrementSchemaDiffResults() {
+    schemaDiffResults.increment();
+  }
+
+  public void incrementSchemaDiffs() {
+    schemaDiffs.increment();
+  }
+
+  public void incrementIdenticalSchemaDiffs() {
+    identicalSchemaDiffs.increment();
+  }
+
+  public void incrementReusedPathItems() {
+    reusedPathItems.increment();
+  }
+
+  /** @return wall time spent in the phase, in nanoseconds */
+  public long getPhaseNanos(DiffPhase phase) {
+    return phaseNanos.get(phase).sum();
+  }
+
+  /** @return schema pairs found in the deferred schema cache */
+  public long getSchemaCacheHits() {
+    return schemaCacheHits.sum();
+  }
+
+  /** @return schema pairs added to the deferred schema cache */
+  public long getSchemaCacheMisses() {
+    return schemaCacheMisses.sum();
+  }
+
+  public long getDeferredCreated() {
+    return deferredCreated.sum();
+  }
+
+  public long getDeferredResolved() {
+    return deferredResolved.sum();
+  }
+
+  /** @return number of {@code SchemaDiffResult} instances created */
+  public long getSchemaDiffResults() {
+    return schemaDiffResults.sum();
+  }
+
+  /** @return schema pairs submitted for a diff */
+  public long getSchemaDiffs() {
+    return schemaDiffs.sum();
+  }
+
+  /** @return schema pairs skipped because they are structurally identical */
+  public long getIdenticalSchemaDiffs() {
+    return identicalSchemaDiffs.sum();
+  }
+
+  /** @return path items whose diff was taken from a previous comparison */
+  public long getReusedPathItems() {
+    return reusedPathItems.sum();
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("DiffMetrics{");
+    for (DiffPhase phase : DiffPhase.values()) {
+      sb.append(phase.name().toLowerCase())
+          .append('=')
+          .append(TimeUnit.NANOSECONDS.toMillis(getPhaseNanos(phase)))
+          .append("ms, ");
+    }
+    return sb.append("schemaCacheHits=")
+        .append(getSchemaCacheHits())
+        .append(", schemaCacheMisses=")
+        .append(getSchemaCacheMisses())
+        .append(", deferredCreated=")
+        .append(getDeferredCreated())
+        .append(", deferredResolved=")
+        .append(getDeferredResolved())
+        .append(", schemaDiffResults=")
+        .append(getSchemaDiffResults())
+        .append(", schemaDiffs=")
+        .append(getSchemaDiffs())
+        .append(", identicalSchemaDiffs=")
+        .append(getIdenticalSchemaDiffs())
+        .append(", reusedPathItems=")
+        .append(getReusedPathItems())
+        .append('}')
+        .toString();
+  }
+}
@@ -0,0 +1,20 @@
+package org.openapitools.openapidiff.core.metrics;
+
+/**
+ * Receives the phase timings and counters of a comparison. Set it with {@code
+ * OpenApiDiffOptions#setMetricsListener}; both methods do nothing by default.
+ *
+ * <p>Calls are made from the thread running the comparison, a listener shared between concurrent
+ * comparisons has to be thread-safe.
+ */
+public interface DiffMetricsListener {
+
+  /**
+   * @param phase the phase which completed
+   * @param nanos wall time spent in the phase
+   */
+  default void phaseCompleted(DiffPhase phase, long nanos) {}
+
+  /** @param metrics counters and phase timings of the completed comparison */
+  default void comparisonCompleted(DiffMetrics metrics) {}
+}
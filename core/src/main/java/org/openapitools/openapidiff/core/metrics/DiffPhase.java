@@ -0,0 +1,15 @@
+package org.openapitools.openapidiff.core.metrics;
+
+/** Timed phases of a comparison, in the order they run. */
+public enum DiffPhase {
+  /** Reading and resolving both specifications, reported by {@code OpenApiCompare}. */
+  PARSE,
+  /** Reading the global security requirements of both specifications. */
+  PRE_PROCESS,
+  /** First pass over the paths, which collects every referenced schema pair. */
+  PATHS,
+  /** Second pass which diffs the collected schema pairs and resolves the deferred results. */
+  DEFERRED_SCHEMAS,
+  /** Rendering the result, reported by the caller of the renderer. */
+  RENDER
+}
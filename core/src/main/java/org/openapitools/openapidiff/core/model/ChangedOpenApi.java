@@ -1,10 +1,13 @@
 package org.openapitools.openapidiff.core.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.models.OpenAPI;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.openapitools.openapidiff.core.compare.CacheKey;
 import org.openapitools.openapidiff.core.utils.EndpointUtils;
 
 public class ChangedOpenApi implements ComposedChanged {
@@ -15,6 +18,7 @@ public class ChangedOpenApi implements ComposedChanged {
   private List<ChangedOperation> changedOperations;
   private List<ChangedSchema> changedSchemas;
   private ChangedExtensions changedExtensions;
+  private Map<CacheKey, ChangedSchema> schemaCacheEntries;
 
   public List<Endpoint> getDeprecatedEndpoints() {
     return changedOperations.stream()
@@ -73,6 +77,15 @@ public class ChangedOpenApi implements ComposedChanged {
     return changedSchemas;
   }
 
+  /**
+   * @return the diff of every schema pair compared, null for the unchanged ones, by cache key; kept
+   *     for an incremental comparison and not part of the report
+   */
+  @JsonIgnore
+  public Map<CacheKey, ChangedSchema> getSchemaCacheEntries() {
+    return schemaCacheEntries;
+  }
+
   public ChangedOpenApi setOldSpecOpenApi(final OpenAPI oldSpecOpenApi) {
     this.oldSpecOpenApi = oldSpecOpenApi;
     return this;
@@ -108,6 +121,12 @@ public class ChangedOpenApi implements ComposedChanged {
     return this;
   }
 
+  public ChangedOpenApi setSchemaCacheEntries(
+      final Map<CacheKey, ChangedSchema> schemaCacheEntries) {
+    this.schemaCacheEntries = schemaCacheEntries;
+    return this;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
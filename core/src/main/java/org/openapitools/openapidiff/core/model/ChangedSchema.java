@@ -11,7 +11,7 @@ import org.openapitools.openapidiff.core.model.schema.ChangedReadOnly;
 import org.openapitools.openapidiff.core.model.schema.ChangedRequired;
 import org.openapitools.openapidiff.core.model.schema.ChangedWriteOnly;
 
-public class ChangedSchema implements ComposedChanged {
+public class ChangedSchema implements ComposedChanged, Cloneable {
   protected DiffContext context;
   protected Schema<?> oldSchema;
   protected Schema<?> newSchema;
@@ -53,6 +53,31 @@ public class ChangedSchema implements ComposedChanged {
     changedProperties = new LinkedHashMap<>();
   }
 
+  /**
+   * @param context the context to rebind the copy to
+   * @return a shallow copy of this change which shares all nested changes
+   */
+  public ChangedSchema copyWithContext(DiffContext context) {
+    ChangedSchema copy = copy();
+    copy.context = context;
+    copy.gettingChangedElements = false;
+    copy.gettingIsChanged = false;
+    copy.clearChangedCache();
+    return copy;
+  }
+
+  /**
+   * @return a shallow copy of this change, of the same class and with all its fields, which a
+   *     subclass holding state that must not be shared between copies overrides
+   */
+  protected ChangedSchema copy() {
+    try {
+      return (ChangedSchema) super.clone();
+    } catch (CloneNotSupportedException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
   private void clearChangedCache() {
     this.changed = null;
     this.coreChanged = null;
@@ -37,6 +37,21 @@ public class DiffContext {
     return copy().setResponse();
   }
 
+  /**
+   * Drops what only identifies the operation: the url, the path parameters and any method but PUT,
+   * which is the only one schema compatibility depends on.
+   *
+   * @return a copy of this context which is shared by every operation diffing the same schemas
+   */
+  public DiffContext copyAsCanonical() {
+    DiffContext context = new DiffContext();
+    context.method = PathItem.HttpMethod.PUT.equals(this.method) ? this.method : null;
+    context.response = this.response;
+    context.request = this.request;
+    context.required = this.required;
+    return context;
+  }
+
   private DiffContext setRequest() {
     this.request = true;
     this.response = false;
@@ -6,6 +6,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -24,66 +26,75 @@ public class DeferredBuilder<T> implements Consumer<DeferredChanged<T>> {
     return value;
   }
 
-  public <V extends T> DeferredChanged<V> with(DeferredChanged<V> value) {
+  public synchronized <V extends T> DeferredChanged<V> with(DeferredChanged<V> value) {
     deferredValues.add(value);
     return value;
   }
 
-  public <V extends T> DeferredBuilder<T> add(DeferredChanged<V> value) {
+  public synchronized <V extends T> DeferredBuilder<T> add(DeferredChanged<V> value) {
     deferredValues.add(value);
     return this;
   }
 
-  public <V extends T> DeferredBuilder<T> addAll(List<DeferredChanged<V>> values) {
+  public synchronized <V extends T> DeferredBuilder<T> addAll(List<DeferredChanged<V>> values) {
     deferredValues.addAll(values);
     return this;
   }
 
-  public <V extends T> DeferredBuilder<T> addAll(Stream<DeferredChanged<V>> values) {
+  public synchronized <V extends T> DeferredBuilder<T> addAll(Stream<DeferredChanged<V>> values) {
     deferredValues.addAll(values.collect(Collectors.toList()));
     return this;
   }
 
-  public DeferredBuilder<T> whenSet(Consumer<Optional<List<Optional<? super T>>>> consumer) {
+  public synchronized DeferredBuilder<T> whenSet(
+      Consumer<Optional<List<Optional<? super T>>>> consumer) {
     whenSet.add(consumer);
     return this;
   }
 
   @Override
-  public void accept(DeferredChanged<T> value) {
+  public synchronized void accept(DeferredChanged<T> value) {
     deferredValues.add(value);
   }
 
   public DeferredChanged<List<Optional<? super T>>> build() {
-    if (deferredValues.isEmpty()) {
+    List<DeferredChanged<? extends T>> items;
+    List<Consumer<Optional<List<Optional<? super T>>>>> consumers;
+    synchronized (this) {
+      items = new ArrayList<>(deferredValues);
+      consumers = new ArrayList<>(whenSet);
+    }
+    if (items.isEmpty()) {
       return DeferredChanged.empty();
     }
 
-    log.debug("Building collected deferred {}", DeferredLogger.logValue(deferredValues));
+    log.debug("Building collected deferred {}", DeferredLogger.logValue(items));
 
     final PendingChanged<List<Optional<? super T>>> changed = new PendingChanged<>();
-    whenSet.forEach(changed::whenSet);
+    consumers.forEach(changed::whenSet);
 
-    Optional[] values = new Optional[deferredValues.size()];
+    // items may be set from any thread, the last one to arrive completes the list
+    AtomicReferenceArray<Optional<?>> values = new AtomicReferenceArray<>(items.size());
+    AtomicInteger remaining = new AtomicInteger(items.size());
 
-    IntStream.range(0, deferredValues.size())
+    IntStream.range(0, items.size())
         .forEach(
             i -> {
-              DeferredChanged<? extends T> deferredItem = deferredValues.get(i);
+              DeferredChanged<? extends T> deferredItem = items.get(i);
               deferredItem.whenSet(
                   value -> {
-                    values[i] = value;
+                    boolean first = values.getAndSet(i, value) == null;
                     log.debug(
                         "Collected deferred item set this={}, item={}, values = {}",
                         this,
                         DeferredLogger.logValue(value),
-                        DeferredLogger.logValue(values));
-                    if (isFull(values)) {
+                        values);
+                    if (first && remaining.decrementAndGet() == 0) {
                       log.debug(
                           "Collected deferred triggering complete this={}, values = {}",
                           this,
-                          DeferredLogger.logValue(values));
-                      changed.setValue(Optional.of(Arrays.asList(values)));
+                          values);
+                      changed.setValue(Optional.of(toList(values)));
                     }
                   });
             });
@@ -95,12 +106,12 @@ public class DeferredBuilder<T> implements Consumer<DeferredChanged<T>> {
     return build().flatMap(values -> (DeferredChanged<V>) DeferredChanged.of(isChanged(changed)));
   }
 
-  private static boolean isFull(Object[] values) {
-    for (Object value : values) {
-      if (value == null) {
-        return false;
-      }
+  @SuppressWarnings("unchecked")
+  private static <T> List<Optional<? super T>> toList(AtomicReferenceArray<Optional<?>> values) {
+    Optional[] result = new Optional[values.length()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = values.get(i);
     }
-    return true;
+    return Arrays.asList(result);
   }
 }
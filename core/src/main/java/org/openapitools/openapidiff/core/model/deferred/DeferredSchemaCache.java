@@ -7,6 +7,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.openapitools.openapidiff.core.compare.CacheKey;
 import org.openapitools.openapidiff.core.compare.OpenApiDiff;
@@ -14,11 +15,17 @@ import org.openapitools.openapidiff.core.model.ChangedSchema;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Collects the schema pairs referenced while walking the paths so each one is diffed only once.
+ *
+ * <p>The cache itself is not shared between threads: concurrent work is done in {@link
+ * #isolate(Supplier) isolated} scopes which are merged back by the comparing thread.
+ */
 public class DeferredSchemaCache {
   private static final Logger log = LoggerFactory.getLogger(DeferredSchemaCache.class);
 
-  private final Map<CacheKey, SchemaDiffOperation> cache = new LinkedHashMap<>();
-  private final Queue<CacheKey> processingQueue = new ArrayDeque<>();
+  private final Scope root = new Scope();
+  private final ThreadLocal<Scope> isolatedScope = new ThreadLocal<>();
 
   private final OpenApiDiff openApiDiff;
 
@@ -26,18 +33,29 @@ public class DeferredSchemaCache {
     this.openApiDiff = openApiDiff;
   }
 
+  private Scope scope() {
+    Scope scope = isolatedScope.get();
+    return scope != null ? scope : root;
+  }
+
+  /**
+   * @param refSet the branch reaching the pair of schemas
+   * @param key references of the pair
+   * @param left the old schema
+   * @param right the new schema
+   * @return the comparison of the pair, added unless the pair is already compared
+   */
   public SchemaDiffOperation addSchema(
       RecursiveSchemaSet refSet, CacheKey key, Schema left, Schema right) {
-    if (!cache.containsKey(key)) {
+    Scope scope = scope();
+    SchemaDiffOperation operation = scope.get(key);
+    if (operation == null) {
       log.debug("Added schema cache {}", key);
-      SchemaDiffOperation operation =
-          new SchemaDiffOperation(openApiDiff, refSet, key, left, right);
-      cache.put(key, operation);
-      processingQueue.add(key);
-      return operation;
-    } else {
-      return cache.get(key);
+      operation = new SchemaDiffOperation(openApiDiff, refSet, key, left, right);
+      scope.cache.put(key, operation);
+      scope.processingQueue.add(key);
     }
+    return operation;
   }
 
   public DeferredChanged<ChangedSchema> getOrAddSchema(
@@ -48,18 +66,82 @@ public class DeferredSchemaCache {
       return DeferredChanged.empty();
     }
 
-    refSet.put(key);
-    SchemaDiffOperation operation;
-    if (cache.containsKey(key)) {
-      operation = cache.get(key);
+    SchemaDiffOperation operation = scope().get(key);
+    if (operation != null) {
+      // a pending comparison of another branch may itself be waiting for this one
+      if (refSet.operation != null && operation.isWaitingFor(refSet.operation)) {
+        log.debug("getOrAddSchema recursive call aborted {} ", key);
+        return DeferredChanged.empty();
+      }
+      openApiDiff.getMetrics().incrementSchemaCacheHits();
       log.debug("getOrAddSchema cached {} {}", key, operation.diffResult);
     } else {
+      openApiDiff.getMetrics().incrementSchemaCacheMisses();
       operation = addSchema(refSet, key, left, right);
       log.debug("getOrAddSchema added {} {}", key, operation.diffResult);
     }
+    if (refSet.operation != null) {
+      refSet.operation.waitFor(operation);
+    }
     return operation.diffResult;
   }
 
+  /**
+   * Adds schema diffs of a previous comparison, for the path items whose diff is reused.
+   *
+   * @param entries diffs by cache key, null for unchanged pairs
+   */
+  public void addReused(Map<CacheKey, ChangedSchema> entries) {
+    Scope scope = scope();
+    entries.forEach(
+        (key, changed) -> {
+          if (scope.get(key) == null) {
+            scope.cache.put(key, SchemaDiffOperation.reused(openApiDiff, key, changed));
+          }
+        });
+  }
+
+  /**
+   * Runs the given task against a private scope of this cache and processes every schema it
+   * registered before returning. The scope is published with {@link #merge(Isolated)}.
+   *
+   * @param task the work to run, typically the diff of one path item
+   * @param <T> the type of the task result
+   * @return the task result along with its private scope
+   */
+  public <T> Isolated<T> isolate(Supplier<T> task) {
+    Scope previous = isolatedScope.get();
+    Scope scope = new Scope();
+    isolatedScope.set(scope);
+    try {
+      // isolated tasks run on pool threads, which count against the comparison as well
+      return openApiDiff
+          .getMetrics()
+          .bind(
+              () -> {
+                T value = task.get();
+                processSchemaQueue();
+                return new Isolated<>(value, scope);
+              });
+    } finally {
+      if (previous != null) {
+        isolatedScope.set(previous);
+      } else {
+        isolatedScope.remove();
+      }
+    }
+  }
+
+  /**
+   * Adds the already processed schemas of an isolated scope to this cache. Schemas known before are
+   * kept, so merging in a fixed order gives a deterministic cache.
+   *
+   * @param isolated the result of {@link #isolate(Supplier)}
+   */
+  public void merge(Isolated<?> isolated) {
+    isolated.scope.cache.forEach(root.cache::putIfAbsent);
+  }
+
   public void process() {
     processSchemaQueue();
     //        while(! deferredOperations.isEmpty()) {
@@ -73,12 +155,13 @@ public class DeferredSchemaCache {
   }
 
   public void processSchemaQueue() {
+    Scope scope = scope();
     PendingChanged.logResolved();
-    while (!processingQueue.isEmpty()) {
-      CacheKey key = processingQueue.poll();
+    while (!scope.processingQueue.isEmpty()) {
+      CacheKey key = scope.processingQueue.poll();
       if (key != null) {
         log.debug("Processing schema {}", key);
-        SchemaDiffOperation operation = cache.get(key);
+        SchemaDiffOperation operation = scope.cache.get(key);
         DeferredChanged<ChangedSchema> realValue =
             operation
                 .openApiDiff
@@ -90,6 +173,7 @@ public class DeferredSchemaCache {
             value -> {
               log.debug("Schema processed {} {}", key, DeferredLogger.logValue(value));
               operation.diffResult.setValue(value);
+              operation.resolved();
             });
         log.debug("Processing schema started {}", key);
       }
@@ -98,13 +182,54 @@ public class DeferredSchemaCache {
   }
 
   public Collection<SchemaDiffOperation> getOperations() {
-    return cache.values();
+    return root.cache.values();
   }
 
   public List<ChangedSchema> getChangedSchemas() {
-    return cache.values().stream()
+    return root.cache.values().stream()
         .filter(op -> op.processed && op.diffResult.isPresent())
         .map(op -> op.diffResult.get())
         .collect(Collectors.toList());
   }
+
+  /** @return the diff of every processed schema pair, null for the unchanged ones, by cache key */
+  public Map<CacheKey, ChangedSchema> getEntries() {
+    Map<CacheKey, ChangedSchema> entries = new LinkedHashMap<>();
+    root.cache.forEach(
+        (key, op) -> {
+          if (op.processed && op.diffResult.isValueSet()) {
+            entries.put(key, op.diffResult.isPresent() ? op.diffResult.get() : null);
+          }
+        });
+    return entries;
+  }
+
+  private class Scope {
+    private final Map<CacheKey, SchemaDiffOperation> cache = new LinkedHashMap<>();
+    private final Queue<CacheKey> processingQueue = new ArrayDeque<>();
+
+    private SchemaDiffOperation get(CacheKey key) {
+      SchemaDiffOperation operation = cache.get(key);
+      if (operation == null && this != root) {
+        // the root scope is only read while isolated tasks are running
+        operation = root.cache.get(key);
+      }
+      return operation;
+    }
+  }
+
+  /** Result of a task run by {@link #isolate(Supplier)}. */
+  public static class Isolated<T> {
+    private final T value;
+    private final Scope scope;
+
+    private Isolated(T value, Scope scope) {
+      this.value = value;
+      this.scope = scope;
+    }
+
+    public T getValue() {
+      return value;
+    }
+  }
 }
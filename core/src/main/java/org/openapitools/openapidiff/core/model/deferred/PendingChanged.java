@@ -3,57 +3,64 @@ package org.openapitools.openapidiff.core.model.deferred;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import javax.annotation.Nullable;
+import org.openapitools.openapidiff.core.metrics.DiffMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class PendingChanged<T> implements DeferredChanged<T> {
   private static final Logger log = LoggerFactory.getLogger(PendingChanged.class);
 
-  private final List<Consumer<T>> ifPresentConsumers = new ArrayList<>();
-  private final List<Consumer<Optional<T>>> whenSetConsumers = new ArrayList<>();
+  // consumers are released once the value is set
+  private List<Consumer<T>> ifPresentConsumers = new ArrayList<>();
+  private List<Consumer<Optional<T>>> whenSetConsumers = new ArrayList<>();
 
   @Nullable private T value;
   private Optional<T> valueOptional = Optional.empty();
   private boolean valueIsPresent;
-  private boolean valueSet;
-
-  private static final AtomicInteger deferredCounter = new AtomicInteger();
-  private static final AtomicInteger resolvedCounter = new AtomicInteger();
+  private volatile boolean valueSet;
 
   @Override
   public void ifPresent(Consumer<T> consumer) {
-    if (valueSet) {
-      if (valueIsPresent) {
-        consumer.accept(value);
+    synchronized (this) {
+      if (!valueSet) {
+        ifPresentConsumers.add(consumer);
+        return;
       }
-    } else {
-      ifPresentConsumers.add(consumer);
+    }
+    if (valueIsPresent) {
+      consumer.accept(value);
     }
   }
 
   public void setValue(Optional<T> value) {
-    if (!valueSet) {
-      this.valueSet = true;
+    List<Consumer<T>> presentConsumers;
+    List<Consumer<Optional<T>>> setConsumers;
+    synchronized (this) {
+      if (valueSet) {
+        throw new IllegalStateException(
+            "PendingChanged may not be set more than once. Value was already set.");
+      }
       this.valueIsPresent = value.isPresent();
       this.value = value.orElse(null);
       this.valueOptional = value;
+      this.valueSet = true;
+      presentConsumers = ifPresentConsumers;
+      setConsumers = whenSetConsumers;
+      ifPresentConsumers = null;
+      whenSetConsumers = null;
+    }
 
-      log.debug("set {}", DeferredLogger.logValue(this.value));
-
-      if (this.valueIsPresent) {
-        ifPresentConsumers.forEach(c -> c.accept(this.value));
-      }
-
-      whenSetConsumers.forEach(c -> c.accept(this.valueOptional));
+    // consumers run outside the lock, they may complete other pending values
+    log.debug("set {}", DeferredLogger.logValue(this.value));
 
-    } else {
-      throw new IllegalStateException(
-          "PendingChanged may not be set more than once. Value was already set.");
+    if (this.valueIsPresent) {
+      presentConsumers.forEach(c -> c.accept(this.value));
     }
+
+    setConsumers.forEach(c -> c.accept(this.valueOptional));
   }
 
   public boolean isPresent() {
@@ -69,11 +76,13 @@ public class PendingChanged<T> implements DeferredChanged<T> {
   }
 
   public void whenSet(Consumer<Optional<T>> consumer) {
-    if (valueSet) {
-      consumer.accept(valueOptional);
-    } else {
-      whenSetConsumers.add(consumer);
+    synchronized (this) {
+      if (!valueSet) {
+        whenSetConsumers.add(consumer);
+        return;
+      }
     }
+    consumer.accept(valueOptional);
   }
 
   public <Q> DeferredChanged<Q> map(Function<Optional<T>, Q> function) {
@@ -92,7 +101,7 @@ public class PendingChanged<T> implements DeferredChanged<T> {
     } else {
       final PendingChanged<Q> mappedChanged = new PendingChanged<>();
       log.debug("map deferred {} ? -> ?", function);
-      deferredCounter.incrementAndGet();
+      DiffMetrics.current().incrementDeferredCreated();
       whenSet(
           value -> {
             Optional<Q> result = function.apply(this.valueOptional);
@@ -101,7 +110,7 @@ public class PendingChanged<T> implements DeferredChanged<T> {
                 function,
                 DeferredLogger.logValue(this.value),
                 DeferredLogger.logValue(result));
-            resolvedCounter.incrementAndGet();
+            DiffMetrics.current().incrementDeferredResolved();
             mappedChanged.setValue(result);
           });
       return mappedChanged;
@@ -112,7 +121,7 @@ public class PendingChanged<T> implements DeferredChanged<T> {
     if (valueSet) {
       DeferredChanged<Q> nextDeferred = function.apply(this.valueOptional);
       log.debug("flat map deferred {} {} -> ?", function, DeferredLogger.logValue(this.value));
-      deferredCounter.incrementAndGet();
+      DiffMetrics.current().incrementDeferredCreated();
       nextDeferred.whenSet(
           nextValue -> {
             log.debug(
@@ -120,13 +129,13 @@ public class PendingChanged<T> implements DeferredChanged<T> {
                 function,
                 DeferredLogger.logValue(this.value),
                 DeferredLogger.logValue(nextValue));
-            resolvedCounter.incrementAndGet();
+            DiffMetrics.current().incrementDeferredResolved();
           });
       return nextDeferred;
     } else {
       final PendingChanged<Q> mappedChanged = new PendingChanged<>();
       log.debug("flat map deferred {} ? -> ?", function);
-      deferredCounter.incrementAndGet();
+      DiffMetrics.current().incrementDeferredCreated();
       whenSet(
           value -> {
             DeferredChanged<Q> nextDeferred = function.apply(value);
@@ -137,7 +146,7 @@ public class PendingChanged<T> implements DeferredChanged<T> {
                       function,
                       DeferredLogger.logValue(this.value),
                       DeferredLogger.logValue(nextValue));
-                  resolvedCounter.incrementAndGet();
+                  DiffMetrics.current().incrementDeferredResolved();
                   mappedChanged.setValue(nextValue);
                 });
             log.debug("flat map resolved {} {} -> ?", function, DeferredLogger.logValue(value));
@@ -147,22 +156,23 @@ public class PendingChanged<T> implements DeferredChanged<T> {
   }
 
   @Override
-  public String toString() {
+  public synchronized String toString() {
     return "PendingChanged{"
         + "value="
         + DeferredLogger.logValue(value)
         + ", valueSet="
         + valueSet
         + ", ifPresentConsumers.size="
-        + ifPresentConsumers.size()
+        + (ifPresentConsumers != null ? ifPresentConsumers.size() : 0)
         + ", whenSetConsumers.size="
-        + whenSetConsumers.size()
+        + (whenSetConsumers != null ? whenSetConsumers.size() : 0)
         + '}';
   }
 
   public static void logResolved() {
-    int deferred = deferredCounter.get();
-    int resolved = resolvedCounter.get();
+    DiffMetrics metrics = DiffMetrics.current();
+    long deferred = metrics.getDeferredCreated();
+    long resolved = metrics.getDeferredResolved();
     log.debug(
         "Outstanding: {}  Deferred: {}  Resolved {}", deferred - resolved, deferred, resolved);
   }
@@ -1,18 +1,81 @@
 package org.openapitools.openapidiff.core.model.deferred;
 
-import java.util.HashSet;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.openapitools.openapidiff.core.compare.CacheKey;
 
-public class RecursiveSchemaSet {
-  HashSet<String> leftKeys = new HashSet<>();
-  HashSet<String> rightKeys = new HashSet<>();
+/**
+ * The referenced schemas being compared along one branch of a schema diff, from the schema the diff
+ * started at down to the current one.
+ *
+ * <p>A set is never modified: {@link #with(CacheKey, SchemaDiffOperation)} returns the set of a
+ * deeper branch, so sibling branches do not see each other's references. References are interned
+ * into integer ids shared by every set derived from the same root, and each side of the comparison
+ * keeps the ids of its references in a bit set.
+ */
+public final class RecursiveSchemaSet {
+  private static final BitSet EMPTY = new BitSet();
 
+  private final RefIds ids;
+  private final BitSet leftIds;
+  private final BitSet rightIds;
+  /** The comparison of the last reference of the branch, null for the root. */
+  final SchemaDiffOperation operation;
+
+  /** Creates the empty root set of new branches. */
+  public RecursiveSchemaSet() {
+    this(new RefIds(), EMPTY, EMPTY, null);
+  }
+
+  private RecursiveSchemaSet(
+      RefIds ids, BitSet leftIds, BitSet rightIds, SchemaDiffOperation operation) {
+    this.ids = ids;
+    this.leftIds = leftIds;
+    this.rightIds = rightIds;
+    this.operation = operation;
+  }
+
+  /**
+   * @param key references of a pair of schemas
+   * @return whether either reference is already compared by this branch
+   */
   public boolean contains(CacheKey key) {
-    return leftKeys.contains(key.getLeft()) || rightKeys.contains(key.getRight());
+    return contains(leftIds, key.getLeft()) || contains(rightIds, key.getRight());
+  }
+
+  /**
+   * @param key references of a pair of schemas
+   * @param operation the comparison of the pair
+   * @return the set of the branch comparing the pair below the schemas of this branch
+   */
+  RecursiveSchemaSet with(CacheKey key, SchemaDiffOperation operation) {
+    return new RecursiveSchemaSet(
+        ids, with(leftIds, key.getLeft()), with(rightIds, key.getRight()), operation);
+  }
+
+  private boolean contains(BitSet refIds, String ref) {
+    Integer id = ref != null ? ids.ids.get(ref) : null;
+    return id != null && refIds.get(id);
   }
 
-  public void put(CacheKey key) {
-    leftKeys.add(key.getLeft());
-    leftKeys.add(key.getRight());
+  private BitSet with(BitSet refIds, String ref) {
+    if (ref == null) {
+      return refIds;
+    }
+    BitSet extended = (BitSet) refIds.clone();
+    extended.set(ids.intern(ref));
+    return extended;
+  }
+
+  /** Ids of the references met by the branches of a root set, in the order they are met. */
+  private static final class RefIds {
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    private int intern(String ref) {
+      return ids.computeIfAbsent(ref, r -> next.getAndIncrement());
+    }
   }
 }
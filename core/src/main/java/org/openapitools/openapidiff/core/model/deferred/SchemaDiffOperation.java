@@ -1,6 +1,14 @@
 package org.openapitools.openapidiff.core.model.deferred;
 
 import io.swagger.v3.oas.models.media.Schema;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import org.openapitools.openapidiff.core.compare.CacheKey;
 import org.openapitools.openapidiff.core.compare.OpenApiDiff;
 import org.openapitools.openapidiff.core.model.ChangedSchema;
@@ -14,13 +22,63 @@ public class SchemaDiffOperation {
   boolean processed;
 
   PendingChanged<ChangedSchema> diffResult = new PendingChanged<>();
+  /** The pending comparisons this one waits for, dropped once its own diff is set. */
+  private List<SchemaDiffOperation> waitingFor;
 
+  /** @param branch the branch reaching the pair, null if the pair is not compared */
   SchemaDiffOperation(
-      OpenApiDiff openApiDiff, RecursiveSchemaSet refSet, CacheKey key, Schema left, Schema right) {
+      OpenApiDiff openApiDiff, RecursiveSchemaSet branch, CacheKey key, Schema left, Schema right) {
     this.openApiDiff = openApiDiff;
-    this.refSet = refSet;
+    this.refSet = branch != null ? branch.with(key, this) : null;
     this.key = key;
     this.left = left;
     this.right = right;
   }
+
+  /** @return an operation already processed, with the diff of a previous comparison */
+  static SchemaDiffOperation reused(OpenApiDiff openApiDiff, CacheKey key, ChangedSchema changed) {
+    SchemaDiffOperation operation = new SchemaDiffOperation(openApiDiff, null, key, null, null);
+    operation.processed = true;
+    operation.diffResult.setValue(Optional.ofNullable(changed));
+    return operation;
+  }
+
+  /** Records that the diff of this comparison includes the diff of the given pending one. */
+  void waitFor(SchemaDiffOperation operation) {
+    if (!diffResult.isValueSet() && !operation.diffResult.isValueSet()) {
+      if (waitingFor == null) {
+        waitingFor = new ArrayList<>(2);
+      }
+      waitingFor.add(operation);
+    }
+  }
+
+  void resolved() {
+    waitingFor = null;
+  }
+
+  /**
+   * @param operation a comparison
+   * @return whether the diff of this comparison cannot be set before the diff of the given one,
+   *     directly or through other pending comparisons
+   */
+  boolean isWaitingFor(SchemaDiffOperation operation) {
+    if (waitingFor == null) {
+      return this == operation;
+    }
+    Set<SchemaDiffOperation> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+    Deque<SchemaDiffOperation> pending = new ArrayDeque<>();
+    pending.push(this);
+    while (!pending.isEmpty()) {
+      SchemaDiffOperation next = pending.pop();
+      if (next == operation) {
+        return true;
+      }
+      List<SchemaDiffOperation> nextWaitingFor = next.waitingFor;
+      if (nextWaitingFor != null && visited.add(next)) {
+        nextWaitingFor.forEach(pending::push);
+      }
+    }
+    return false;
+  }
 }
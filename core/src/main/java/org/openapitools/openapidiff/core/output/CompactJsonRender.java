@@ -0,0 +1,533 @@
+package org.openapitools.openapidiff.core.output;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.models.headers.Header;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.security.SecurityRequirement;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import org.openapitools.openapidiff.core.model.Changed;
+import org.openapitools.openapidiff.core.model.ChangedApiResponse;
+import org.openapitools.openapidiff.core.model.ChangedContent;
+import org.openapitools.openapidiff.core.model.ChangedExtensions;
+import org.openapitools.openapidiff.core.model.ChangedHeader;
+import org.openapitools.openapidiff.core.model.ChangedHeaders;
+import org.openapitools.openapidiff.core.model.ChangedList;
+import org.openapitools.openapidiff.core.model.ChangedMediaType;
+import org.openapitools.openapidiff.core.model.ChangedMetadata;
+import org.openapitools.openapidiff.core.model.ChangedOneOfSchema;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.model.ChangedOperation;
+import org.openapitools.openapidiff.core.model.ChangedParameter;
+import org.openapitools.openapidiff.core.model.ChangedParameters;
+import org.openapitools.openapidiff.core.model.ChangedRequestBody;
+import org.openapitools.openapidiff.core.model.ChangedResponse;
+import org.openapitools.openapidiff.core.model.ChangedSchema;
+import org.openapitools.openapidiff.core.model.ChangedSecurityRequirement;
+import org.openapitools.openapidiff.core.model.ChangedSecurityRequirements;
+import org.openapitools.openapidiff.core.model.Endpoint;
+import org.openapitools.openapidiff.core.model.schema.ChangedMaxLength;
+
+/**
+ * Renders only the change records of a diff as JSON, unlike {@link JsonRender} which serializes the
+ * whole {@link ChangedOpenApi} including both specifications.
+ *
+ * <p>Each changed operation lists flat records of what was added, removed or changed. The {@code
+ * location} of a record is a path into the specification written like a JSON pointer, with its
+ * tokens escaped as in RFC 6901. It is a valid JSON pointer except below {@code parameters}: a
+ * parameter is addressed as {@code parameters/{in}/{name}}, because it may be declared on the path
+ * item and its index differs between the two specifications. Added and removed schemas, media types
+ * and responses carry their {@code $ref} rather than their content. Enum values, such as the style
+ * of a parameter, are written as in the specification.
+ */
+public class CompactJsonRender implements Render {
+  private final ObjectMapper objectMapper =
+      new ObjectMapper().configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+
+  private JsonGenerator generator;
+  private final Set<ChangedSchema> visiting = Collections.newSetFromMap(new IdentityHashMap<>());
+
+  @Override
+  public String render(ChangedOpenApi diff) {
+    StringWriter writer = new StringWriter();
+    try {
+      render(diff, writer);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return writer.toString();
+  }
+
+  @Override
+  public void render(ChangedOpenApi diff, Writer writer) throws IOException {
+    try (JsonGenerator json = objectMapper.getFactory().createGenerator(writer)) {
+      generator = json;
+      visiting.clear();
+      json.writeStartObject();
+      json.writeStringField("state", diff.isChanged().getValue());
+      json.writeBooleanField("compatible", diff.isCompatible());
+      endpoints("newEndpoints", diff.getNewEndpoints());
+      endpoints("missingEndpoints", diff.getMissingEndpoints());
+      endpoints("deprecatedEndpoints", diff.getDeprecatedEndpoints());
+      json.writeArrayFieldStart("changedOperations");
+      if (diff.getChangedOperations() != null) {
+        for (ChangedOperation operation : diff.getChangedOperations()) {
+          operation(operation);
+        }
+      }
+      json.writeEndArray();
+      json.writeArrayFieldStart("changes");
+      extensions("", diff.getChangedExtensions());
+      json.writeEndArray();
+      json.writeEndObject();
+    } finally {
+      generator = null;
+    }
+  }
+
+  private void endpoints(String field, List<Endpoint> endpoints) throws IOException {
+    generator.writeArrayFieldStart(field);
+    if (endpoints != null) {
+      for (Endpoint endpoint : endpoints) {
+        generator.writeStartObject();
+        generator.writeStringField("method", endpoint.getMethod().toString());
+        generator.writeStringField("path", endpoint.getPathUrl());
+        generator.writeStringField("location", operationPointer(endpoint.getPathUrl(), endpoint));
+        generator.writeEndObject();
+      }
+    }
+    generator.writeEndArray();
+  }
+
+  private void operation(ChangedOperation operation) throws IOException {
+    String pointer =
+        "/paths/"
+            + escape(operation.getPathUrl())
+            + "/"
+            + operation.getHttpMethod().toString().toLowerCase();
+    generator.writeStartObject();
+    generator.writeStringField("method", operation.getHttpMethod().toString());
+    generator.writeStringField("path", operation.getPathUrl());
+    generator.writeStringField("location", pointer);
+    generator.writeStringField("state", operation.isChanged().getValue());
+    generator.writeArrayFieldStart("changes");
+    metadata(pointer + "/summary", operation.getSummary());
+    metadata(pointer + "/description", operation.getDescription());
+    metadata(pointer + "/operationId", operation.getOperationId());
+    if (operation.isDeprecated()) {
+      record(pointer + "/deprecated", "deprecated", null);
+    }
+    parameters(pointer + "/parameters", operation.getParameters());
+    requestBody(pointer + "/requestBody", operation.getRequestBody());
+    responses(pointer + "/responses", operation.getApiResponses());
+    security(pointer + "/security", operation.getSecurityRequirements());
+    extensions(pointer, operation.getExtensions());
+    generator.writeEndArray();
+    generator.writeEndObject();
+  }
+
+  private void parameters(String pointer, ChangedParameters parameters) throws IOException {
+    if (!isDifferent(parameters)) {
+      return;
+    }
+    for (Parameter parameter : parameters.getIncreased()) {
+      added(parameterPointer(pointer, parameter.getIn(), parameter.getName()), parameter.get$ref());
+    }
+    for (Parameter parameter : parameters.getMissing()) {
+      removed(
+          parameterPointer(pointer, parameter.getIn(), parameter.getName()), parameter.get$ref());
+    }
+    for (ChangedParameter parameter : parameters.getChanged()) {
+      String parameterPointer = parameterPointer(pointer, parameter.getIn(), parameter.getName());
+      if (parameter.isDeprecated()) {
+        record(parameterPointer + "/deprecated", "deprecated", null);
+      }
+      flag(
+          parameterPointer + "/required",
+          parameter.isChangeRequired(),
+          parameter.getOldParameter(),
+          parameter.getNewParameter(),
+          Parameter::getRequired);
+      flag(
+          parameterPointer + "/style",
+          parameter.isChangeStyle(),
+          parameter.getOldParameter(),
+          parameter.getNewParameter(),
+          Parameter::getStyle);
+      flag(
+          parameterPointer + "/explode",
+          parameter.isChangeExplode(),
+          parameter.getOldParameter(),
+          parameter.getNewParameter(),
+          Parameter::getExplode);
+      flag(
+          parameterPointer + "/allowEmptyValue",
+          parameter.isChangeAllowEmptyValue(),
+          parameter.getOldParameter(),
+          parameter.getNewParameter(),
+          Parameter::getAllowEmptyValue);
+      metadata(parameterPointer + "/description", parameter.getDescription());
+      schema(parameterPointer + "/schema", parameter.getSchema());
+      content(parameterPointer + "/content", parameter.getContent());
+      extensions(parameterPointer, parameter.getExtensions());
+    }
+  }
+
+  private void requestBody(String pointer, ChangedRequestBody requestBody) throws IOException {
+    if (!isDifferent(requestBody)) {
+      return;
+    }
+    flag(
+        pointer + "/required",
+        requestBody.isChangeRequired(),
+        requestBody.getOldRequestBody(),
+        requestBody.getNewRequestBody(),
+        RequestBody::getRequired);
+    metadata(pointer + "/description", requestBody.getDescription());
+    content(pointer + "/content", requestBody.getContent());
+    extensions(pointer, requestBody.getExtensions());
+  }
+
+  private void responses(String pointer, ChangedApiResponse responses) throws IOException {
+    if (!isDifferent(responses)) {
+      return;
+    }
+    for (Map.Entry<String, ApiResponse> entry : responses.getIncreased().entrySet()) {
+      added(pointer + "/" + escape(entry.getKey()), entry.getValue().get$ref());
+    }
+    for (Map.Entry<String, ApiResponse> entry : responses.getMissing().entrySet()) {
+      removed(pointer + "/" + escape(entry.getKey()), entry.getValue().get$ref());
+    }
+    for (Map.Entry<String, ChangedResponse> entry : responses.getChanged().entrySet()) {
+      String responsePointer = pointer + "/" + escape(entry.getKey());
+      ChangedResponse response = entry.getValue();
+      metadata(responsePointer + "/description", response.getDescription());
+      headers(responsePointer + "/headers", response.getHeaders());
+      content(responsePointer + "/content", response.getContent());
+      extensions(responsePointer, response.getExtensions());
+    }
+    extensions(pointer, responses.getExtensions());
+  }
+
+  private void headers(String pointer, ChangedHeaders headers) throws IOException {
+    if (!isDifferent(headers)) {
+      return;
+    }
+    for (Map.Entry<String, Header> entry : headers.getIncreased().entrySet()) {
+      added(pointer + "/" + escape(entry.getKey()), entry.getValue().get$ref());
+    }
+    for (Map.Entry<String, Header> entry : headers.getMissing().entrySet()) {
+      removed(pointer + "/" + escape(entry.getKey()), entry.getValue().get$ref());
+    }
+    for (Map.Entry<String, ChangedHeader> entry : headers.getChanged().entrySet()) {
+      String headerPointer = pointer + "/" + escape(entry.getKey());
+      ChangedHeader header = entry.getValue();
+      if (header.isDeprecated()) {
+        record(headerPointer + "/deprecated", "deprecated", null);
+      }
+      flag(
+          headerPointer + "/required",
+          header.isRequired(),
+          header.getOldHeader(),
+          header.getNewHeader(),
+          Header::getRequired);
+      flag(
+          headerPointer + "/style",
+          header.isStyle(),
+          header.getOldHeader(),
+          header.getNewHeader(),
+          Header::getStyle);
+      flag(
+          headerPointer + "/explode",
+          header.isExplode(),
+          header.getOldHeader(),
+          header.getNewHeader(),
+          Header::getExplode);
+      metadata(headerPointer + "/description", header.getDescription());
+      schema(headerPointer + "/schema", header.getSchema());
+      content(headerPointer + "/content", header.getContent());
+      extensions(headerPointer, header.getExtensions());
+    }
+  }
+
+  private void content(String pointer, ChangedContent content) throws IOException {
+    if (!isDifferent(content)) {
+      return;
+    }
+    for (Map.Entry<String, MediaType> entry : content.getIncreased().entrySet()) {
+      added(pointer + "/" + escape(entry.getKey()), schemaRef(entry.getValue().getSchema()));
+    }
+    for (Map.Entry<String, MediaType> entry : content.getMissing().entrySet()) {
+      removed(pointer + "/" + escape(entry.getKey()), schemaRef(entry.getValue().getSchema()));
+    }
+    for (Map.Entry<String, ChangedMediaType> entry : content.getChanged().entrySet()) {
+      schema(pointer + "/" + escape(entry.getKey()) + "/schema", entry.getValue().getSchema());
+    }
+  }
+
+  private void schema(String pointer, ChangedSchema schema) throws IOException {
+    if (!isDifferent(schema) || !visiting.add(schema)) {
+      return;
+    }
+    Schema<?> oldSchema = schema.getOldSchema();
+    Schema<?> newSchema = schema.getNewSchema();
+    if (schema.isChangedType()) {
+      change(
+          pointer + "/type",
+          schema,
+          oldSchema != null ? oldSchema.getType() : null,
+          newSchema != null ? newSchema.getType() : null);
+    }
+    if (schema.isChangeFormat()) {
+      change(
+          pointer + "/format",
+          schema,
+          oldSchema != null ? oldSchema.getFormat() : null,
+          newSchema != null ? newSchema.getFormat() : null);
+    }
+    if (schema.isChangeDeprecated()) {
+      record(pointer + "/deprecated", "deprecated", null);
+    }
+    if (schema.isChangeTitle()) {
+      record(pointer + "/title", "changed", null);
+    }
+    if (schema.isChangeDefault()) {
+      record(pointer + "/default", "changed", null);
+    }
+    if (schema.isDiscriminatorPropertyChanged()) {
+      record(pointer + "/discriminator/propertyName", "changed", null);
+    }
+    metadata(pointer + "/description", schema.getDescription());
+    list(pointer + "/enum", schema.getEnumeration());
+    list(pointer + "/required", schema.getRequired());
+    ChangedMaxLength maxLength = schema.getMaxLength();
+    if (isDifferent(maxLength)) {
+      change(pointer + "/maxLength", maxLength, maxLength.getOldValue(), maxLength.getNewValue());
+    }
+    if (isDifferent(schema.getReadOnly())) {
+      change(
+          pointer + "/readOnly",
+          schema.getReadOnly(),
+          oldSchema != null ? oldSchema.getReadOnly() : null,
+          newSchema != null ? newSchema.getReadOnly() : null);
+    }
+    if (isDifferent(schema.getWriteOnly())) {
+      change(
+          pointer + "/writeOnly",
+          schema.getWriteOnly(),
+          oldSchema != null ? oldSchema.getWriteOnly() : null,
+          newSchema != null ? newSchema.getWriteOnly() : null);
+    }
+    for (Map.Entry<String, Schema<?>> entry : schema.getIncreasedProperties().entrySet()) {
+      added(pointer + "/properties/" + escape(entry.getKey()), schemaRef(entry.getValue()));
+    }
+    for (Map.Entry<String, Schema<?>> entry : schema.getMissingProperties().entrySet()) {
+      removed(pointer + "/properties/" + escape(entry.getKey()), schemaRef(entry.getValue()));
+    }
+    for (Map.Entry<String, ChangedSchema> entry : schema.getChangedProperties().entrySet()) {
+      schema(pointer + "/properties/" + escape(entry.getKey()), entry.getValue());
+    }
+    schema(pointer + "/items", schema.getItems());
+    schema(pointer + "/additionalProperties", schema.getAddProp());
+    oneOf(pointer + "/discriminator/mapping", schema.getOneOfSchema());
+    extensions(pointer, schema.getExtensions());
+    visiting.remove(schema);
+  }
+
+  private void oneOf(String pointer, ChangedOneOfSchema oneOf) throws IOException {
+    if (!isDifferent(oneOf)) {
+      return;
+    }
+    for (Map.Entry<String, Schema> entry : oneOf.getIncreased().entrySet()) {
+      added(pointer + "/" + escape(entry.getKey()), oneOf.getNewMapping().get(entry.getKey()));
+    }
+    for (Map.Entry<String, Schema> entry : oneOf.getMissing().entrySet()) {
+      removed(pointer + "/" + escape(entry.getKey()), oneOf.getOldMapping().get(entry.getKey()));
+    }
+    for (Map.Entry<String, ChangedSchema> entry : oneOf.getChanged().entrySet()) {
+      schema(pointer + "/" + escape(entry.getKey()), entry.getValue());
+    }
+  }
+
+  private void security(String pointer, ChangedSecurityRequirements security) throws IOException {
+    if (!isDifferent(security)) {
+      return;
+    }
+    if (security.getIncreased() != null) {
+      for (SecurityRequirement requirement : security.getIncreased()) {
+        values(pointer, "added", null, requirement.keySet());
+      }
+    }
+    if (security.getMissing() != null) {
+      for (SecurityRequirement requirement : security.getMissing()) {
+        values(pointer, "removed", null, requirement.keySet());
+      }
+    }
+    if (security.getChanged() != null) {
+      for (ChangedSecurityRequirement requirement : security.getChanged()) {
+        values(
+            pointer,
+            "changed",
+            requirement,
+            requirement.getNewSecurityRequirement() != null
+                ? requirement.getNewSecurityRequirement().keySet()
+                : null);
+      }
+    }
+  }
+
+  private void extensions(String pointer, ChangedExtensions extensions) throws IOException {
+    if (!isDifferent(extensions)) {
+      return;
+    }
+    for (String name : extensions.getIncreased().keySet()) {
+      record(pointer + "/" + escape(name), "added", extensions.getIncreased().get(name));
+    }
+    for (String name : extensions.getMissing().keySet()) {
+      record(pointer + "/" + escape(name), "removed", extensions.getMissing().get(name));
+    }
+    for (String name : extensions.getChanged().keySet()) {
+      record(pointer + "/" + escape(name), "changed", extensions.getChanged().get(name));
+    }
+  }
+
+  private void metadata(String pointer, ChangedMetadata metadata) throws IOException {
+    if (isDifferent(metadata)) {
+      change(pointer, metadata, metadata.getLeft(), metadata.getRight());
+    }
+  }
+
+  private void list(String pointer, ChangedList<?> list) throws IOException {
+    if (!isDifferent(list)) {
+      return;
+    }
+    generator.writeStartObject();
+    generator.writeStringField("location", pointer);
+    generator.writeStringField("change", "changed");
+    generator.writeStringField("state", list.isChanged().getValue());
+    if (!list.getIncreased().isEmpty()) {
+      generator.writeObjectField("added", list.getIncreased());
+    }
+    if (!list.getMissing().isEmpty()) {
+      generator.writeObjectField("removed", list.getMissing());
+    }
+    generator.writeEndObject();
+  }
+
+  /**
+   * @param oldOwner the old parameter, header or body, null if it does not exist
+   * @param newOwner the new parameter, header or body, null if it does not exist
+   */
+  private <T> void flag(
+      String pointer, boolean changed, T oldOwner, T newOwner, Function<T, Object> getter)
+      throws IOException {
+    if (changed) {
+      change(
+          pointer,
+          null,
+          oldOwner != null ? getter.apply(oldOwner) : null,
+          newOwner != null ? getter.apply(newOwner) : null);
+    }
+  }
+
+  private void added(String pointer, String ref) throws IOException {
+    reference(pointer, "added", ref);
+  }
+
+  private void removed(String pointer, String ref) throws IOException {
+    reference(pointer, "removed", ref);
+  }
+
+  private void reference(String pointer, String change, String ref) throws IOException {
+    generator.writeStartObject();
+    generator.writeStringField("location", pointer);
+    generator.writeStringField("change", change);
+    if (ref != null) {
+      generator.writeStringField("ref", ref);
+    }
+    generator.writeEndObject();
+  }
+
+  private void record(String pointer, String change, Changed changed) throws IOException {
+    generator.writeStartObject();
+    generator.writeStringField("location", pointer);
+    generator.writeStringField("change", change);
+    if (changed != null) {
+      generator.writeStringField("state", changed.isChanged().getValue());
+    }
+    generator.writeEndObject();
+  }
+
+  private void change(String pointer, Changed changed, Object oldValue, Object newValue)
+      throws IOException {
+    generator.writeStartObject();
+    generator.writeStringField("location", pointer);
+    generator.writeStringField("change", "changed");
+    if (changed != null) {
+      generator.writeStringField("state", changed.isChanged().getValue());
+    }
+    if (oldValue != null) {
+      generator.writeObjectField("old", specValue(oldValue));
+    }
+    if (newValue != null) {
+      generator.writeObjectField("new", specValue(newValue));
+    }
+    generator.writeEndObject();
+  }
+
+  private void values(String pointer, String change, Changed changed, Object values)
+      throws IOException {
+    generator.writeStartObject();
+    generator.writeStringField("location", pointer);
+    generator.writeStringField("change", change);
+    if (changed != null) {
+      generator.writeStringField("state", changed.isChanged().getValue());
+    }
+    if (values != null) {
+      generator.writeObjectField("value", values);
+    }
+    generator.writeEndObject();
+  }
+
+  private static boolean isDifferent(Changed changed) {
+    return changed != null && changed.isDifferent();
+  }
+
+  /**
+   * @return the value as written in the specification, which for the model enums is their string
+   */
+  private static Object specValue(Object value) {
+    return value instanceof Enum ? value.toString() : value;
+  }
+
+  private static String schemaRef(Schema<?> schema) {
+    return schema != null ? schema.get$ref() : null;
+  }
+
+  private static String operationPointer(String pathUrl, Endpoint endpoint) {
+    return "/paths/" + escape(pathUrl) + "/" + endpoint.getMethod().toString().toLowerCase();
+  }
+
+  private static String parameterPointer(String pointer, String in, String name) {
+    return pointer + "/" + escape(Objects.toString(in)) + "/" + escape(Objects.toString(name));
+  }
+
+  /** Escapes a reference token of a JSON pointer as defined by RFC 6901. */
+  private static String escape(String token) {
+    return token.replace("~", "~0").replace("/", "~1");
+  }
+}
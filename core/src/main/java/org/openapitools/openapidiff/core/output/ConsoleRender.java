@@ -6,6 +6,10 @@ import io.swagger.v3.oas.models.media.ArraySchema;
 import io.swagger.v3.oas.models.media.Schema;
 import io.swagger.v3.oas.models.parameters.Parameter;
 import io.swagger.v3.oas.models.responses.ApiResponse;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -22,80 +26,77 @@ public class ConsoleRender implements Render {
 
   @Override
   public String render(ChangedOpenApi diff) {
+    StringWriter writer = new StringWriter();
+    try {
+      render(diff, writer);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return writer.toString();
+  }
+
+  @Override
+  public void render(ChangedOpenApi diff, Writer writer) throws IOException {
     this.diff = diff;
-    StringBuilder output = new StringBuilder();
     if (diff.isUnchanged()) {
-      output.append("No differences. Specifications are equivalents");
-    } else {
-      output
-          .append(bigTitle("Api Change Log"))
-          .append(StringUtils.center(diff.getNewSpecOpenApi().getInfo().getTitle(), LINE_LENGTH))
-          .append(System.lineSeparator());
-
-      List<Endpoint> newEndpoints = diff.getNewEndpoints();
-      String ol_newEndpoint = listEndpoints(newEndpoints, "What's New");
-
-      List<Endpoint> missingEndpoints = diff.getMissingEndpoints();
-      String ol_missingEndpoint = listEndpoints(missingEndpoints, "What's Deleted");
-
-      List<Endpoint> deprecatedEndpoints = diff.getDeprecatedEndpoints();
-      String ol_deprecatedEndpoint = listEndpoints(deprecatedEndpoints, "What's Deprecated");
-
-      List<ChangedOperation> changedOperations = diff.getChangedOperations();
-      String ol_changed = ol_changed(changedOperations);
-
-      output
-          .append(renderBody(ol_newEndpoint, ol_missingEndpoint, ol_deprecatedEndpoint, ol_changed))
-          .append(title("Result"))
-          .append(
-              StringUtils.center(
-                  diff.isCompatible()
-                      ? "API changes are backward compatible"
-                      : "API changes broke backward compatibility",
-                  LINE_LENGTH))
-          .append(System.lineSeparator())
-          .append(separator('-'));
+      writer.write("No differences. Specifications are equivalents");
+      return;
     }
-    return output.toString();
+    writer.write(bigTitle("Api Change Log"));
+    writer.write(StringUtils.center(diff.getNewSpecOpenApi().getInfo().getTitle(), LINE_LENGTH));
+    writer.write(System.lineSeparator());
+
+    writer.write(listEndpoints(diff.getNewEndpoints(), "What's New"));
+    writer.write(listEndpoints(diff.getMissingEndpoints(), "What's Deleted"));
+    writer.write(listEndpoints(diff.getDeprecatedEndpoints(), "What's Deprecated"));
+    List<ChangedOperation> changedOperations = diff.getChangedOperations();
+    if (null != changedOperations && !changedOperations.isEmpty()) {
+      writer.write(title("What's Changed"));
+      for (ChangedOperation operation : changedOperations) {
+        writer.write(changedOperation(operation));
+      }
+    }
+
+    writer.write(title("Result"));
+    writer.write(
+        StringUtils.center(
+            diff.isCompatible()
+                ? "API changes are backward compatible"
+                : "API changes broke backward compatibility",
+            LINE_LENGTH));
+    writer.write(System.lineSeparator());
+    writer.write(separator('-').toString());
   }
 
-  private String ol_changed(List<ChangedOperation> operations) {
-    if (null == operations || operations.isEmpty()) {
-      return "";
+  private String changedOperation(ChangedOperation operation) {
+    String pathUrl = operation.getPathUrl();
+    String method = operation.getHttpMethod().toString();
+    String desc =
+        Optional.ofNullable(operation.getSummary()).map(ChangedMetadata::getRight).orElse("");
+
+    StringBuilder ul_detail = new StringBuilder();
+    if (result(operation.getParameters()).isDifferent()) {
+      ul_detail
+          .append(StringUtils.repeat(' ', 2))
+          .append("Parameter:")
+          .append(System.lineSeparator())
+          .append(ul_param(operation.getParameters()));
     }
-    StringBuilder sb = new StringBuilder();
-    sb.append(title("What's Changed"));
-    for (ChangedOperation operation : operations) {
-      String pathUrl = operation.getPathUrl();
-      String method = operation.getHttpMethod().toString();
-      String desc =
-          Optional.ofNullable(operation.getSummary()).map(ChangedMetadata::getRight).orElse("");
-
-      StringBuilder ul_detail = new StringBuilder();
-      if (result(operation.getParameters()).isDifferent()) {
-        ul_detail
-            .append(StringUtils.repeat(' ', 2))
-            .append("Parameter:")
-            .append(System.lineSeparator())
-            .append(ul_param(operation.getParameters()));
-      }
-      if (operation.resultRequestBody().isDifferent()) {
-        ul_detail
-            .append(StringUtils.repeat(' ', 2))
-            .append("Request:")
-            .append(System.lineSeparator())
-            .append(ul_content(operation.getRequestBody().getContent(), true));
-      }
-      if (operation.resultApiResponses().isDifferent()) {
-        ul_detail
-            .append(StringUtils.repeat(' ', 2))
-            .append("Return Type:")
-            .append(System.lineSeparator())
-            .append(ul_response(operation.getApiResponses()));
-      }
-      sb.append(itemEndpoint(method, pathUrl, desc)).append(ul_detail);
+    if (operation.resultRequestBody().isDifferent()) {
+      ul_detail
+          .append(StringUtils.repeat(' ', 2))
+          .append("Request:")
+          .append(System.lineSeparator())
+          .append(ul_content(operation.getRequestBody().getContent(), true));
     }
-    return sb.toString();
+    if (operation.resultApiResponses().isDifferent()) {
+      ul_detail
+          .append(StringUtils.repeat(' ', 2))
+          .append("Return Type:")
+          .append(System.lineSeparator())
+          .append(ul_response(operation.getApiResponses()));
+    }
+    return itemEndpoint(method, pathUrl, desc) + ul_detail;
   }
 
   private String ul_response(ChangedApiResponse changedApiResponse) {
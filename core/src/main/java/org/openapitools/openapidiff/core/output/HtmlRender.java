@@ -32,10 +32,15 @@ import j2html.tags.specialized.HtmlTag;
 import j2html.tags.specialized.LiTag;
 import j2html.tags.specialized.OlTag;
 import j2html.tags.specialized.UlTag;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.function.Function;
 import org.openapitools.openapidiff.core.model.ChangedApiResponse;
 import org.openapitools.openapidiff.core.model.ChangedContent;
 import org.openapitools.openapidiff.core.model.ChangedMediaType;
@@ -72,24 +77,83 @@ public class HtmlRender implements Render {
   }
 
   public String render(ChangedOpenApi diff) {
-    this.diff = diff;
-
-    List<Endpoint> newEndpoints = diff.getNewEndpoints();
-    OlTag ol_newEndpoint = ol_newEndpoint(newEndpoints);
-
-    List<Endpoint> missingEndpoints = diff.getMissingEndpoints();
-    OlTag ol_missingEndpoint = ol_missingEndpoint(missingEndpoints);
-
-    List<Endpoint> deprecatedEndpoints = diff.getDeprecatedEndpoints();
-    OlTag ol_deprecatedEndpoint = ol_deprecatedEndpoint(deprecatedEndpoints);
+    StringWriter writer = new StringWriter();
+    try {
+      render(diff, writer);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return writer.toString();
+  }
 
-    List<ChangedOperation> changedOperations = diff.getChangedOperations();
-    OlTag ol_changed = ol_changed(changedOperations);
+  /** Writes the page as it goes, rendering the tags of one endpoint at a time. */
+  @Override
+  public void render(ChangedOpenApi diff, Writer writer) throws IOException {
+    this.diff = diff;
 
-    return renderHtml(ol_newEndpoint, ol_missingEndpoint, ol_deprecatedEndpoint, ol_changed);
+    writer.write(document().render());
+    writer.write("<html lang=\"en\">");
+    head()
+        .with(
+            meta().withCharset("utf-8"),
+            title(title),
+            link().withRel("stylesheet").withHref(linkCss))
+        .render(writer);
+    writer.write("<body>");
+    header().with(h1(title)).render(writer);
+    writer.write("<div class=\"article\">");
+    writeSection(
+        "What's New",
+        diff.getNewEndpoints(),
+        endpoint ->
+            li_newEndpoint(
+                endpoint.getMethod().toString(), endpoint.getPathUrl(), endpoint.getSummary()),
+        writer);
+    writeSection(
+        "What's Deleted",
+        diff.getMissingEndpoints(),
+        endpoint ->
+            li_missingEndpoint(
+                endpoint.getMethod().toString(), endpoint.getPathUrl(), endpoint.getSummary()),
+        writer);
+    writeSection(
+        "What's Deprecated",
+        diff.getDeprecatedEndpoints(),
+        endpoint ->
+            li_deprecatedEndpoint(
+                endpoint.getMethod().toString(), endpoint.getPathUrl(), endpoint.getSummary()),
+        writer);
+    writeSection("What's Changed", diff.getChangedOperations(), this::li_changed, writer);
+    writer.write("</div></body></html>");
+  }
+
+  private <T> void writeSection(
+      String heading, List<T> entries, Function<T, LiTag> item, Writer writer) throws IOException {
+    writer.write("<div>");
+    h2(heading).render(writer);
+    hr().render(writer);
+    writer.write("<ol>");
+    if (entries != null) {
+      for (T entry : entries) {
+        item.apply(entry).render(writer);
+      }
+    }
+    writer.write("</ol></div>");
   }
 
   public String renderHtml(OlTag ol_new, OlTag ol_miss, OlTag ol_deprec, OlTag ol_changed) {
+    StringWriter writer = new StringWriter();
+    try {
+      renderHtml(ol_new, ol_miss, ol_deprec, ol_changed, writer);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return writer.toString();
+  }
+
+  public void renderHtml(
+      OlTag ol_new, OlTag ol_miss, OlTag ol_deprec, OlTag ol_changed, Writer writer)
+      throws IOException {
     HtmlTag html =
         html()
             .attr("lang", "en")
@@ -110,7 +174,8 @@ public class HtmlRender implements Render {
                                 div().with(h2("What's Deprecated"), hr(), ol_deprec),
                                 div().with(h2("What's Changed"), hr(), ol_changed))));
 
-    return document().render() + html.render();
+    writer.write(document().render());
+    html.render(writer);
   }
 
   private OlTag ol_newEndpoint(List<Endpoint> endpoints) {
@@ -162,36 +227,38 @@ public class HtmlRender implements Render {
     if (null == changedOperations) return ol();
     OlTag ol = ol();
     for (ChangedOperation changedOperation : changedOperations) {
-      String pathUrl = changedOperation.getPathUrl();
-      String method = changedOperation.getHttpMethod().toString();
-      String desc =
-          Optional.ofNullable(changedOperation.getSummary())
-              .map(ChangedMetadata::getRight)
-              .orElse("");
-
-      UlTag ul_detail = ul().withClass("detail");
-      if (result(changedOperation.getParameters()).isDifferent()) {
-        ul_detail.with(
-            li().with(h3("Parameters")).with(ul_param(changedOperation.getParameters())));
-      }
-      if (changedOperation.resultRequestBody().isDifferent()) {
-        ul_detail.with(
-            li().with(h3("Request"))
-                .with(ul_request(changedOperation.getRequestBody().getContent())));
-      }
-      if (changedOperation.resultApiResponses().isDifferent()) {
-        ul_detail.with(
-            li().with(h3("Response")).with(ul_response(changedOperation.getApiResponses())));
-      }
-      ol.with(
-          li().with(span(method).withClass(method))
-              .withText(pathUrl + " ")
-              .with(span(desc))
-              .with(ul_detail));
+      ol.with(li_changed(changedOperation));
     }
     return ol;
   }
 
+  private LiTag li_changed(ChangedOperation changedOperation) {
+    String pathUrl = changedOperation.getPathUrl();
+    String method = changedOperation.getHttpMethod().toString();
+    String desc =
+        Optional.ofNullable(changedOperation.getSummary())
+            .map(ChangedMetadata::getRight)
+            .orElse("");
+
+    UlTag ul_detail = ul().withClass("detail");
+    if (result(changedOperation.getParameters()).isDifferent()) {
+      ul_detail.with(li().with(h3("Parameters")).with(ul_param(changedOperation.getParameters())));
+    }
+    if (changedOperation.resultRequestBody().isDifferent()) {
+      ul_detail.with(
+          li().with(h3("Request"))
+              .with(ul_request(changedOperation.getRequestBody().getContent())));
+    }
+    if (changedOperation.resultApiResponses().isDifferent()) {
+      ul_detail.with(
+          li().with(h3("Response")).with(ul_response(changedOperation.getApiResponses())));
+    }
+    return li().with(span(method).withClass(method))
+        .withText(pathUrl + " ")
+        .with(span(desc))
+        .with(ul_detail);
+  }
+
   private UlTag ul_response(ChangedApiResponse changedApiResponse) {
     Map<String, ApiResponse> addResponses = changedApiResponse.getIncreased();
     Map<String, ApiResponse> delResponses = changedApiResponse.getMissing();
@@ -1,13 +1,18 @@
 package org.openapitools.openapidiff.core.output;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.Writer;
 import org.openapitools.openapidiff.core.model.ChangedOpenApi;
 
 public class JsonRender implements Render {
   private final ObjectMapper objectMapper =
-      new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+      new ObjectMapper()
+          .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+          .configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
 
   @Override
   public String render(ChangedOpenApi diff) {
@@ -17,4 +22,9 @@ public class JsonRender implements Render {
       throw new RuntimeException("Could not serialize diff as JSON", e);
     }
   }
+
+  @Override
+  public void render(ChangedOpenApi diff, Writer writer) throws IOException {
+    objectMapper.writeValue(writer, diff);
+  }
 }
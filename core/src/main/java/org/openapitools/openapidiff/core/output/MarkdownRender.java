@@ -11,6 +11,10 @@ import io.swagger.v3.oas.models.media.MediaType;
 import io.swagger.v3.oas.models.media.Schema;
 import io.swagger.v3.oas.models.parameters.Parameter;
 import io.swagger.v3.oas.models.responses.ApiResponse;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -45,12 +49,29 @@ public class MarkdownRender implements Render {
   protected boolean showChangedMetadata;
 
   public String render(ChangedOpenApi diff) {
+    StringWriter writer = new StringWriter();
+    try {
+      render(diff, writer);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return writer.toString();
+  }
+
+  @Override
+  public void render(ChangedOpenApi diff, Writer writer) throws IOException {
     this.diff = diff;
     this.handledSchemas.clear();
-    return listEndpoints("What's New", diff.getNewEndpoints())
-        + listEndpoints("What's Deleted", diff.getMissingEndpoints())
-        + listEndpoints("What's Deprecated", diff.getDeprecatedEndpoints())
-        + listEndpoints(diff.getChangedOperations());
+    writer.write(listEndpoints("What's New", diff.getNewEndpoints()));
+    writer.write(listEndpoints("What's Deleted", diff.getMissingEndpoints()));
+    writer.write(listEndpoints("What's Deprecated", diff.getDeprecatedEndpoints()));
+    List<ChangedOperation> changedOperations = diff.getChangedOperations();
+    if (null != changedOperations && !changedOperations.isEmpty()) {
+      writer.write(sectionTitle("What's Changed"));
+      for (ChangedOperation operation : changedOperations) {
+        writer.write(changedOperation(operation));
+      }
+    }
   }
 
   protected String sectionTitle(String title) {
@@ -80,43 +101,43 @@ public class MarkdownRender implements Render {
     return H6 + title + '\n';
   }
 
+  /**
+   * @deprecated no longer called, changed operations are streamed one at a time: override {@link
+   *     #changedOperation(ChangedOperation)} instead
+   */
+  @Deprecated
   protected String listEndpoints(List<ChangedOperation> changedOperations) {
     if (null == changedOperations || changedOperations.isEmpty()) {
       return "";
     }
     StringBuilder sb = new StringBuilder(sectionTitle("What's Changed"));
-    changedOperations.stream()
-        .map(
-            operation -> {
-              StringBuilder details =
-                  new StringBuilder()
-                      .append(
-                          itemEndpoint(
-                              operation.getHttpMethod().toString(),
-                              operation.getPathUrl(),
-                              operation.getSummary()));
-              if (result(operation.getParameters()).isDifferent()) {
-                details
-                    .append(titleH5("Parameters:"))
-                    .append(parameters(operation.getParameters()));
-              }
-              if (operation.resultRequestBody().isDifferent()) {
-                details
-                    .append(titleH5("Request:"))
-                    .append(metadata("Description", operation.getRequestBody().getDescription()))
-                    .append(bodyContent(operation.getRequestBody().getContent()));
-              }
-              if (operation.resultApiResponses().isDifferent()) {
-                details
-                    .append(titleH5("Return Type:"))
-                    .append(responses(operation.getApiResponses()));
-              }
-              return details.toString();
-            })
-        .forEach(sb::append);
+    changedOperations.stream().map(this::changedOperation).forEach(sb::append);
     return sb.toString();
   }
 
+  protected String changedOperation(ChangedOperation operation) {
+    StringBuilder details =
+        new StringBuilder()
+            .append(
+                itemEndpoint(
+                    operation.getHttpMethod().toString(),
+                    operation.getPathUrl(),
+                    operation.getSummary()));
+    if (result(operation.getParameters()).isDifferent()) {
+      details.append(titleH5("Parameters:")).append(parameters(operation.getParameters()));
+    }
+    if (operation.resultRequestBody().isDifferent()) {
+      details
+          .append(titleH5("Request:"))
+          .append(metadata("Description", operation.getRequestBody().getDescription()))
+          .append(bodyContent(operation.getRequestBody().getContent()));
+    }
+    if (operation.resultApiResponses().isDifferent()) {
+      details.append(titleH5("Return Type:")).append(responses(operation.getApiResponses()));
+    }
+    return details.toString();
+  }
+
   protected String responses(ChangedApiResponse changedApiResponse) {
     StringBuilder sb = new StringBuilder("\n");
     sb.append(listResponse("New response", changedApiResponse.getIncreased()));
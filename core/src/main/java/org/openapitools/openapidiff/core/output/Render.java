@@ -1,8 +1,23 @@
 package org.openapitools.openapidiff.core.output;
 
+import java.io.IOException;
+import java.io.Writer;
 import org.openapitools.openapidiff.core.model.ChangedOpenApi;
 
 public interface Render {
 
   String render(ChangedOpenApi diff);
+
+  /**
+   * Writes the rendered diff to the given writer, which is neither flushed nor closed. The built-in
+   * renders write each changed operation as soon as it is rendered, the JSON ones through a
+   * streaming generator, instead of building the whole report in memory first.
+   *
+   * @param diff the diff to render
+   * @param writer the destination of the report
+   * @throws IOException if the writer fails
+   */
+  default void render(ChangedOpenApi diff, Writer writer) throws IOException {
+    writer.write(render(diff));
+  }
 }
@@ -0,0 +1,59 @@
+package org.openapitools.openapidiff.core.utils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** Reflective access to the state of the swagger model classes. */
+public class ModelFields {
+  private static final Map<Class<?>, List<Field>> fieldsByClass = new ConcurrentHashMap<>();
+
+  private ModelFields() {}
+
+  /**
+   * @param type a model class
+   * @return the accessible instance fields of the class and its superclasses, sorted by name; the
+   *     fields of JDK superclasses, such as the map a {@code Paths} extends, are left out
+   */
+  public static List<Field> of(Class<?> type) {
+    return fieldsByClass.computeIfAbsent(
+        type,
+        key -> {
+          List<Field> fields = new ArrayList<>();
+          for (Class<?> c = key;
+              c != null && !c.getName().startsWith("java.");
+              c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+              int modifiers = field.getModifiers();
+              if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers)) {
+                field.setAccessible(true);
+                fields.add(field);
+              }
+            }
+          }
+          fields.sort(Comparator.comparing(Field::getName));
+          return Collections.unmodifiableList(fields);
+        });
+  }
+
+  public static Object get(Field field, Object model) {
+    try {
+      return field.get(model);
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  public static void set(Field field, Object model, Object value) {
+    try {
+      field.set(model, value);
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
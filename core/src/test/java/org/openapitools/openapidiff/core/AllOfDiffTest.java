@@ -1,9 +1,17 @@
 package org.openapitools.openapidiff.core;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.openapitools.openapidiff.core.TestUtils.assertOpenApiAreEquals;
 import static org.openapitools.openapidiff.core.TestUtils.assertOpenApiChangedEndpoints;
 
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.core.models.ParseOptions;
 import org.junit.jupiter.api.Test;
+import org.openapitools.openapidiff.core.compare.OpenApiDiffOptions;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.output.MarkdownRender;
 
 public class AllOfDiffTest {
 
@@ -31,4 +39,24 @@ public class AllOfDiffTest {
   public void testDiffDifferent2() {
     assertOpenApiChangedEndpoints(OPENAPI_DOC1, OPENAPI_DOC4);
   }
+
+  @Test
+  public void testComposedSchemasAreNotModified() {
+    ParseOptions parseOptions = new ParseOptions();
+    parseOptions.setResolve(true);
+    OpenAPI oldSpec =
+        new OpenAPIParser().readLocation(OPENAPI_DOC1, null, parseOptions).getOpenAPI();
+    OpenAPI newSpec =
+        new OpenAPIParser().readLocation(OPENAPI_DOC4, null, parseOptions).getOpenAPI();
+    String oldComponents = Json.pretty(oldSpec.getComponents());
+    String newComponents = Json.pretty(newSpec.getComponents());
+    OpenApiDiffOptions options = new OpenApiDiffOptions().setSchemaHashing(false);
+
+    ChangedOpenApi first = OpenApiCompare.fromSpecifications(oldSpec, newSpec, options);
+    ChangedOpenApi second = OpenApiCompare.fromSpecifications(oldSpec, newSpec, options);
+
+    assertThat(Json.pretty(oldSpec.getComponents())).isEqualTo(oldComponents);
+    assertThat(Json.pretty(newSpec.getComponents())).isEqualTo(newComponents);
+    assertThat(new MarkdownRender().render(second)).isEqualTo(new MarkdownRender().render(first));
+  }
 }
@@ -0,0 +1,73 @@
+package org.openapitools.openapidiff.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.openapitools.openapidiff.core.compare.OpenApiDiffOptions;
+import org.openapitools.openapidiff.core.output.MarkdownRender;
+
+public class BatchCompareTest {
+  @Test
+  public void resultsAreInTheOrderOfThePairs() {
+    List<BatchCompare.Pair> pairs =
+        BatchCompare.Pair.of(
+            new BatchCompare.Pair("petstore", "petstore_v2_1.yaml", "petstore_v2_2.yaml"),
+            new BatchCompare.Pair("allOf", "allOf_diff_1.yaml", "allOf_diff_2.yaml"),
+            new BatchCompare.Pair("same", "petstore_v2_1.yaml", "petstore_v2_1.yaml"));
+    List<BatchCompare.Result> completed = new ArrayList<>();
+
+    List<BatchCompare.Result> results =
+        new BatchCompare().setThreads(2).compare(pairs, completed::add);
+
+    assertThat(completed).hasSize(3).containsExactlyInAnyOrderElementsOf(results);
+    for (int i = 0; i < pairs.size(); i++) {
+      BatchCompare.Pair pair = pairs.get(i);
+      BatchCompare.Result result = results.get(i);
+      assertThat(result.getPair()).isSameAs(pair);
+      assertThat(result.isFailed()).isFalse();
+      assertThat(result.getDurationNanos()).isPositive();
+      assertThat(new MarkdownRender().render(result.getChangedOpenApi()))
+          .isEqualTo(
+              new MarkdownRender()
+                  .render(
+                      OpenApiCompare.fromLocations(pair.getOldLocation(), pair.getNewLocation())));
+    }
+  }
+
+  @Test
+  public void failedPairDoesNotAbortTheBatch() {
+    List<BatchCompare.Result> results =
+        new BatchCompare()
+            .setThreads(2)
+            .compare(
+                BatchCompare.Pair.of(
+                    new BatchCompare.Pair("missing", "petstore_v2_1.yaml", "missing.yaml"),
+                    new BatchCompare.Pair("petstore", "petstore_v2_1.yaml", "petstore_v2_2.yaml")));
+
+    assertThat(results.get(0).isFailed()).isTrue();
+    assertThat(results.get(0).getChangedOpenApi()).isNull();
+    assertThat(results.get(0).getFailure()).hasMessage("Cannot read new OpenAPI spec");
+    assertThat(results.get(1).isFailed()).isFalse();
+    assertThat(results.get(1).getChangedOpenApi().isIncompatible()).isTrue();
+  }
+
+  @Test
+  public void pairsShareParsedSpecsWithoutChangingTheOptions() {
+    OpenApiDiffOptions options = new OpenApiDiffOptions();
+    List<BatchCompare.Result> results =
+        new BatchCompare()
+            .setThreads(2)
+            .setOptions(options)
+            .compare(
+                BatchCompare.Pair.of(
+                    new BatchCompare.Pair("first", "petstore_v2_1.yaml", "petstore_v2_2.yaml"),
+                    new BatchCompare.Pair("second", "petstore_v2_1.yaml", "allOf_diff_1.yaml")));
+
+    assertThat(results.get(0).getChangedOpenApi().getOldSpecOpenApi())
+        .isSameAs(results.get(1).getChangedOpenApi().getOldSpecOpenApi());
+    assertThat(options.getSpecCache()).isNull();
+    assertThat(options.getExtensionDiffProviders()).isNull();
+  }
+}
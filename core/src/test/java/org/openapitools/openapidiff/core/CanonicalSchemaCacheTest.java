@@ -0,0 +1,56 @@
+package org.openapitools.openapidiff.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.openapitools.openapidiff.core.compare.OpenApiDiffOptions;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.output.ConsoleRender;
+import org.openapitools.openapidiff.core.output.MarkdownRender;
+
+public class CanonicalSchemaCacheTest {
+
+  @ParameterizedTest
+  @CsvSource({
+    "petstore_v2_1.yaml, petstore_v2_2.yaml",
+    "add-prop-1.yaml, add-prop-2.yaml",
+    "add-prop-put-1.yaml, add-prop-put-2.yaml",
+    "allOf_diff_1.yaml, allOf_diff_2.yaml",
+    "oneOf_diff_1.yaml, oneOf_diff_2.yaml",
+    "recursive_model_1.yaml, recursive_model_3.yaml",
+    "backwardCompatibility/bc_1.yaml, backwardCompatibility/bc_5.yaml"
+  })
+  public void canonicalCacheMatchesPerOperationCache(String oldSpec, String newSpec) {
+    ChangedOpenApi perOperation = OpenApiCompare.fromLocations(oldSpec, newSpec);
+    ChangedOpenApi canonical =
+        OpenApiCompare.fromLocations(
+            oldSpec, newSpec, null, new OpenApiDiffOptions().setCanonicalSchemaCache(true));
+
+    assertThat(canonical.isChanged()).isEqualTo(perOperation.isChanged());
+    assertThat(canonical.getChangedSchemas().size())
+        .isLessThanOrEqualTo(perOperation.getChangedSchemas().size());
+    assertThat(new MarkdownRender().render(canonical))
+        .isEqualTo(new MarkdownRender().render(perOperation));
+    assertThat(new ConsoleRender().render(canonical))
+        .isEqualTo(new ConsoleRender().render(perOperation));
+  }
+
+  @Test
+  public void sharedSchemaIsDiffedOnce() {
+    OpenApiDiffOptions options =
+        new OpenApiDiffOptions().setSchemaHashing(false).setCanonicalSchemaCache(true);
+    ChangedOpenApi perOperation =
+        OpenApiCompare.fromLocations(
+            "petstore_v2_1.yaml",
+            "petstore_v2_2.yaml",
+            null,
+            new OpenApiDiffOptions().setSchemaHashing(false));
+    ChangedOpenApi canonical =
+        OpenApiCompare.fromLocations("petstore_v2_1.yaml", "petstore_v2_2.yaml", null, options);
+
+    assertThat(canonical.getChangedSchemas().size())
+        .isLessThan(perOperation.getChangedSchemas().size());
+  }
+}
@@ -0,0 +1,77 @@
+package org.openapitools.openapidiff.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import org.junit.jupiter.api.Test;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.output.CompactJsonRender;
+import org.openapitools.openapidiff.core.output.JsonRender;
+
+public class CompactJsonRenderTest {
+  @Test
+  public void renderContainsChangeRecordsOnly() throws IOException {
+    ChangedOpenApi diff = OpenApiCompare.fromLocations("petstore_v2_1.yaml", "petstore_v2_2.yaml");
+    String compact = new CompactJsonRender().render(diff);
+    JsonNode json = new ObjectMapper().readTree(compact);
+
+    assertThat(json.get("state").asText()).isEqualTo(diff.isChanged().getValue());
+    assertThat(json.get("changedOperations")).hasSize(diff.getChangedOperations().size());
+    assertThat(json.get("changedOperations").get(0).get("location").asText())
+        .startsWith("/paths/~1");
+    assertThat(json.get("changedOperations").get(0).get("changes")).isNotEmpty();
+    assertThat(compact.length()).isLessThan(new JsonRender().render(diff).length() / 10);
+  }
+
+  @Test
+  public void removedPropertyIsAddressedByPointer() throws IOException {
+    ChangedOpenApi diff =
+        OpenApiCompare.fromLocations("missing_property_1.yaml", "missing_property_2.yaml");
+    JsonNode json = new ObjectMapper().readTree(new CompactJsonRender().render(diff));
+
+    JsonNode change = json.get("changedOperations").get(0).get("changes").get(0);
+    assertThat(change.get("location").asText())
+        .isEqualTo(
+            "/paths/~1/get/responses/default/content/application~1json/schema/properties/childProperty");
+    assertThat(change.get("change").asText()).isEqualTo("removed");
+    assertThat(change.get("ref").asText()).isEqualTo("#/components/schemas/ChildProperty");
+  }
+
+  @Test
+  public void parameterIsLocatedByItsLocationAndNameWithSpecValues() throws IOException {
+    ChangedOpenApi diff =
+        OpenApiCompare.fromContents(parameterSpec("form"), parameterSpec("spaceDelimited"));
+    JsonNode json = new ObjectMapper().readTree(new CompactJsonRender().render(diff));
+
+    JsonNode change = json.get("changedOperations").get(0).get("changes").get(0);
+    assertThat(change.get("location").asText())
+        .isEqualTo("/paths/~1pets/get/parameters/query/tags/style");
+    assertThat(change.get("old").asText()).isEqualTo("form");
+    assertThat(change.get("new").asText()).isEqualTo("spaceDelimited");
+  }
+
+  private static String parameterSpec(String style) {
+    return "openapi: 3.0.1\n"
+        + "info:\n"
+        + "  title: pets\n"
+        + "  version: '1'\n"
+        + "paths:\n"
+        + "  /pets:\n"
+        + "    get:\n"
+        + "      parameters:\n"
+        + "        - name: tags\n"
+        + "          in: query\n"
+        + "          style: "
+        + style
+        + "\n"
+        + "          schema:\n"
+        + "            type: array\n"
+        + "            items:\n"
+        + "              type: string\n"
+        + "      responses:\n"
+        + "        '200':\n"
+        + "          description: pets\n";
+  }
+}
@@ -0,0 +1,82 @@
+package org.openapitools.openapidiff.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.openapitools.openapidiff.core.compare.OpenApiDiffOptions;
+import org.openapitools.openapidiff.core.metrics.DiffMetrics;
+import org.openapitools.openapidiff.core.metrics.DiffMetricsListener;
+import org.openapitools.openapidiff.core.metrics.DiffPhase;
+
+public class DiffMetricsTest {
+  private static final String OPENAPI_DOC1 = "petstore_v2_1.yaml";
+  private static final String OPENAPI_DOC2 = "petstore_v2_2.yaml";
+
+  @Test
+  public void reportsPhasesAndCounters() {
+    Map<DiffPhase, Long> phases = new EnumMap<>(DiffPhase.class);
+    AtomicReference<DiffMetrics> completed = new AtomicReference<>();
+    DiffMetricsListener listener =
+        new DiffMetricsListener() {
+          @Override
+          public void phaseCompleted(DiffPhase phase, long nanos) {
+            phases.put(phase, nanos);
+          }
+
+          @Override
+          public void comparisonCompleted(DiffMetrics metrics) {
+            completed.set(metrics);
+          }
+        };
+
+    OpenApiCompare.fromLocations(
+        OPENAPI_DOC1,
+        OPENAPI_DOC2,
+        null,
+        new OpenApiDiffOptions().setSchemaHashing(false).setMetricsListener(listener));
+
+    assertThat(phases)
+        .containsOnlyKeys(
+            DiffPhase.PARSE, DiffPhase.PRE_PROCESS, DiffPhase.PATHS, DiffPhase.DEFERRED_SCHEMAS);
+    DiffMetrics metrics = completed.get();
+    assertThat(metrics).isNotNull();
+    assertThat(metrics.getPhaseNanos(DiffPhase.PATHS)).isEqualTo(phases.get(DiffPhase.PATHS));
+    assertThat(metrics.getSchemaCacheMisses()).isPositive();
+    assertThat(metrics.getSchemaCacheHits()).isPositive();
+    assertThat(metrics.getSchemaDiffResults()).isPositive();
+    assertThat(metrics.getDeferredCreated()).isPositive();
+    assertThat(metrics.getDeferredResolved()).isEqualTo(metrics.getDeferredCreated());
+    assertThat(metrics.getIdenticalSchemaDiffs()).isZero();
+  }
+
+  @Test
+  public void countersArePerComparison() {
+    AtomicReference<DiffMetrics> first = new AtomicReference<>();
+    AtomicReference<DiffMetrics> second = new AtomicReference<>();
+    OpenApiCompare.fromLocations(
+        OPENAPI_DOC1,
+        OPENAPI_DOC2,
+        null,
+        new OpenApiDiffOptions().setMetricsListener(listener(first)));
+    OpenApiCompare.fromLocations(
+        OPENAPI_DOC1,
+        OPENAPI_DOC2,
+        null,
+        new OpenApiDiffOptions().setMetricsListener(listener(second)));
+
+    assertThat(second.get().getDeferredCreated()).isEqualTo(first.get().getDeferredCreated());
+    assertThat(second.get().getSchemaDiffs()).isEqualTo(first.get().getSchemaDiffs());
+  }
+
+  private static DiffMetricsListener listener(AtomicReference<DiffMetrics> completed) {
+    return new DiffMetricsListener() {
+      @Override
+      public void comparisonCompleted(DiffMetrics metrics) {
+        completed.set(metrics);
+      }
+    };
+  }
+}
@@ -0,0 +1,108 @@
+package org.openapitools.openapidiff.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.openapitools.openapidiff.core.compare.OpenApiDiffOptions;
+import org.openapitools.openapidiff.core.metrics.DiffMetrics;
+import org.openapitools.openapidiff.core.metrics.DiffMetricsListener;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.output.ConsoleRender;
+import org.openapitools.openapidiff.core.output.MarkdownRender;
+
+public class IncrementalCompareTest {
+
+  @ParameterizedTest
+  @CsvSource({
+    "petstore_v2_1.yaml, petstore_v2_1.yaml, petstore_v2_2.yaml",
+    "petstore_v2_1.yaml, petstore_v2_2.yaml, petstore_v2_1.yaml",
+    "petstore_v2_2.yaml, petstore_v2_2.yaml, petstore_v2_empty.yaml",
+    "backwardCompatibility/bc_1.yaml, backwardCompatibility/bc_2.yaml, backwardCompatibility/bc_5.yaml",
+    "recursive_model_1.yaml, recursive_model_2.yaml, recursive_model_3.yaml",
+    "allOf_diff_1.yaml, allOf_diff_1.yaml, allOf_diff_2.yaml"
+  })
+  public void incrementalComparisonMatchesFullComparison(
+      String oldSpec, String firstNewSpec, String secondNewSpec) {
+    ChangedOpenApi expected = OpenApiCompare.fromSpecifications(read(oldSpec), read(secondNewSpec));
+    for (OpenApiDiffOptions options :
+        new OpenApiDiffOptions[] {
+          new OpenApiDiffOptions(), new OpenApiDiffOptions().setParallel(true)
+        }) {
+      IncrementalCompare incremental = new IncrementalCompare().setOptions(options);
+      incremental.compare(read(oldSpec), read(firstNewSpec));
+      assertSameDiff(incremental.compare(read(oldSpec), read(secondNewSpec)), expected);
+    }
+  }
+
+  @Test
+  public void comparesAgainOnlyWhatChanged() {
+    SpecGenerator generator =
+        new SpecGenerator().setSchemas(40).setPaths(20).setRefsPerSchema(2).setMutationRate(0.2);
+    AtomicReference<DiffMetrics> metrics = new AtomicReference<>();
+    IncrementalCompare incremental = new IncrementalCompare().setOptions(options(metrics));
+    incremental.compare(generator.oldSpec(), generator.newSpec());
+    assertThat(metrics.get().getReusedPathItems()).isZero();
+
+    OpenAPI edited = generator.newSpec();
+    Schema<?> schema = edited.getComponents().getSchemas().values().iterator().next();
+    schema.setDescription("edited");
+    schema.setMaxProperties(1);
+    ChangedOpenApi result = incremental.compare(generator.oldSpec(), edited);
+
+    String pointer =
+        "/components/schemas/" + edited.getComponents().getSchemas().keySet().iterator().next();
+    assertThat(incremental.getChangedPointers()).containsExactly(pointer);
+    assertThat(metrics.get().getReusedPathItems()).isPositive();
+    OpenAPI expected = generator.newSpec();
+    expected.getComponents().getSchemas().values().iterator().next().setDescription("edited");
+    expected.getComponents().getSchemas().values().iterator().next().setMaxProperties(1);
+    assertSameDiff(result, OpenApiCompare.fromSpecifications(generator.oldSpec(), expected));
+  }
+
+  @Test
+  public void unchangedSpecsReuseEverything() {
+    AtomicReference<DiffMetrics> metrics = new AtomicReference<>();
+    IncrementalCompare incremental = new IncrementalCompare().setOptions(options(metrics));
+    ChangedOpenApi first =
+        incremental.compare(read("petstore_v2_1.yaml"), read("petstore_v2_2.yaml"));
+    ChangedOpenApi second =
+        incremental.compare(read("petstore_v2_1.yaml"), read("petstore_v2_2.yaml"));
+
+    assertThat(incremental.getChangedPointers()).isEmpty();
+    assertThat(metrics.get().getSchemaDiffs()).isZero();
+    assertThat(second.getChangedOperations()).isEqualTo(first.getChangedOperations());
+    assertSameDiff(second, first);
+  }
+
+  private static void assertSameDiff(ChangedOpenApi actual, ChangedOpenApi expected) {
+    assertThat(actual.isChanged()).isEqualTo(expected.isChanged());
+    assertThat(actual.getChangedSchemas()).hasSameSizeAs(expected.getChangedSchemas());
+    assertThat(new MarkdownRender().render(actual))
+        .isEqualTo(new MarkdownRender().render(expected));
+    assertThat(new ConsoleRender().render(actual)).isEqualTo(new ConsoleRender().render(expected));
+  }
+
+  private static OpenApiDiffOptions options(AtomicReference<DiffMetrics> metrics) {
+    return new OpenApiDiffOptions()
+        .setMetricsListener(
+            new DiffMetricsListener() {
+              @Override
+              public void comparisonCompleted(DiffMetrics completed) {
+                metrics.set(completed);
+              }
+            });
+  }
+
+  private static OpenAPI read(String location) {
+    ParseOptions options = new ParseOptions();
+    options.setResolve(true);
+    return new OpenAPIParser().readLocation(location, null, options).getOpenAPI();
+  }
+}
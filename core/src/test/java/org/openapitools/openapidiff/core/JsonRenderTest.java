@@ -2,6 +2,9 @@ package org.openapitools.openapidiff.core;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringWriter;
 import org.junit.jupiter.api.Test;
 import org.openapitools.openapidiff.core.model.ChangedOpenApi;
 import org.openapitools.openapidiff.core.output.JsonRender;
@@ -14,4 +17,17 @@ public class JsonRenderTest {
         OpenApiCompare.fromLocations("missing_property_1.yaml", "missing_property_2.yaml");
     assertThat(render.render(diff)).isNotBlank();
   }
+
+  @Test
+  public void renderToWriterLeavesWriterOpen() throws IOException {
+    JsonRender render = new JsonRender();
+    ChangedOpenApi diff =
+        OpenApiCompare.fromLocations("missing_property_1.yaml", "missing_property_2.yaml");
+    StringWriter output = new StringWriter();
+    BufferedWriter writer = new BufferedWriter(output);
+    render.render(diff, writer);
+    writer.write('\n');
+    writer.flush();
+    assertThat(output.toString()).isEqualTo(render.render(diff) + '\n');
+  }
 }
@@ -2,8 +2,11 @@ package org.openapitools.openapidiff.core;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.model.ChangedOperation;
+import org.openapitools.openapidiff.core.model.Endpoint;
 import org.openapitools.openapidiff.core.output.MarkdownRender;
 
 public class MarkdownRenderTest {
@@ -21,4 +24,26 @@ public class MarkdownRenderTest {
     ChangedOpenApi diff = OpenApiCompare.fromLocations("recursive_old.yaml", "recursive_new.yaml");
     assertThat(render.render(diff)).isNotBlank();
   }
+
+  @Test
+  public void renderUsesOverriddenHooks() {
+    MarkdownRender render =
+        new MarkdownRender() {
+          @Override
+          protected String listEndpoints(String title, List<Endpoint> endpoints) {
+            return endpoints == null || endpoints.isEmpty() ? "" : "custom " + title + "\n";
+          }
+
+          @Override
+          protected String changedOperation(ChangedOperation operation) {
+            return "custom " + operation.getPathUrl() + "\n";
+          }
+        };
+    ChangedOpenApi diff = OpenApiCompare.fromLocations("petstore_v2_1.yaml", "petstore_v2_2.yaml");
+
+    String markdown = render.render(diff);
+
+    assertThat(markdown).contains("custom What's New\n", "custom What's Deleted\n");
+    assertThat(markdown).contains("custom /pet/{petId}\n");
+  }
 }
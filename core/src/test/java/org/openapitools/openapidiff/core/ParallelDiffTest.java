@@ -0,0 +1,82 @@
+package org.openapitools.openapidiff.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.openapitools.openapidiff.core.compare.OpenApiDiffOptions;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.output.ConsoleRender;
+import org.openapitools.openapidiff.core.output.MarkdownRender;
+
+public class ParallelDiffTest {
+  private static ForkJoinPool pool;
+
+  @BeforeAll
+  public static void createPool() {
+    pool = new ForkJoinPool(4);
+  }
+
+  @AfterAll
+  public static void shutdownPool() {
+    pool.shutdown();
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+    "petstore_v2_1.yaml, petstore_v2_2.yaml",
+    "allOf_diff_1.yaml, allOf_diff_2.yaml",
+    "oneOf_diff_1.yaml, oneOf_diff_2.yaml",
+    "recursive_model_1.yaml, recursive_model_3.yaml",
+    "path_1.yaml, path_2.yaml",
+    "security_diff_1.yaml, security_diff_2.yaml",
+    "backwardCompatibility/bc_1.yaml, backwardCompatibility/bc_5.yaml"
+  })
+  public void parallelDiffMatchesSequentialDiff(String oldSpec, String newSpec) {
+    ChangedOpenApi sequential = OpenApiCompare.fromLocations(oldSpec, newSpec);
+    for (int i = 0; i < 3; i++) {
+      ChangedOpenApi parallel =
+          OpenApiCompare.fromLocations(
+              oldSpec, newSpec, null, new OpenApiDiffOptions().setParallel(true).setPool(pool));
+
+      assertThat(parallel.isChanged()).isEqualTo(sequential.isChanged());
+      assertThat(parallel.getChangedSchemas()).hasSameSizeAs(sequential.getChangedSchemas());
+      assertThat(new MarkdownRender().render(parallel))
+          .isEqualTo(new MarkdownRender().render(sequential));
+      assertThat(new ConsoleRender().render(parallel))
+          .isEqualTo(new ConsoleRender().render(sequential));
+    }
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+    "petstore_v2_1.yaml, petstore_v2_2.yaml",
+    "petstore_swagger2.yaml, petstore_openapi3.yaml",
+    "recursive_model_1.yaml, recursive_model_3.yaml"
+  })
+  public void parallelParsingMatchesSequentialParsing(String oldSpec, String newSpec) {
+    OpenApiDiffOptions uncached = new OpenApiDiffOptions().setSpecCache(null);
+    ChangedOpenApi sequential = OpenApiCompare.fromLocations(oldSpec, newSpec, null, uncached);
+    ChangedOpenApi parallel =
+        OpenApiCompare.fromLocations(
+            oldSpec, newSpec, null, uncached.setParallelParsing(true).setPool(pool));
+
+    assertThat(parallel.getNewSpecOpenApi()).isNotSameAs(sequential.getNewSpecOpenApi());
+    assertThat(new MarkdownRender().render(parallel))
+        .isEqualTo(new MarkdownRender().render(sequential));
+  }
+
+  @Test
+  public void parallelParsingReportsUnreadableSpec() {
+    OpenApiDiffOptions options = new OpenApiDiffOptions().setParallelParsing(true).setPool(pool);
+
+    assertThatThrownBy(
+            () -> OpenApiCompare.fromLocations("petstore_v2_1.yaml", "missing.yaml", null, options))
+        .hasMessage("Cannot read new OpenAPI spec");
+  }
+}
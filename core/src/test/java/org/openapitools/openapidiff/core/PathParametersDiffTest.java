@@ -0,0 +1,49 @@
+package org.openapitools.openapidiff.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openapitools.openapidiff.core.TestUtils.assertOpenApiAreEquals;
+import static org.openapitools.openapidiff.core.TestUtils.assertOpenApiBackwardIncompatible;
+
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import org.junit.jupiter.api.Test;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.model.ChangedOperation;
+
+public class PathParametersDiffTest {
+  private final String OPENAPI_DOC1 = "path_parameters_1.yaml";
+  private final String OPENAPI_DOC2 = "path_parameters_2.yaml";
+  private final String OPENAPI_DOC3 = "path_parameters_3.yaml";
+
+  @Test
+  public void movingParametersBetweenPathAndOperationIsNoChange() {
+    assertOpenApiAreEquals(OPENAPI_DOC1, OPENAPI_DOC2);
+    assertOpenApiAreEquals(OPENAPI_DOC2, OPENAPI_DOC1);
+  }
+
+  @Test
+  public void referencedRequiredParameterIsIncompatible() {
+    assertOpenApiBackwardIncompatible(OPENAPI_DOC1, OPENAPI_DOC3);
+
+    ChangedOpenApi changedOpenApi = OpenApiCompare.fromLocations(OPENAPI_DOC1, OPENAPI_DOC3);
+    ChangedOperation get = changedOpenApi.getChangedOperations().get(0);
+    assertThat(get.getHttpMethod()).isEqualTo(PathItem.HttpMethod.GET);
+    assertThat(get.getParameters().getIncreased())
+        .extracting(Parameter::getName)
+        .containsExactly("version");
+  }
+
+  @Test
+  public void pathParametersApplyToEveryOperation() {
+    ChangedOpenApi changedOpenApi = OpenApiCompare.fromLocations(OPENAPI_DOC2, OPENAPI_DOC3);
+
+    assertThat(changedOpenApi.getChangedOperations())
+        .extracting(ChangedOperation::getHttpMethod)
+        .containsExactly(PathItem.HttpMethod.GET);
+    ChangedOperation get = changedOpenApi.getChangedOperations().get(0);
+    assertThat(get.getParameters().getMissing()).isEmpty();
+    assertThat(get.getParameters().getIncreased())
+        .extracting(Parameter::getName)
+        .containsExactly("version");
+  }
+}
@@ -1,15 +1,20 @@
 package org.openapitools.openapidiff.core;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.openapitools.openapidiff.core.TestUtils.assertOpenApiAreEquals;
 import static org.openapitools.openapidiff.core.TestUtils.assertOpenApiBackwardIncompatible;
 
 import org.junit.jupiter.api.Test;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.model.ChangedSchema;
 
 public class RecursiveSchemaTest {
 
   private final String OPENAPI_DOC1 = "recursive_model_1.yaml";
   private final String OPENAPI_DOC2 = "recursive_model_2.yaml";
   private final String OPENAPI_DOC3 = "recursive_model_3.yaml";
+  private final String SIBLINGS_DOC1 = "recursive_siblings_1.yaml";
+  private final String SIBLINGS_DOC2 = "recursive_siblings_2.yaml";
 
   @Test
   public void testDiffSame() {
@@ -25,4 +30,38 @@ public class RecursiveSchemaTest {
   public void testDiffDifferent() {
     assertOpenApiBackwardIncompatible(OPENAPI_DOC1, OPENAPI_DOC2);
   }
+
+  @Test
+  public void testSchemaReferencedBySiblingsIsReportedForEach() {
+    ChangedSchema person = personDiff();
+
+    assertThat(person.getChangedProperties()).containsKeys("home", "work");
+    assertThat(person.getChangedProperties().get("work").getChangedProperties())
+        .containsOnlyKeys("zip");
+  }
+
+  @Test
+  public void testMutuallyRecursiveSiblingsAreCompared() {
+    ChangedSchema person = personDiff();
+
+    assertThat(person.getChangedProperties()).containsKeys("parent", "child");
+    assertThat(person.getChangedProperties().get("parent").getChangedProperties())
+        .containsKey("name");
+    assertThat(person.getChangedProperties().get("child").getChangedProperties())
+        .containsKey("name");
+  }
+
+  private ChangedSchema personDiff() {
+    ChangedOpenApi changedOpenApi = OpenApiCompare.fromLocations(SIBLINGS_DOC1, SIBLINGS_DOC2);
+    return changedOpenApi
+        .getChangedOperations()
+        .get(0)
+        .getApiResponses()
+        .getChanged()
+        .get("200")
+        .getContent()
+        .getChanged()
+        .get("application/json")
+        .getSchema();
+  }
 }
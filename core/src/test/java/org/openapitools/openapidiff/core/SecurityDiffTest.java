@@ -3,9 +3,12 @@ package org.openapitools.openapidiff.core;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.security.SecurityRequirement;
 import org.junit.jupiter.api.Test;
 import org.openapitools.openapidiff.core.model.*;
+import org.openapitools.openapidiff.core.output.MarkdownRender;
 
 public class SecurityDiffTest {
   private final String OPENAPI_DOC1 = "security_diff_1.yaml";
@@ -101,4 +104,74 @@ public class SecurityDiffTest {
         IllegalArgumentException.class,
         () -> OpenApiCompare.fromLocations(OPENAPI_DOC5, OPENAPI_DOC5));
   }
+
+  @Test
+  public void comparisonLeavesSpecsUnchanged() throws Exception {
+    OpenAPI oldSpec = OpenApiCompare.readLocation(OPENAPI_DOC1, null);
+    OpenAPI newSpec = OpenApiCompare.readLocation(OPENAPI_DOC2, null);
+    String oldJson = Json.pretty(oldSpec);
+    String newJson = Json.pretty(newSpec);
+
+    ChangedOpenApi first = OpenApiCompare.fromSpecifications(oldSpec, newSpec);
+    ChangedOpenApi second = OpenApiCompare.fromSpecifications(oldSpec, newSpec);
+
+    assertThat(Json.pretty(oldSpec)).isEqualTo(oldJson);
+    assertThat(Json.pretty(newSpec)).isEqualTo(newJson);
+    assertThat(oldSpec.getSecurity()).isNotEmpty();
+    assertThat(new MarkdownRender().render(second)).isEqualTo(new MarkdownRender().render(first));
+    assertThat(second.getChangedOperations()).hasSize(3);
+  }
+
+  @Test
+  public void repeatedSchemeTypesOfRequirementMatchOnce() {
+    ChangedSecurityRequirements changed =
+        securityRequirements("[{keyA: [], keyB: []}]", "[{keyA: []}]");
+
+    // both schemes are header api keys, so the requirements have the same signature
+    assertThat(changed.getMissing()).isNullOrEmpty();
+    assertThat(changed.getIncreased()).isNullOrEmpty();
+    assertThat(changed.getChanged()).hasSize(1);
+  }
+
+  @Test
+  public void requirementsOfSameSchemeTypesAreMatchedOneToOne() {
+    ChangedSecurityRequirements changed =
+        securityRequirements("[{keyA: []}, {keyB: []}, {query: []}]", "[{keyB: []}, {query: []}]");
+
+    assertThat(changed.getMissing())
+        .hasSize(1)
+        .first()
+        .satisfies(r -> assertThat(r).containsOnlyKeys("keyB"));
+    assertThat(changed.getIncreased()).isNullOrEmpty();
+    assertThat(changed.getChanged()).hasSize(1);
+  }
+
+  private static ChangedSecurityRequirements securityRequirements(
+      String oldSecurity, String newSecurity) {
+    ChangedOpenApi changedOpenApi =
+        OpenApiCompare.fromContents(securitySpec(oldSecurity), securitySpec(newSecurity));
+    assertThat(changedOpenApi.getChangedOperations()).hasSize(1);
+    return changedOpenApi.getChangedOperations().get(0).getSecurityRequirements();
+  }
+
+  private static String securitySpec(String security) {
+    return "openapi: 3.0.1\n"
+        + "info:\n"
+        + "  title: pets\n"
+        + "  version: '1'\n"
+        + "paths:\n"
+        + "  /pets:\n"
+        + "    get:\n"
+        + "      security: "
+        + security
+        + "\n"
+        + "      responses:\n"
+        + "        '200':\n"
+        + "          description: pets\n"
+        + "components:\n"
+        + "  securitySchemes:\n"
+        + "    keyA: {type: apiKey, in: header, name: X-Key-A}\n"
+        + "    keyB: {type: apiKey, in: header, name: X-Key-B}\n"
+        + "    query: {type: apiKey, in: query, name: key}\n";
+  }
 }
@@ -0,0 +1,151 @@
+package org.openapitools.openapidiff.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.openapitools.openapidiff.core.compare.OpenApiDiffOptions;
+import org.openapitools.openapidiff.core.output.MarkdownRender;
+
+public class SpecCacheTest {
+  private static final ParseOptions OPTIONS = new ParseOptions();
+
+  static {
+    OPTIONS.setResolve(true);
+  }
+
+  @Test
+  public void unchangedLocationIsParsedOnce() {
+    SpecCache cache = new SpecCache();
+    OpenAPI first = cache.readLocation("petstore_v2_1.yaml", null, OPTIONS);
+    OpenAPI second = cache.readLocation("petstore_v2_1.yaml", null, OPTIONS);
+
+    assertThat(first).isNotNull().isSameAs(second);
+  }
+
+  @Test
+  public void changedContentIsParsedAgain(@TempDir Path directory) throws IOException {
+    SpecCache cache = new SpecCache();
+    Path file = directory.resolve("spec.yaml");
+    Files.copy(getClass().getClassLoader().getResourceAsStream("petstore_v2_1.yaml"), file);
+    OpenAPI first = cache.readLocation(file.toString(), null, OPTIONS);
+    Files.write(
+        file,
+        new String(Files.readAllBytes(file), StandardCharsets.UTF_8)
+            .replace("Swagger Petstore", "Changed Petstore")
+            .getBytes(StandardCharsets.UTF_8));
+    OpenAPI second = cache.readLocation(file.toString(), null, OPTIONS);
+
+    assertThat(second).isNotSameAs(first);
+    assertThat(second.getInfo().getTitle()).isEqualTo("Changed Petstore");
+  }
+
+  @Test
+  public void parseOptionsArePartOfTheKey() {
+    SpecCache cache = new SpecCache();
+    ParseOptions flatten = new ParseOptions();
+    flatten.setResolve(true);
+    flatten.setFlatten(true);
+
+    assertThat(cache.readLocation("petstore_v2_1.yaml", null, OPTIONS))
+        .isNotSameAs(cache.readLocation("petstore_v2_1.yaml", null, flatten));
+  }
+
+  @Test
+  public void leastRecentlyUsedSpecificationIsEvicted() {
+    SpecCache cache = new SpecCache().setMaxEntries(1);
+    OpenAPI first = cache.readLocation("petstore_v2_1.yaml", null, OPTIONS);
+    cache.readLocation("petstore_v2_2.yaml", null, OPTIONS);
+
+    assertThat(cache.readLocation("petstore_v2_1.yaml", null, OPTIONS)).isNotSameAs(first);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+    "petstore_v2_1.yaml, petstore_v2_2.yaml",
+    "allOf_diff_1.yaml, allOf_diff_2.yaml",
+    "oneOf_discriminator-changed_1.yaml, oneOf_discriminator-changed_2.yaml",
+    "recursive_model_1.yaml, recursive_model_2.yaml",
+    "security_diff_1.yaml, security_diff_2.yaml"
+  })
+  public void storedSpecificationGivesTheSameResult(
+      String oldSpec, String newSpec, @TempDir Path directory) {
+    String expected =
+        new MarkdownRender()
+            .render(
+                OpenApiCompare.fromLocations(
+                    oldSpec, newSpec, null, new OpenApiDiffOptions().setSpecCache(null)));
+
+    new SpecCache().setDirectory(directory).readLocation(oldSpec, null, OPTIONS);
+    SpecCache stored = new SpecCache().setDirectory(directory);
+    String actual =
+        new MarkdownRender()
+            .render(
+                OpenApiCompare.fromLocations(
+                    oldSpec, newSpec, null, new OpenApiDiffOptions().setSpecCache(stored)));
+
+    assertThat(directory.toFile().list()).hasSize(2);
+    assertThat(actual).isEqualTo(expected);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+    "petstore_v2_1.yaml",
+    "allOf_diff_1.yaml",
+    "oneOf_discriminator-changed_1.yaml",
+    "recursive_model_1.yaml",
+    "security_diff_1.yaml"
+  })
+  public void storedSpecificationIsUnchanged(String spec, @TempDir Path directory) {
+    OpenAPI parsed = new OpenAPIParser().readLocation(spec, null, OPTIONS).getOpenAPI();
+
+    new SpecCache().setDirectory(directory).readLocation(spec, null, OPTIONS);
+    OpenAPI stored = new SpecCache().setDirectory(directory).readLocation(spec, null, OPTIONS);
+
+    assertThat(stored).isNotNull().isNotSameAs(parsed);
+    assertThat(OpenApiCompare.fromSpecifications(parsed, stored).isUnchanged()).isTrue();
+  }
+
+  @Test
+  public void relativeReferencesAreResolvedAgainstTheLocation(@TempDir Path directory)
+      throws IOException {
+    Path pet = directory.resolve("pet.yaml");
+    Files.write(
+        pet,
+        ("type: object\n" + "properties:\n" + "  name:\n" + "    type: string\n")
+            .getBytes(StandardCharsets.UTF_8));
+    Path spec = directory.resolve("spec.yaml");
+    Files.write(
+        spec,
+        ("openapi: 3.0.1\n"
+                + "info:\n"
+                + "  title: pets\n"
+                + "  version: '1'\n"
+                + "paths:\n"
+                + "  /pets:\n"
+                + "    get:\n"
+                + "      responses:\n"
+                + "        '200':\n"
+                + "          description: pets\n"
+                + "          content:\n"
+                + "            application/json:\n"
+                + "              schema:\n"
+                + "                $ref: 'pet.yaml'\n")
+            .getBytes(StandardCharsets.UTF_8));
+
+    OpenAPI cached = new SpecCache().readLocation(spec.toString(), null, OPTIONS);
+    OpenAPI parsed = new OpenAPIParser().readLocation(spec.toString(), null, OPTIONS).getOpenAPI();
+
+    assertThat(cached.getComponents().getSchemas()).containsOnlyKeys("pet");
+    assertThat(OpenApiCompare.fromSpecifications(parsed, cached).isUnchanged()).isTrue();
+  }
+}
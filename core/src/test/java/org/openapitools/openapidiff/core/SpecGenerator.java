@@ -0,0 +1,297 @@
+package org.openapitools.openapidiff.core;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.BooleanSchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.Discriminator;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.PathParameter;
+import io.swagger.v3.oas.models.parameters.QueryParameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates pairs of synthetic specifications for scale tests and benchmarks.
+ *
+ * <p>The same seed and settings always give the same specifications. The new specification is the
+ * old one with a share of its schemas, operations and paths changed, as set by the mutation rate.
+ */
+public class SpecGenerator {
+  private static final PathItem.HttpMethod[] METHODS = {
+    PathItem.HttpMethod.GET,
+    PathItem.HttpMethod.POST,
+    PathItem.HttpMethod.PUT,
+    PathItem.HttpMethod.PATCH,
+    PathItem.HttpMethod.DELETE
+  };
+  private static final int RING_SIZE = 10;
+
+  private long seed = 42;
+  private int paths = 20;
+  private int operationsPerPath = 2;
+  private int schemas = 50;
+  private int arraySchemas;
+  private int propertiesPerSchema = 3;
+  private int refsPerSchema;
+  private int allOfDepth;
+  private int oneOfFanOut;
+  private boolean recursive;
+  private int enumSize;
+  private double mutationRate = 0.1;
+
+  public OpenAPI oldSpec() {
+    return generate(false);
+  }
+
+  public OpenAPI newSpec() {
+    return generate(true);
+  }
+
+  public SpecGenerator setSeed(long seed) {
+    this.seed = seed;
+    return this;
+  }
+
+  public SpecGenerator setPaths(int paths) {
+    this.paths = paths;
+    return this;
+  }
+
+  /** @param operationsPerPath 1 to 5, taken from GET, POST, PUT, PATCH and DELETE in this order */
+  public SpecGenerator setOperationsPerPath(int operationsPerPath) {
+    this.operationsPerPath = Math.max(1, Math.min(METHODS.length, operationsPerPath));
+    return this;
+  }
+
+  public SpecGenerator setSchemas(int schemas) {
+    this.schemas = Math.max(1, schemas);
+    return this;
+  }
+
+  /** @param arraySchemas additional component schemas which are arrays of an object schema */
+  public SpecGenerator setArraySchemas(int arraySchemas) {
+    this.arraySchemas = arraySchemas;
+    return this;
+  }
+
+  public SpecGenerator setPropertiesPerSchema(int propertiesPerSchema) {
+    this.propertiesPerSchema = Math.max(2, propertiesPerSchema);
+    return this;
+  }
+
+  /** @param refsPerSchema required properties referencing a random component schema */
+  public SpecGenerator setRefsPerSchema(int refsPerSchema) {
+    this.refsPerSchema = refsPerSchema;
+    return this;
+  }
+
+  /** @param allOfDepth length of the allOf inheritance chains, 0 or 1 for none */
+  public SpecGenerator setAllOfDepth(int allOfDepth) {
+    this.allOfDepth = allOfDepth;
+    return this;
+  }
+
+  /** @param oneOfFanOut number of schemas behind each discriminated oneOf, 0 for none */
+  public SpecGenerator setOneOfFanOut(int oneOfFanOut) {
+    this.oneOfFanOut = oneOfFanOut;
+    return this;
+  }
+
+  /** @param recursive whether schemas reference themselves and form rings of ten schemas */
+  public SpecGenerator setRecursive(boolean recursive) {
+    this.recursive = recursive;
+    return this;
+  }
+
+  /** @param enumSize number of values of an enum property on every object schema, 0 for none */
+  public SpecGenerator setEnumSize(int enumSize) {
+    this.enumSize = enumSize;
+    return this;
+  }
+
+  /** @param mutationRate share of the schemas changed in the new specification, from 0 to 1 */
+  public SpecGenerator setMutationRate(double mutationRate) {
+    this.mutationRate = mutationRate;
+    return this;
+  }
+
+  /**
+   * Both specifications draw their structure and their mutations from two generators seeded
+   * identically, and draw from them in the same order, so they only differ by applied mutations.
+   */
+  private OpenAPI generate(boolean mutate) {
+    Random random = new Random(seed);
+    Random mutation = new Random(seed * 31 + 17);
+
+    Map<String, Schema> components = new LinkedHashMap<>();
+    for (int i = 0; i < schemas; i++) {
+      ObjectSchema object = object(i, random);
+      boolean mutated = mutation.nextDouble() < mutationRate;
+      int kind = mutation.nextInt(4);
+      if (mutate && mutated) {
+        mutateSchema(object, kind);
+      }
+      components.put(modelName(i), composed(i, object));
+    }
+    for (int i = schemas; i < schemas + arraySchemas; i++) {
+      components.put(modelName(i), new ArraySchema().items(ref(random.nextInt(schemas))));
+    }
+
+    Paths specPaths = new Paths();
+    for (int p = 0; p < paths; p++) {
+      boolean removed = mutation.nextDouble() < mutationRate / 10;
+      String url = p % 2 == 0 ? "/resources" + p + "/{id}" : "/resources" + p;
+      if (mutate && removed) {
+        url = "/added" + p;
+      }
+      PathItem pathItem = new PathItem();
+      Schema<?> model = ref(entry(p));
+      for (int o = 0; o < operationsPerPath; o++) {
+        PathItem.HttpMethod method = METHODS[o];
+        Operation operation = operation(method, model);
+        if (url.contains("{id}")) {
+          operation.addParametersItem(new PathParameter().name("id").schema(new StringSchema()));
+        }
+        if (mutation.nextDouble() < mutationRate / 2 && mutate) {
+          operation.addParametersItem(
+              new QueryParameter().name("filter").schema(new StringSchema()));
+        }
+        pathItem.operation(method, operation);
+      }
+      specPaths.addPathItem(url, pathItem);
+    }
+
+    return new OpenAPI()
+        .info(new Info().title("generated").version(mutate ? "2.0" : "1.0"))
+        .paths(specPaths)
+        .components(new Components().schemas(components));
+  }
+
+  private ObjectSchema object(int i, Random random) {
+    ObjectSchema object = new ObjectSchema();
+    for (int j = 0; j < propertiesPerSchema; j++) {
+      object.addProperties("p" + j, scalar(random.nextInt(3)));
+    }
+    object.addRequiredItem("p0");
+    for (int j = 0; j < refsPerSchema; j++) {
+      int target = random.nextInt(schemas + arraySchemas);
+      object.addProperties("refTo" + target, ref(target));
+      object.addRequiredItem("refTo" + target);
+    }
+    if (enumSize > 0) {
+      StringSchema status = new StringSchema();
+      for (int j = 0; j < enumSize; j++) {
+        status.addEnumItem("VALUE_" + j);
+      }
+      object.addProperties("status", status);
+    }
+    if (oneOfFanOut > 0) {
+      object.addProperties("kind", new StringSchema());
+    }
+    if (recursive) {
+      int ring = i - i % RING_SIZE;
+      int next = ring + (i + 1 - ring) % Math.min(RING_SIZE, schemas - ring);
+      object.addProperties("next", ref(next));
+      object.addProperties("children", new ArraySchema().items(ref(i)));
+    }
+    return object;
+  }
+
+  private Schema<?> composed(int i, ObjectSchema object) {
+    if (oneOfFanOut > 0 && i % (oneOfFanOut + 1) == 0 && i + 1 < schemas) {
+      ComposedSchema oneOf = new ComposedSchema();
+      Discriminator discriminator = new Discriminator().propertyName("kind");
+      for (int j = i + 1; j <= Math.min(i + oneOfFanOut, schemas - 1); j++) {
+        oneOf.addOneOfItem(ref(j));
+        discriminator.mapping(modelName(j), "#/components/schemas/" + modelName(j));
+      }
+      return oneOf.discriminator(discriminator);
+    }
+    if (allOfDepth > 1 && i % allOfDepth != 0) {
+      return new ComposedSchema().addAllOfItem(ref(i - 1)).addAllOfItem(object);
+    }
+    return object;
+  }
+
+  private static void mutateSchema(ObjectSchema object, int kind) {
+    switch (kind) {
+      case 0:
+        object.addProperties("added", new StringSchema());
+        break;
+      case 1:
+        object.getProperties().remove("p0");
+        object.getRequired().remove("p0");
+        break;
+      case 2:
+        object.getProperties().put("p1", new BooleanSchema());
+        break;
+      default:
+        Schema<?> status = object.getProperties().get("status");
+        if (status != null) {
+          ((StringSchema) status).addEnumItem("ADDED");
+        } else {
+          object.addProperties("added", new IntegerSchema());
+        }
+    }
+  }
+
+  /** @return the schema referenced by path {@code p}, the most derived one of its group */
+  private int entry(int p) {
+    if (oneOfFanOut > 0) {
+      return (p * (oneOfFanOut + 1)) % schemas / (oneOfFanOut + 1) * (oneOfFanOut + 1);
+    }
+    if (allOfDepth > 1) {
+      int chain = (p * allOfDepth) % schemas / allOfDepth * allOfDepth;
+      return Math.min(chain + allOfDepth, schemas) - 1;
+    }
+    return p % schemas;
+  }
+
+  private static Schema<?> scalar(int type) {
+    switch (type) {
+      case 0:
+        return new StringSchema();
+      case 1:
+        return new IntegerSchema();
+      default:
+        return new BooleanSchema();
+    }
+  }
+
+  private static Operation operation(PathItem.HttpMethod method, Schema<?> model) {
+    Operation operation = new Operation().operationId(method.name().toLowerCase());
+    if (method != PathItem.HttpMethod.GET && method != PathItem.HttpMethod.DELETE) {
+      operation.requestBody(new RequestBody().content(json(model)));
+    }
+    return operation.responses(
+        new ApiResponses()
+            .addApiResponse("200", new ApiResponse().description("OK").content(json(model))));
+  }
+
+  private static Content json(Schema<?> schema) {
+    return new Content().addMediaType("application/json", new MediaType().schema(schema));
+  }
+
+  private static Schema<?> ref(int i) {
+    return new Schema<>().$ref("#/components/schemas/" + modelName(i));
+  }
+
+  private static String modelName(int i) {
+    return String.format("Model%05d", i);
+  }
+}
@@ -0,0 +1,76 @@
+package org.openapitools.openapidiff.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.openapitools.openapidiff.core.compare.OpenApiDiffOptions;
+import org.openapitools.openapidiff.core.metrics.DiffMetrics;
+import org.openapitools.openapidiff.core.metrics.DiffMetricsListener;
+import org.openapitools.openapidiff.core.model.DiffResult;
+
+public class VerdictTest {
+
+  @ParameterizedTest
+  @CsvSource({
+    "petstore_v2_1.yaml, petstore_v2_2.yaml",
+    "petstore_v2_1.yaml, petstore_v2_empty.yaml",
+    "petstore_swagger2.yaml, petstore_openapi3.yaml",
+    "backwardCompatibility/bc_1.yaml, backwardCompatibility/bc_2.yaml",
+    "backwardCompatibility/bc_1.yaml, backwardCompatibility/bc_3.yaml",
+    "backwardCompatibility/bc_1.yaml, backwardCompatibility/bc_4.yaml",
+    "backwardCompatibility/bc_1.yaml, backwardCompatibility/bc_5.yaml",
+    "backwardCompatibility/apiResponse_diff_1.yaml, backwardCompatibility/apiResponse_diff_2.yaml",
+    "operation_diff_1.yaml, operation_diff_2.yaml",
+    "parameters_diff_1.yaml, parameters_diff_2.yaml",
+    "recursive_model_1.yaml, recursive_model_2.yaml",
+    "recursive_old.yaml, recursive_new.yaml",
+    "security_diff_1.yaml, security_diff_2.yaml",
+    "allOf_diff_1.yaml, allOf_diff_2.yaml",
+    "oneOf_diff_1.yaml, oneOf_diff_2.yaml",
+    "path_1.yaml, path_2.yaml",
+    "header_1.yaml, header_2.yaml"
+  })
+  public void verdictMatchesFullComparison(String oldSpec, String newSpec) {
+    assertVerdict(oldSpec, newSpec, new OpenApiDiffOptions());
+    assertVerdict(newSpec, oldSpec, new OpenApiDiffOptions());
+    assertVerdict(oldSpec, newSpec, new OpenApiDiffOptions().setParallel(true));
+  }
+
+  @Test
+  public void stopsAtFirstIncompatibleChange() {
+    AtomicReference<DiffMetrics> full = new AtomicReference<>();
+    AtomicReference<DiffMetrics> verdict = new AtomicReference<>();
+
+    OpenApiCompare.fromLocations("petstore_v2_2.yaml", "petstore_v2_1.yaml", null, options(full));
+    DiffResult result =
+        OpenApiCompare.verdictFromLocations(
+            "petstore_v2_2.yaml", "petstore_v2_1.yaml", null, options(verdict));
+
+    assertThat(result).isEqualTo(DiffResult.INCOMPATIBLE);
+    assertThat(verdict.get().getSchemaDiffs()).isLessThan(full.get().getSchemaDiffs());
+  }
+
+  private static OpenApiDiffOptions options(AtomicReference<DiffMetrics> metrics) {
+    return new OpenApiDiffOptions()
+        .setMetricsListener(
+            new DiffMetricsListener() {
+              @Override
+              public void comparisonCompleted(DiffMetrics completed) {
+                metrics.set(completed);
+              }
+            });
+  }
+
+  private static void assertVerdict(String oldSpec, String newSpec, OpenApiDiffOptions options) {
+    DiffResult expected = OpenApiCompare.fromLocations(oldSpec, newSpec, null, options).isChanged();
+    if (expected == DiffResult.METADATA) {
+      expected = DiffResult.NO_CHANGES;
+    }
+    assertThat(OpenApiCompare.verdictFromLocations(oldSpec, newSpec, null, options))
+        .as("%s -> %s", oldSpec, newSpec)
+        .isEqualTo(expected);
+  }
+}
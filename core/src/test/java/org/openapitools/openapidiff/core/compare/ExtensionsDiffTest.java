@@ -0,0 +1,88 @@
+package org.openapitools.openapidiff.core.compare;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.openapitools.openapidiff.core.OpenApiCompare;
+import org.openapitools.openapidiff.core.model.Change;
+import org.openapitools.openapidiff.core.model.Changed;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.model.DiffContext;
+import org.openapitools.openapidiff.core.model.DiffResult;
+
+public class ExtensionsDiffTest {
+
+  @Test
+  public void sharedProvidersAreScannedOnce() {
+    assertThat(ExtensionDiffProviders.shared()).isSameAs(ExtensionDiffProviders.shared());
+  }
+
+  @Test
+  public void givenProvidersHandleTheirExtension() {
+    ExtensionDiffProviders providers = ExtensionDiffProviders.of(TicketExtensionDiff.class);
+
+    assertThat(providers.isEmpty()).isFalse();
+    assertThat(providers.handles("x-ticket")).isTrue();
+    assertThat(providers.newInstance("x-ticket")).isInstanceOf(TicketExtensionDiff.class);
+    assertThat(providers.handles("x-other")).isFalse();
+    assertThat(providers.newInstance("x-other")).isNull();
+  }
+
+  @Test
+  public void handledExtensionIsCompared() {
+    ChangedOpenApi changedOpenApi = compare(spec("x-ticket: API-1"), spec("x-ticket: API-2"));
+
+    assertThat(changedOpenApi.getChangedOperations()).hasSize(1);
+    assertThat(changedOpenApi.getChangedOperations().get(0).getExtensions().getChanged())
+        .containsOnlyKeys("x-ticket");
+    assertThat(changedOpenApi.isCompatible()).isTrue();
+  }
+
+  @Test
+  public void extensionWithoutProviderIsIgnored() {
+    ChangedOpenApi changedOpenApi = compare(spec("x-other: a"), spec("x-other: b"));
+
+    assertThat(changedOpenApi.isUnchanged()).isTrue();
+  }
+
+  private static ChangedOpenApi compare(String oldContent, String newContent) {
+    OpenApiDiffOptions options =
+        new OpenApiDiffOptions()
+            .setExtensionDiffProviders(ExtensionDiffProviders.of(TicketExtensionDiff.class));
+    return OpenApiCompare.fromContents(oldContent, newContent, null, options);
+  }
+
+  private static String spec(String extension) {
+    return "openapi: 3.0.1\n"
+        + "info:\n"
+        + "  title: extensions\n"
+        + "  version: 1.0.0\n"
+        + "paths:\n"
+        + "  /tickets:\n"
+        + "    get:\n"
+        + "      "
+        + extension
+        + "\n"
+        + "      responses:\n"
+        + "        '200':\n"
+        + "          description: tickets\n";
+  }
+
+  /** Reports any change of {@code x-ticket} as compatible. */
+  public static class TicketExtensionDiff implements ExtensionDiff {
+    @Override
+    public ExtensionDiff setOpenApiDiff(OpenApiDiff openApiDiff) {
+      return this;
+    }
+
+    @Override
+    public String getName() {
+      return "ticket";
+    }
+
+    @Override
+    public Changed diff(Change<?> extension, DiffContext context) {
+      return () -> DiffResult.COMPATIBLE;
+    }
+  }
+}
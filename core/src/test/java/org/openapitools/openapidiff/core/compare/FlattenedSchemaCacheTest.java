@@ -0,0 +1,62 @@
+package org.openapitools.openapidiff.core.compare;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+public class FlattenedSchemaCacheTest {
+
+  @Test
+  public void concurrentLookupsShareOneFlattenedCopy() throws Exception {
+    OpenAPI spec = read("allOf_diff_1.yaml");
+    List<Schema> schemas = new ArrayList<>(spec.getComponents().getSchemas().values());
+    List<String> expected = new ArrayList<>();
+    FlattenedSchemaCache sequential = new FlattenedSchemaCache(spec.getComponents());
+    for (Schema<?> schema : schemas) {
+      expected.add(Json.pretty(sequential.flatten(schema)));
+    }
+
+    FlattenedSchemaCache concurrent = new FlattenedSchemaCache(spec.getComponents());
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<List<Schema<?>>>> flattened = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        flattened.add(executor.submit(() -> flattenAll(concurrent, schemas)));
+      }
+      List<Schema<?>> first = flattened.get(0).get();
+      for (Future<List<Schema<?>>> result : flattened) {
+        List<Schema<?>> copies = result.get();
+        for (int i = 0; i < copies.size(); i++) {
+          assertThat(copies.get(i)).isSameAs(first.get(i));
+          assertThat(Json.pretty(copies.get(i))).isEqualTo(expected.get(i));
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static List<Schema<?>> flattenAll(FlattenedSchemaCache cache, List<Schema> schemas) {
+    List<Schema<?>> flattened = new ArrayList<>();
+    for (Schema<?> schema : schemas) {
+      flattened.add(cache.flatten(schema));
+    }
+    return flattened;
+  }
+
+  private static OpenAPI read(String location) {
+    ParseOptions options = new ParseOptions();
+    options.setResolve(true);
+    return new OpenAPIParser().readLocation(location, null, options).getOpenAPI();
+  }
+}
@@ -0,0 +1,77 @@
+package org.openapitools.openapidiff.core.compare;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.openapitools.openapidiff.core.model.ChangedList;
+
+public class ListDiffTest {
+
+  @Test
+  public void keepsTheOrderOfEachList() {
+    ChangedList<String> diff =
+        ListDiff.diff(
+            new ChangedList.SimpleChangedList<>(
+                Arrays.asList("c", "a", "x", "b"), Arrays.asList("b", "y", "a", "z", "c")));
+
+    assertThat(diff.getIncreased()).containsExactly("y", "z");
+    assertThat(diff.getMissing()).containsExactly("x");
+    assertThat(diff.getShared()).containsExactly("c", "a", "b");
+  }
+
+  @Test
+  public void matchesRepeatedValuesInOrder() {
+    ChangedList<String> diff =
+        ListDiff.diff(
+            new ChangedList.SimpleChangedList<>(
+                Arrays.asList("a", "b", "b"), Arrays.asList("b", "a", "a", "b", "b", null)));
+
+    assertThat(diff.getIncreased()).containsExactly("a", "b", null);
+    assertThat(diff.getMissing()).isEmpty();
+    assertThat(diff.getShared()).containsExactly("a", "b", "b");
+  }
+
+  @Test
+  public void sameResultAsPairwiseComparison() {
+    Random random = new Random(42);
+    for (int run = 0; run < 200; run++) {
+      List<Integer> left = randomList(random);
+      List<Integer> right = randomList(random);
+
+      ChangedList<Integer> diff = ListDiff.diff(new ChangedList.SimpleChangedList<>(left, right));
+      ChangedList<Integer> expected = pairwise(left, right);
+
+      assertThat(diff.getIncreased()).isEqualTo(expected.getIncreased());
+      assertThat(diff.getMissing()).isEqualTo(expected.getMissing());
+      assertThat(diff.getShared()).isEqualTo(expected.getShared());
+    }
+  }
+
+  private static List<Integer> randomList(Random random) {
+    List<Integer> list = new ArrayList<>();
+    int size = random.nextInt(12);
+    for (int i = 0; i < size; i++) {
+      list.add(random.nextInt(8) == 0 ? null : random.nextInt(6));
+    }
+    return list;
+  }
+
+  /** The quadratic comparison ListDiff used to make. */
+  private static ChangedList<Integer> pairwise(List<Integer> left, List<Integer> right) {
+    ChangedList<Integer> diff = new ChangedList.SimpleChangedList<>(left, right);
+    diff.getIncreased().addAll(right);
+    for (Integer leftItem : left) {
+      if (right.contains(leftItem)) {
+        diff.getIncreased().remove(leftItem);
+        diff.getShared().add(leftItem);
+      } else {
+        diff.getMissing().add(leftItem);
+      }
+    }
+    return diff;
+  }
+}
@@ -0,0 +1,152 @@
+package org.openapitools.openapidiff.core.compare;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.openapitools.openapidiff.core.compare.schemadiffresult.ArraySchemaDiffResult;
+import org.openapitools.openapidiff.core.compare.schemadiffresult.ComposedSchemaDiffResult;
+import org.openapitools.openapidiff.core.compare.schemadiffresult.SchemaDiffResult;
+import org.openapitools.openapidiff.core.compare.schemadiffresult.SchemaDiffResultFactory;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.model.ChangedSchema;
+import org.openapitools.openapidiff.core.model.DiffContext;
+import org.openapitools.openapidiff.core.model.deferred.DeferredChanged;
+import org.openapitools.openapidiff.core.model.deferred.RealizedChanged;
+import org.openapitools.openapidiff.core.model.deferred.RecursiveSchemaSet;
+
+public class SchemaDiffResultFactoriesTest {
+
+  @Test
+  public void builtInSchemaClassesHaveTheirOwnResult() {
+    SchemaDiffResultFactories factories = SchemaDiffResultFactories.shared();
+
+    assertThat(factories.create(ArraySchema.class, null))
+        .isExactlyInstanceOf(ArraySchemaDiffResult.class);
+    assertThat(factories.create(ComposedSchema.class, null))
+        .isExactlyInstanceOf(ComposedSchemaDiffResult.class);
+    assertThat(factories.create(StringSchema.class, null))
+        .isExactlyInstanceOf(SchemaDiffResult.class);
+    assertThat(factories.create(null, null)).isExactlyInstanceOf(SchemaDiffResult.class);
+    assertThat(SchemaDiffResultFactories.shared()).isSameAs(factories);
+  }
+
+  @Test
+  public void subclassUsesTheFactoryOfItsClosestSuperclass() {
+    SchemaDiffResultFactories factories = frozenFactories();
+
+    assertThat(factories.get(FrozenSchema.class)).isInstanceOf(FrozenSchemaDiffResultFactory.class);
+    assertThat(factories.get(FrozenChildSchema.class)).isSameAs(factories.get(FrozenSchema.class));
+    assertThat(factories.create(ArraySchema.class, null))
+        .isExactlyInstanceOf(ArraySchemaDiffResult.class);
+  }
+
+  @Test
+  public void customSchemaClassIsComparedByItsFactory() {
+    OpenApiDiffOptions options =
+        new OpenApiDiffOptions().setSchemaDiffResultFactories(frozenFactories());
+    ChangedOpenApi plain =
+        OpenApiDiff.compare(
+            spec(new ObjectSchema()),
+            spec(new ObjectSchema().addProperties("name", new StringSchema())),
+            options);
+    ChangedOpenApi frozen =
+        OpenApiDiff.compare(
+            spec(new FrozenSchema()),
+            spec(new FrozenSchema().addProperties("name", new StringSchema())),
+            options);
+
+    assertThat(plain.isUnchanged()).isFalse();
+    assertThat(frozen.isUnchanged()).isTrue();
+  }
+
+  @Test
+  public void staticLookupUsesTheFactoriesOfTheComparison() {
+    OpenApiDiffOptions options =
+        new OpenApiDiffOptions().setSchemaDiffResultFactories(frozenFactories());
+    OpenApiDiff.compare(
+        spec(new FrozenSchema()),
+        spec(new FrozenSchema().addProperties("name", new StringSchema())),
+        options);
+    OpenApiDiff openApiDiff = FrozenSchemaDiffResultFactory.lastComparison;
+
+    // the shared factories do not know FrozenSchema
+    assertThat(SchemaDiff.getSchemaDiffResult(FrozenSchema.class, openApiDiff))
+        .isNotExactlyInstanceOf(SchemaDiffResult.class);
+    assertThat(SchemaDiff.getSchemaDiffResult(FrozenSchema.class, null))
+        .isExactlyInstanceOf(SchemaDiffResult.class);
+  }
+
+  private static SchemaDiffResultFactories frozenFactories() {
+    return SchemaDiffResultFactories.of(new FrozenSchemaDiffResultFactory());
+  }
+
+  private static OpenAPI spec(Schema<?> schema) {
+    Operation operation =
+        new Operation()
+            .responses(
+                new ApiResponses()
+                    .addApiResponse(
+                        "200",
+                        new ApiResponse()
+                            .description("pets")
+                            .content(
+                                new Content()
+                                    .addMediaType(
+                                        "application/json", new MediaType().schema(schema)))));
+    return new OpenAPI()
+        .info(new Info().title("pets").version("1.0"))
+        .paths(new Paths().addPathItem("/pets", new PathItem().get(operation)))
+        .components(new Components());
+  }
+
+  /** An object schema whose changes are never reported. */
+  public static class FrozenSchema extends Schema<Object> {
+    public FrozenSchema() {
+      super("object", null);
+    }
+  }
+
+  public static class FrozenChildSchema extends FrozenSchema {}
+
+  public static class FrozenSchemaDiffResultFactory implements SchemaDiffResultFactory {
+    private static volatile OpenApiDiff lastComparison;
+
+    @Override
+    public Class<? extends Schema> getSchemaType() {
+      return FrozenSchema.class;
+    }
+
+    @Override
+    public SchemaDiffResult create(OpenApiDiff openApiDiff) {
+      lastComparison = openApiDiff;
+      return new SchemaDiffResult(openApiDiff) {
+        @Override
+        public <V extends Schema<X>, X> DeferredChanged<ChangedSchema> diff(
+            RecursiveSchemaSet refSet,
+            Components leftComponents,
+            Components rightComponents,
+            V left,
+            V right,
+            DiffContext context) {
+          return new RealizedChanged<>(Optional.empty());
+        }
+      };
+    }
+  }
+}
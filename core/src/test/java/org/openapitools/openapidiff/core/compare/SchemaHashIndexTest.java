@@ -0,0 +1,126 @@
+package org.openapitools.openapidiff.core.compare;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.openapitools.openapidiff.core.OpenApiCompare;
+import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.output.MarkdownRender;
+
+public class SchemaHashIndexTest {
+  private static final String OLD_SPEC = "schema_hash_1.yaml";
+  private static final String NEW_SPEC = "schema_hash_2.yaml";
+
+  @Test
+  public void unchangedComponentsHashEqual() {
+    SchemaHashIndex left = index(OLD_SPEC);
+    SchemaHashIndex right = index(NEW_SPEC);
+
+    assertThat(left.hash(ref("Left"))).isNotNull().isEqualTo(right.hash(ref("Left")));
+    assertThat(left.hash(ref("Right"))).isNotNull().isEqualTo(right.hash(ref("Right")));
+  }
+
+  @Test
+  public void changeIsVisibleThroughReferences() {
+    SchemaHashIndex left = index(OLD_SPEC);
+    SchemaHashIndex right = index(NEW_SPEC);
+
+    assertThat(left.hash(ref("Leaf"))).isNotEqualTo(right.hash(ref("Leaf")));
+    assertThat(left.hash(ref("Node"))).isNotEqualTo(right.hash(ref("Node")));
+  }
+
+  @Test
+  public void unresolvableReferenceIsNotHashed() {
+    assertThat(index(OLD_SPEC).hash(ref("Missing"))).isNull();
+  }
+
+  @Test
+  public void identicalSchemasAreSkipped() {
+    OpenAPI oldSpec = read(OLD_SPEC);
+    OpenAPI newSpec = read(NEW_SPEC);
+    ChangedOpenApi changedOpenApi = OpenApiDiff.compare(oldSpec, newSpec);
+
+    assertThat(changedOpenApi.getChangedOperations()).hasSize(1);
+    assertThat(changedOpenApi.getChangedOperations().get(0).getPathUrl()).isEqualTo("/nodes");
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+    "schema_hash_1.yaml, schema_hash_2.yaml",
+    "petstore_v2_1.yaml, petstore_v2_2.yaml",
+    "allOf_diff_1.yaml, allOf_diff_2.yaml",
+    "oneOf_diff_1.yaml, oneOf_diff_2.yaml",
+    "oneOf_discriminator-changed_1.yaml, oneOf_discriminator-changed_2.yaml",
+    "recursive_model_1.yaml, recursive_model_2.yaml",
+    "recursive_old.yaml, recursive_new.yaml"
+  })
+  public void hashingDoesNotChangeTheResult(String oldSpec, String newSpec) {
+    ChangedOpenApi hashed =
+        OpenApiCompare.fromLocations(
+            oldSpec, newSpec, null, new OpenApiDiffOptions().setSchemaHashing(true));
+    ChangedOpenApi unhashed =
+        OpenApiCompare.fromLocations(
+            oldSpec, newSpec, null, new OpenApiDiffOptions().setSchemaHashing(false));
+
+    assertThat(hashed.isChanged()).isEqualTo(unhashed.isChanged());
+    assertThat(new MarkdownRender().render(hashed))
+        .isEqualTo(new MarkdownRender().render(unhashed));
+  }
+
+  @Test
+  public void concurrentLookupsHashLikeSequentialOnes() throws Exception {
+    OpenAPI spec = read("petstore_v2_1.yaml");
+    List<Schema> schemas = new ArrayList<>(spec.getComponents().getSchemas().values());
+    SchemaHashIndex sequential = new SchemaHashIndex(spec.getComponents());
+    SchemaHashIndex concurrent = new SchemaHashIndex(spec.getComponents());
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<List<SchemaHashIndex.Hash>>> hashes = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        hashes.add(executor.submit(() -> hashAll(concurrent, schemas)));
+      }
+      List<SchemaHashIndex.Hash> expected = hashAll(sequential, schemas);
+      for (Future<List<SchemaHashIndex.Hash>> hash : hashes) {
+        assertThat(hash.get()).isEqualTo(expected);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static List<SchemaHashIndex.Hash> hashAll(SchemaHashIndex index, List<Schema> schemas) {
+    List<SchemaHashIndex.Hash> hashes = new ArrayList<>();
+    for (Schema<?> schema : schemas) {
+      hashes.add(index.hash(schema));
+      for (Object property : schema.getProperties().values()) {
+        hashes.add(index.hash((Schema<?>) property));
+      }
+    }
+    return hashes;
+  }
+
+  private static Schema<?> ref(String name) {
+    return new Schema<>().$ref("#/components/schemas/" + name);
+  }
+
+  private static SchemaHashIndex index(String location) {
+    return new SchemaHashIndex(read(location).getComponents());
+  }
+
+  private static OpenAPI read(String location) {
+    ParseOptions options = new ParseOptions();
+    options.setResolve(true);
+    return new OpenAPIParser().readLocation(location, null, options).getOpenAPI();
+  }
+}
@@ -0,0 +1,31 @@
+package org.openapitools.openapidiff.core.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+public class ChangedSchemaTest {
+
+  @Test
+  public void copyKeepsTheClassAndFieldsOfTheChange() {
+    NotedChangedSchema changed = new NotedChangedSchema();
+    changed.note = "frozen";
+    changed.setChangeTitle(true).setContext(new DiffContext());
+    changed.getChangedProperties().put("name", new ChangedSchema());
+    DiffContext context = new DiffContext().copyAsResponse();
+
+    ChangedSchema copy = changed.copyWithContext(context);
+
+    assertThat(copy).isExactlyInstanceOf(NotedChangedSchema.class).isNotSameAs(changed);
+    assertThat(((NotedChangedSchema) copy).note).isEqualTo("frozen");
+    assertThat(copy.getContext()).isSameAs(context);
+    assertThat(copy.isChangeTitle()).isTrue();
+    assertThat(copy.getChangedProperties()).isSameAs(changed.getChangedProperties());
+    assertThat(copy.isChanged()).isEqualTo(changed.isChanged());
+  }
+
+  /** A change of a custom schema result, carrying its own field. */
+  private static class NotedChangedSchema extends ChangedSchema {
+    private String note;
+  }
+}
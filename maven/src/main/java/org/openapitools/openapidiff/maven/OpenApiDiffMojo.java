@@ -7,7 +7,9 @@ import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.openapitools.openapidiff.core.OpenApiCompare;
+import org.openapitools.openapidiff.core.compare.OpenApiDiffOptions;
 import org.openapitools.openapidiff.core.model.ChangedOpenApi;
+import org.openapitools.openapidiff.core.model.DiffResult;
 import org.openapitools.openapidiff.core.output.ConsoleRender;
 
 /** A Maven Mojo that diffs two OpenAPI specifications and reports on differences. */
@@ -28,6 +30,18 @@ public class OpenApiDiffMojo extends AbstractMojo {
   @Override
   public void execute() throws MojoExecutionException, MojoFailureException {
     try {
+      if (failOnIncompatible && !failOnChanged && !getLog().isInfoEnabled()) {
+        // the report would not be logged, so only the result is computed
+        DiffResult verdict =
+            OpenApiCompare.verdictFromLocations(
+                oldSpec, newSpec, null, OpenApiDiffOptions.defaults());
+        if (verdict.isIncompatible()) {
+          throw new BackwardIncompatibilityException(
+              "The API changes broke backward compatibility");
+        }
+        return;
+      }
+
       final ChangedOpenApi diff = OpenApiCompare.fromLocations(oldSpec, newSpec);
       getLog().info(new ConsoleRender().render(diff));
 